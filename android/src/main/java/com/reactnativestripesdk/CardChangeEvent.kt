@@ -7,42 +7,48 @@ import com.facebook.react.uimanager.events.Event
 internal class CardChangeEvent(
   surfaceId: Int,
   viewTag: Int,
-  private val cardDetails: MutableMap<String, Any?>,
+  private val cardDetails: CardFieldDetails,
   private val postalCodeEnabled: Boolean,
-  private val complete: Boolean,
   private val dangerouslyGetFullCardDetails: Boolean,
 ) : Event<CardChangeEvent>(surfaceId, viewTag) {
   override fun getEventName(): String = EVENT_NAME
 
+  // Each event carries the whole card state, so while JS is busy only the latest one is needed.
+  // Events are only merged with others of the same completeness, so JS always sees the card
+  // become complete or incomplete.
+  override fun canCoalesce(): Boolean = true
+
+  override fun getCoalescingKey(): Short = if (cardDetails.complete) 1 else 0
+
   override fun getEventData(): WritableMap? {
     val cardData = Arguments.createMap()
-    cardData.putString("brand", cardDetails["brand"]?.toString())
-    cardData.putString("last4", cardDetails["last4"]?.toString())
+    cardData.putString("brand", cardDetails.brand)
+    cardData.putString("last4", cardDetails.last4)
 
-    (cardDetails["expiryMonth"] as Int?)?.let {
+    cardDetails.expiryMonth?.let {
       cardData.putInt("expiryMonth", it)
     } ?: run {
       cardData.putNull("expiryMonth")
     }
 
-    (cardDetails["expiryYear"] as Int?)?.let {
+    cardDetails.expiryYear?.let {
       cardData.putInt("expiryYear", it)
     } ?: run {
       cardData.putNull("expiryYear")
     }
 
-    cardData.putBoolean("complete", complete)
-    cardData.putString("validNumber", cardDetails["validNumber"]?.toString())
-    cardData.putString("validCVC", cardDetails["validCVC"]?.toString())
-    cardData.putString("validExpiryDate", cardDetails["validExpiryDate"]?.toString())
+    cardData.putBoolean("complete", cardDetails.complete)
+    cardData.putString("validNumber", cardDetails.validNumber)
+    cardData.putString("validCVC", cardDetails.validCVC)
+    cardData.putString("validExpiryDate", cardDetails.validExpiryDate)
 
     if (postalCodeEnabled) {
-      cardData.putString("postalCode", cardDetails["postalCode"]?.toString())
+      cardData.putString("postalCode", cardDetails.postalCode)
     }
 
     if (dangerouslyGetFullCardDetails) {
-      cardData.putString("number", cardDetails["number"]?.toString()?.replace(" ", ""))
-      cardData.putString("cvc", cardDetails["cvc"]?.toString())
+      cardData.putString("number", cardDetails.number?.replace(" ", ""))
+      cardData.putString("cvc", cardDetails.cvc)
     }
 
     return Arguments.createMap().apply {
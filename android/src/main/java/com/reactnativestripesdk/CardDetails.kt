@@ -0,0 +1,139 @@
+package com.reactnativestripesdk
+
+/**
+ * What `CardFieldView` knows about the card being entered, as sent to JS in `onCardChange`.
+ *
+ * Instances are immutable; the view replaces its state with a copy on every change, so the last
+ * state sent to JS can be kept and compared against to skip events that wouldn't change anything.
+ */
+internal data class CardFieldDetails(
+  val brand: String? = "",
+  val last4: String? = "",
+  val expiryMonth: Int? = null,
+  val expiryYear: Int? = null,
+  val postalCode: String = "",
+  val validNumber: String = "Unknown",
+  val validCVC: String = "Unknown",
+  val validExpiryDate: String = "Unknown",
+  val number: String? = null,
+  val cvc: String? = null,
+  val complete: Boolean = false,
+) {
+  /**
+   * This state with the fields [CardChangeEvent] won't send cleared, so that two states compare
+   * equal exactly when they would produce the same event.
+   */
+  fun visibleToJs(
+    postalCodeEnabled: Boolean,
+    dangerouslyGetFullCardDetails: Boolean,
+  ): CardFieldDetails =
+    copy(
+      postalCode = if (postalCodeEnabled) postalCode else "",
+      number = if (dangerouslyGetFullCardDetails) number else null,
+      cvc = if (dangerouslyGetFullCardDetails) cvc else null,
+    )
+}
+
+/** The complete card sent to JS in `CardFormView`'s `onFormComplete`. */
+internal data class CardFormDetails(
+  val brand: String,
+  val last4: String,
+  val country: String,
+  val expiryMonth: Int,
+  val expiryYear: Int,
+  val postalCode: String,
+  val number: String? = null,
+  val cvc: String? = null,
+)
+
+// Text watcher updates. These run on the UI thread for every keystroke, so they read the field
+// text in place and return the same instance when nothing changed, allocating only when a value
+// actually differs.
+
+/** Updates the expiry from text like `12/34`, the same as splitting it on `/` would. */
+internal fun CardFieldDetails.withExpiryText(text: CharSequence?): CardFieldDetails {
+  val input = text ?: "null"
+  val separator = input.indexOf('/')
+  val month: Int?
+  val year: Int?
+  if (separator < 0) {
+    month = input.parseIntOrNull(0, input.length)
+    year = expiryYear
+  } else {
+    month = input.parseIntOrNull(0, separator)
+    year =
+      if (input.indexOf('/', separator + 1) < 0) {
+        input.parseIntOrNull(separator + 1, input.length)
+      } else {
+        expiryYear
+      }
+  }
+  return if (month == expiryMonth && year == expiryYear) this else copy(expiryMonth = month, expiryYear = year)
+}
+
+internal fun CardFieldDetails.withPostalCodeText(text: CharSequence?): CardFieldDetails {
+  val input = text ?: "null"
+  return if (input.contentEquals(postalCode)) this else copy(postalCode = input.toString())
+}
+
+/** Updates the card number, dropping the spaces the field formats it with. */
+internal fun CardFieldDetails.withNumberText(text: CharSequence?): CardFieldDetails {
+  val input = text ?: "null"
+  return if (input.contentEqualsIgnoringSpaces(number)) this else copy(number = input.withoutSpaces())
+}
+
+internal fun CardFieldDetails.withCvcText(text: CharSequence?): CardFieldDetails {
+  val input = text ?: "null"
+  return if (input.contentEquals(cvc)) this else copy(cvc = input.toString())
+}
+
+/**
+ * Parses the characters in [start, end) as a base 10 int, with the same results as calling
+ * `subSequence(start, end).toString().toIntOrNull()`, but without building either.
+ */
+internal fun CharSequence.parseIntOrNull(
+  start: Int,
+  end: Int,
+): Int? {
+  if (start >= end) return null
+  var index = start
+  val negative = this[index] == '-'
+  if (negative || this[index] == '+') {
+    index++
+    if (index == end) return null
+  }
+  // Accumulate as a negative number, so that Int.MIN_VALUE can be represented.
+  val limit = if (negative) Int.MIN_VALUE else -Int.MAX_VALUE
+  var result = 0
+  while (index < end) {
+    val digit = this[index] - '0'
+    if (digit !in 0..9 || result < limit / 10) return null
+    result *= 10
+    if (result < limit + digit) return null
+    result -= digit
+    index++
+  }
+  return if (negative) result else -result
+}
+
+/** Whether this equals [other] once spaces are removed from this. */
+internal fun CharSequence.contentEqualsIgnoringSpaces(other: String?): Boolean {
+  if (other == null) return false
+  var otherIndex = 0
+  for (index in 0 until length) {
+    val char = this[index]
+    if (char == ' ') continue
+    if (otherIndex == other.length || other[otherIndex] != char) return false
+    otherIndex++
+  }
+  return otherIndex == other.length
+}
+
+private fun CharSequence.withoutSpaces(): String {
+  val builder = StringBuilder(length)
+  for (index in 0 until length) {
+    val char = this[index]
+    if (char != ' ') builder.append(char)
+  }
+  return builder.toString()
+}
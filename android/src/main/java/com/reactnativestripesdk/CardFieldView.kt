@@ -42,17 +42,11 @@ class CardFieldView(
 ) : FrameLayout(context) {
   private var mCardWidget: CardInputWidget = CardInputWidget(context)
   private val cardInputWidgetBinding = StripeCardInputWidgetBinding.bind(mCardWidget)
-  val cardDetails: MutableMap<String, Any?> =
-    mutableMapOf(
-      "brand" to "",
-      "last4" to "",
-      "expiryMonth" to null,
-      "expiryYear" to null,
-      "postalCode" to "",
-      "validNumber" to "Unknown",
-      "validCVC" to "Unknown",
-      "validExpiryDate" to "Unknown",
-    )
+  internal var cardDetails = CardFieldDetails()
+    private set
+
+  /** What JS was last sent, so changes it can't see don't dispatch another event. */
+  private var sentCardDetails: CardFieldDetails? = null
   var cardParams: PaymentMethodCreateParams.Card? = null
   var cardAddress: Address? = null
   private var dangerouslyGetFullCardDetails: Boolean = false
@@ -267,42 +261,45 @@ class CardFieldView(
     }
   }
 
-  fun getValue(): MutableMap<String, Any?> = cardDetails
-
   private fun onValidCardChange() {
     mCardWidget.paymentMethodCard?.let {
       cardParams = it
       cardAddress =
         Address
           .Builder()
-          .setPostalCode(cardDetails["postalCode"] as String?)
+          .setPostalCode(cardDetails.postalCode)
           .build()
     } ?: run {
       cardParams = null
       cardAddress = null
     }
 
-    mCardWidget.paymentMethodCreateParams?.let {
-      cardDetails["brand"] = mapCardBrand(mCardWidget.brand)
-      @SuppressLint("RestrictedApi")
-      cardDetails["last4"] = it.cardLast4()
-    } ?: run {
-      cardDetails["brand"] = null
-      cardDetails["last4"] = null
-    }
+    cardDetails =
+      mCardWidget.paymentMethodCreateParams?.let {
+        @SuppressLint("RestrictedApi")
+        cardDetails.copy(brand = mapCardBrand(mCardWidget.brand), last4 = it.cardLast4())
+      } ?: cardDetails.copy(brand = null, last4 = null)
     sendCardDetailsEvent()
   }
 
   private fun sendCardDetailsEvent() {
+    val details =
+      cardDetails
+        .copy(complete = isCardValid)
+        .visibleToJs(mCardWidget.postalCodeEnabled, dangerouslyGetFullCardDetails)
+    if (details == sentCardDetails) {
+      return
+    }
+    sentCardDetails = details
+
     UIManagerHelper
       .getEventDispatcherForReactTag(context, id)
       ?.dispatchEvent(
         CardChangeEvent(
           context.surfaceId,
           id,
-          cardDetails,
+          details,
           mCardWidget.postalCodeEnabled,
-          isCardValid,
           dangerouslyGetFullCardDetails,
         ),
       )
@@ -343,20 +340,22 @@ class CardFieldView(
         return "Valid"
       }
 
-      cardDetails["validNumber"] =
-        getCardValidationState(
-          CardValidCallback.Fields.Number,
-          cardInputWidgetBinding.cardNumberEditText,
-        )
-      cardDetails["validCVC"] =
-        getCardValidationState(CardValidCallback.Fields.Cvc, cardInputWidgetBinding.cvcEditText)
-      cardDetails["validExpiryDate"] =
-        getCardValidationState(
-          CardValidCallback.Fields.Expiry,
-          cardInputWidgetBinding.expiryDateEditText,
-        )
       @SuppressLint("VisibleForTests")
-      cardDetails["brand"] = mapCardBrand(cardInputWidgetBinding.cardNumberEditText.cardBrand)
+      cardDetails =
+        cardDetails.copy(
+          validNumber =
+            getCardValidationState(
+              CardValidCallback.Fields.Number,
+              cardInputWidgetBinding.cardNumberEditText,
+            ),
+          validCVC = getCardValidationState(CardValidCallback.Fields.Cvc, cardInputWidgetBinding.cvcEditText),
+          validExpiryDate =
+            getCardValidationState(
+              CardValidCallback.Fields.Expiry,
+              cardInputWidgetBinding.expiryDateEditText,
+            ),
+          brand = mapCardBrand(cardInputWidgetBinding.cardNumberEditText.cardBrand),
+        )
 
       if (isValid) {
         onValidCardChange()
@@ -377,12 +376,7 @@ class CardFieldView(
           var3: Int,
           var4: Int,
         ) {
-          val splitText = var1.toString().split("/")
-          cardDetails["expiryMonth"] = splitText[0].toIntOrNull()
-
-          if (splitText.size == 2) {
-            cardDetails["expiryYear"] = var1.toString().split("/")[1].toIntOrNull()
-          }
+          cardDetails = cardDetails.withExpiryText(var1)
         }
       },
     )
@@ -395,7 +389,7 @@ class CardFieldView(
           var3: Int,
           var4: Int,
         ) {
-          cardDetails["postalCode"] = var1.toString()
+          cardDetails = cardDetails.withPostalCodeText(var1)
         }
       },
     )
@@ -409,7 +403,7 @@ class CardFieldView(
           var4: Int,
         ) {
           if (dangerouslyGetFullCardDetails) {
-            cardDetails["number"] = var1.toString().replace(" ", "")
+            cardDetails = cardDetails.withNumberText(var1)
           }
         }
       },
@@ -424,7 +418,7 @@ class CardFieldView(
           var4: Int,
         ) {
           if (dangerouslyGetFullCardDetails) {
-            cardDetails["cvc"] = var1.toString()
+            cardDetails = cardDetails.withCvcText(var1)
           }
         }
       },
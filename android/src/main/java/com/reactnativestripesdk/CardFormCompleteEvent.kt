@@ -7,27 +7,32 @@ import com.facebook.react.uimanager.events.Event
 internal class CardFormCompleteEvent(
   surfaceId: Int,
   viewTag: Int,
-  private val cardDetails: MutableMap<String, Any>?,
+  private val cardDetails: CardFormDetails?,
   private val complete: Boolean,
   private val dangerouslyGetFullCardDetails: Boolean,
-) : Event<CardChangeEvent>(surfaceId, viewTag) {
+) : Event<CardFormCompleteEvent>(surfaceId, viewTag) {
   override fun getEventName() = EVENT_NAME
 
+  // Only the latest state matters, but a complete card is never merged into an incomplete one.
+  override fun canCoalesce(): Boolean = true
+
+  override fun getCoalescingKey(): Short = if (complete) 1 else 0
+
   override fun getEventData(): WritableMap? {
     val cardData = Arguments.createMap()
 
     if (cardDetails != null) {
-      cardData.putString("brand", cardDetails["brand"]?.toString())
-      cardData.putString("last4", cardDetails["last4"]?.toString())
-      cardData.putString("country", cardDetails["country"]?.toString())
-      cardData.putInt("expiryMonth", cardDetails["expiryMonth"] as Int)
-      cardData.putInt("expiryYear", cardDetails["expiryYear"] as Int)
+      cardData.putString("brand", cardDetails.brand)
+      cardData.putString("last4", cardDetails.last4)
+      cardData.putString("country", cardDetails.country)
+      cardData.putInt("expiryMonth", cardDetails.expiryMonth)
+      cardData.putInt("expiryYear", cardDetails.expiryYear)
       cardData.putBoolean("complete", complete)
-      cardData.putString("postalCode", cardDetails["postalCode"]?.toString())
+      cardData.putString("postalCode", cardDetails.postalCode)
 
       if (dangerouslyGetFullCardDetails) {
-        cardData.putString("number", cardDetails["number"]?.toString()?.replace(" ", ""))
-        cardData.putString("cvc", cardDetails["cvc"]?.toString())
+        cardData.putString("number", cardDetails.number?.replace(" ", ""))
+        cardData.putString("cvc", cardDetails.cvc)
       }
     }
 
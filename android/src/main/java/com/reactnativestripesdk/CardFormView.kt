@@ -41,6 +41,9 @@ class CardFormView(
     CardFormView(context, null, com.stripe.android.R.style.StripeCardFormView_Borderless)
   private var dangerouslyGetFullCardDetails: Boolean = false
   private var currentFocusedField: String? = null
+
+  /** The card and completeness JS was last sent, so repeated validation results aren't resent. */
+  private var sentFormDetails: Pair<CardFormDetails?, Boolean>? = null
   var cardParams: PaymentMethodCreateParams.Card? = null
   var cardAddress: Address? = null
   private val cardFormViewBinding = StripeCardFormViewBinding.bind(cardForm)
@@ -236,6 +239,29 @@ class CardFormView(
     dangerouslyGetFullCardDetails = isEnabled
   }
 
+  private fun sendFormCompleteEvent(
+    cardDetails: CardFormDetails?,
+    complete: Boolean,
+  ) {
+    val sent = cardDetails to complete
+    if (sent == sentFormDetails) {
+      return
+    }
+    sentFormDetails = sent
+
+    UIManagerHelper
+      .getEventDispatcherForReactTag(context, id)
+      ?.dispatchEvent(
+        CardFormCompleteEvent(
+          context.surfaceId,
+          id,
+          cardDetails,
+          complete,
+          dangerouslyGetFullCardDetails,
+        ),
+      )
+  }
+
   private fun setListeners() {
     cardForm.setCardValidCallback { isValid, _ ->
       if (isValid) {
@@ -243,32 +269,19 @@ class CardFormView(
           val cardParamsMap = it.toParamMap()["card"] as HashMap<*, *>
 
           @SuppressLint("RestrictedApi")
-          val cardDetails: MutableMap<String, Any> =
-            mutableMapOf(
-              "expiryMonth" to cardParamsMap["exp_month"] as Int,
-              "expiryYear" to cardParamsMap["exp_year"] as Int,
-              "last4" to (it.cardLast4() ?: ""),
-              "brand" to mapCardBrand(cardForm.brand),
-              "postalCode" to (it.billingDetails?.address?.postalCode ?: ""),
-              "country" to (it.billingDetails?.address?.country ?: ""),
+          val cardDetails =
+            CardFormDetails(
+              expiryMonth = cardParamsMap["exp_month"] as Int,
+              expiryYear = cardParamsMap["exp_year"] as Int,
+              last4 = it.cardLast4() ?: "",
+              brand = mapCardBrand(cardForm.brand),
+              postalCode = it.billingDetails?.address?.postalCode ?: "",
+              country = it.billingDetails?.address?.country ?: "",
+              number = if (dangerouslyGetFullCardDetails) cardParamsMap["number"] as String else null,
+              cvc = if (dangerouslyGetFullCardDetails) cardParamsMap["cvc"] as String else null,
             )
 
-          if (dangerouslyGetFullCardDetails) {
-            cardDetails["number"] = cardParamsMap["number"] as String
-            cardDetails["cvc"] = cardParamsMap["cvc"] as String
-          }
-
-          UIManagerHelper
-            .getEventDispatcherForReactTag(context, id)
-            ?.dispatchEvent(
-              CardFormCompleteEvent(
-                context.surfaceId,
-                id,
-                cardDetails,
-                isValid,
-                dangerouslyGetFullCardDetails,
-              ),
-            )
+          sendFormCompleteEvent(cardDetails, isValid)
 
           cardAddress =
             Address
@@ -284,17 +297,7 @@ class CardFormView(
       } else {
         cardParams = null
         cardAddress = null
-        UIManagerHelper
-          .getEventDispatcherForReactTag(context, id)
-          ?.dispatchEvent(
-            CardFormCompleteEvent(
-              context.surfaceId,
-              id,
-              null,
-              isValid,
-              dangerouslyGetFullCardDetails,
-            ),
-          )
+        sendFormCompleteEvent(null, isValid)
       }
     }
 
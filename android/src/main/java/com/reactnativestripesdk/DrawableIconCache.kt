@@ -0,0 +1,194 @@
+package com.reactnativestripesdk
+
+import android.graphics.Bitmap
+import android.graphics.drawable.Drawable
+import android.util.LruCache
+import java.nio.ByteBuffer
+import java.security.MessageDigest
+
+/**
+ * Process-wide cache of base64-encoded PNGs for payment method and card brand icons.
+ *
+ * Payment option changes, CustomerSheet results, Link previews and onramp display data all
+ * re-render the same handful of icons, so the encoded output is kept in a size-bounded LRU. Entries
+ * are keyed by a digest of the rendered pixels: stripe-android hands out a new drawable for every
+ * payment option, and rendering mutates it, so neither the drawable nor its constant state says
+ * whether two icons look the same. Rendering is cheap next to PNG compression, which is what a hit
+ * saves.
+ */
+internal object DrawableIconCache {
+  /**
+   * Identifies a rendered icon by its pixels and how it is handed to JS. The SHA-256 of the pixels
+   * is held as four longs, so a lookup doesn't build a string from it.
+   */
+  internal data class Key(
+    private val digest0: Long,
+    private val digest1: Long,
+    private val digest2: Long,
+    private val digest3: Long,
+    private val width: Int,
+    private val height: Int,
+    private val delivery: IconDelivery,
+  )
+
+  data class Stats(
+    val hits: Int,
+    val misses: Int,
+    val evictions: Int,
+    val sizeChars: Int,
+    val maxSizeChars: Int,
+  )
+
+  /** What [keyFor] reuses on one thread, so a lookup doesn't copy the pixels into a new buffer. */
+  private class DigestScratch {
+    val digest: MessageDigest = MessageDigest.getInstance("SHA-256")
+    val output = ByteArray(DIGEST_BYTES)
+
+    // Grows to the largest icon this thread has keyed. Icons are small, so keeping it is cheap.
+    var pixels: ByteBuffer = ByteBuffer.allocate(0)
+  }
+
+  private val digestScratch =
+    object : ThreadLocal<DigestScratch>() {
+      override fun initialValue() = DigestScratch()
+    }
+
+  private val cache =
+    object : LruCache<Key, String>(MAX_CACHE_SIZE_CHARS) {
+      override fun sizeOf(
+        key: Key,
+        value: String,
+      ): Int = value.length
+    }
+
+  /** Returns the cache key for an icon rendered into [bitmap]. */
+  fun keyFor(
+    bitmap: Bitmap,
+    delivery: IconDelivery = IconDelivery.Base64,
+  ): Key {
+    val scratch = digestScratch.get()!!
+    val byteCount = bitmap.byteCount
+    if (scratch.pixels.capacity() < byteCount) {
+      scratch.pixels = ByteBuffer.allocate(byteCount)
+    }
+    val pixels = scratch.pixels
+    pixels.clear()
+    bitmap.copyPixelsToBuffer(pixels)
+    scratch.digest.update(pixels.array(), 0, byteCount)
+    val output = scratch.output
+    scratch.digest.digest(output, 0, DIGEST_BYTES)
+    return Key(
+      digest0 = output.longAt(0),
+      digest1 = output.longAt(8),
+      digest2 = output.longAt(16),
+      digest3 = output.longAt(24),
+      width = bitmap.width,
+      height = bitmap.height,
+      delivery = delivery,
+    )
+  }
+
+  private fun ByteArray.longAt(offset: Int): Long {
+    var value = 0L
+    for (i in offset until offset + 8) {
+      value = (value shl 8) or (this[i].toLong() and 0xff)
+    }
+    return value
+  }
+
+  /**
+   * Upper bound on the pixel count of encoded icons; larger drawables are downsampled before
+   * encoding. 0 (the default) keeps the intrinsic size.
+   */
+  @Volatile
+  var maxPixels: Int = 0
+    private set
+
+  fun setMaxPixels(maxPixels: Int) {
+    if (this.maxPixels != maxPixels) {
+      this.maxPixels = maxPixels
+      cache.evictAll()
+    }
+  }
+
+  fun get(key: Key): String? = cache.get(key)
+
+  fun put(
+    key: Key,
+    value: String,
+  ) {
+    cache.put(key, value)
+  }
+
+  fun stats(): Stats =
+    Stats(
+      hits = cache.hitCount(),
+      misses = cache.missCount(),
+      evictions = cache.evictionCount(),
+      sizeChars = cache.size(),
+      maxSizeChars = cache.maxSize(),
+    )
+
+  fun clear() {
+    cache.evictAll()
+  }
+
+  // ~1MB of UTF-16 chars, enough for a few dozen card brand and wallet icons.
+  private const val MAX_CACHE_SIZE_CHARS = 512 * 1024
+
+  private const val DIGEST_BYTES = 32
+}
+
+/**
+ * Encodes an already-loaded [drawable] as a base64 PNG, reusing a previous encoding of an icon
+ * with the same pixels when one is cached.
+ */
+internal fun getCachedBase64FromDrawable(drawable: Drawable): String? {
+  val bitmap = getBitmapFromDrawable(drawable, DrawableIconCache.maxPixels) ?: return null
+  val key = DrawableIconCache.keyFor(bitmap)
+  val cached = DrawableIconCache.get(key)
+  val base64 = cached ?: getBase64FromBitmap(bitmap)
+  IconBitmapPool.release(bitmap)
+  if (cached == null && base64 != null) {
+    DrawableIconCache.put(key, base64)
+  }
+  return base64
+}
+
+/**
+ * Encodes an already-loaded [drawable] for the bridge according to [IconFileStore.delivery]:
+ * either a base64 PNG string or a `file://` URI. Falls back to base64 if the file cannot be written.
+ */
+internal fun getCachedIconFromDrawable(drawable: Drawable): String? {
+  if (IconFileStore.delivery != IconDelivery.FileUri) {
+    return getCachedBase64FromDrawable(drawable)
+  }
+
+  val bitmap = getBitmapFromDrawable(drawable, DrawableIconCache.maxPixels) ?: return null
+  val key = DrawableIconCache.keyFor(bitmap, IconDelivery.FileUri)
+  val cachedUri = DrawableIconCache.get(key)?.takeIf { IconFileStore.exists(it) }
+  val pngBytes = if (cachedUri == null) getPngBytesFromBitmap(bitmap) else null
+  IconBitmapPool.release(bitmap)
+  if (cachedUri != null) {
+    return cachedUri
+  }
+  if (pngBytes == null) {
+    return null
+  }
+  val uri = IconFileStore.write(pngBytes) ?: return getCachedBase64FromDrawable(drawable)
+  DrawableIconCache.put(key, uri)
+  return uri
+}
+
+/**
+ * Waits for [drawable] to finish loading and encodes it with [getCachedIconFromDrawable].
+ */
+internal suspend fun convertDrawableToIcon(drawable: Drawable): String? =
+  getCachedIconFromDrawable(waitForDrawableToLoad(drawable))
+
+/**
+ * Turns a value returned by [getCachedIconFromDrawable] into something an `<Image>` source can
+ * load directly: `file://` URIs are passed through, base64 strings become `data:` URIs.
+ */
+internal fun toIconUri(icon: String): String =
+  if (icon.startsWith("file://")) icon else "data:image/png;base64,$icon"
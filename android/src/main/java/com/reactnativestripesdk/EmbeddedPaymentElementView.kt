@@ -3,10 +3,12 @@ package com.reactnativestripesdk
 import android.annotation.SuppressLint
 import android.content.Context
 import android.content.Intent
+import android.os.SystemClock
 import android.util.Log
 import androidx.compose.foundation.layout.Box
 import androidx.compose.foundation.layout.requiredHeight
 import androidx.compose.runtime.Composable
+import androidx.compose.runtime.DisposableEffect
 import androidx.compose.runtime.LaunchedEffect
 import androidx.compose.runtime.getValue
 import androidx.compose.runtime.mutableStateOf
@@ -32,7 +34,7 @@ import com.stripe.android.paymentelement.EmbeddedPaymentElement
 import com.stripe.android.paymentelement.rememberEmbeddedPaymentElement
 import com.stripe.android.paymentsheet.CreateIntentResult
 import com.stripe.android.paymentsheet.PaymentSheet
-import kotlinx.coroutines.CompletableDeferred
+import java.util.concurrent.atomic.AtomicReference
 import kotlinx.coroutines.channels.Channel
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.flow.consumeAsFlow
@@ -52,9 +54,8 @@ class EmbeddedPaymentElementView(
       val intentConfiguration: PaymentSheet.IntentConfiguration,
     ) : Event
 
-    data class Update(
-      val intentConfiguration: PaymentSheet.IntentConfiguration,
-    ) : Event
+    /** The configuration to apply is read from [pendingUpdate] when the event is handled. */
+    data object Update : Event
 
     data object Confirm : Event
 
@@ -68,6 +69,28 @@ class EmbeddedPaymentElementView(
 
   private val reactContext get() = context as ThemedReactContext
   private val events = Channel<Event>(Channel.UNLIMITED)
+  private val heightReporter = FrameAlignedHeightReporter { h -> emitHeightChange(h) }
+
+  /** How many height changes were coalesced instead of being sent to JS as they happened. */
+  val suppressedHeightChangeCount: Int
+    get() = heightReporter.suppressedCount
+
+  /**
+   * The most recent intent configuration passed to [update] that hasn't been applied yet. Updates
+   * that arrive while one is pending replace it instead of queueing another configure call.
+   */
+  private val pendingUpdate = AtomicReference<PaymentSheet.IntentConfiguration?>(null)
+
+  /** The intent configuration the element was last configured with successfully. */
+  private var appliedIntentConfig: PaymentSheet.IntentConfiguration? = null
+
+  /** How long [update] must go uncalled before a pending update is applied. */
+  @Volatile
+  var updateDebounceMs: Long = 0
+
+  /** [SystemClock.uptimeMillis] at the most recent [update] call. */
+  @Volatile
+  private var lastUpdateAtMs = 0L
 
   fun setUseConfirmationTokenCallback(value: Boolean) {
     useConfirmationTokenCallback.value = value
@@ -117,12 +140,14 @@ class EmbeddedPaymentElementView(
               delay(CUSTOM_PAYMENT_METHOD_INIT_DELAY_MS)
 
               // Emit event so JS can show the Alert and eventually respond via `customPaymentMethodResultCallback`.
-              stripeSdkModule.eventEmitter.emitOnCustomPaymentMethodConfirmHandlerCallback(
-                mapFromCustomPaymentMethod(customPaymentMethod, billingDetails),
-              )
-
-              // Await JS result.
-              val resultFromJs = stripeSdkModule.customPaymentMethodResultCallback.await()
+              val resultFromJs =
+                stripeSdkModule.customPaymentMethodResultCalls.await { requestId ->
+                  stripeSdkModule.eventEmitter.emitOnCustomPaymentMethodConfirmHandlerCallback(
+                    mapFromCustomPaymentMethod(customPaymentMethod, billingDetails).apply {
+                      putString("requestId", requestId)
+                    },
+                  )
+                }
 
               keepJsAwakeTask.stop()
 
@@ -215,23 +240,9 @@ class EmbeddedPaymentElementView(
                     putMap("confirmationToken", mapFromConfirmationToken(confirmationToken))
                   }
 
-                stripeSdkModule.eventEmitter.emitOnConfirmationTokenHandlerCallback(params)
-
-                val resultFromJavascript = stripeSdkModule.embeddedConfirmationTokenCreationCallback.await()
-                // reset the completable
-                stripeSdkModule.embeddedConfirmationTokenCreationCallback = CompletableDeferred()
-
-                keepJsAwakeTask.stop()
-
-                resultFromJavascript.getString("clientSecret")?.let {
-                  CreateIntentResult.Success(clientSecret = it)
-                } ?: run {
-                  val errorMap = resultFromJavascript.getMap("error")
-                  CreateIntentResult.Failure(
-                    cause = Exception(errorMap?.getString("message")),
-                    displayMessage = errorMap?.getString("localizedMessage"),
-                  )
-                }
+                createIntentInJavascript(stripeSdkModule.confirmationTokenCreationCalls, params) {
+                  stripeSdkModule.eventEmitter.emitOnConfirmationTokenHandlerCallback(it)
+                }.also { keepJsAwakeTask.stop() }
               },
               resultCallback = resultCallback,
             )
@@ -263,23 +274,9 @@ class EmbeddedPaymentElementView(
                     putBoolean("shouldSavePaymentMethod", shouldSavePaymentMethod)
                   }
 
-                stripeSdkModule.eventEmitter.emitOnConfirmHandlerCallback(params)
-
-                val resultFromJavascript = stripeSdkModule.embeddedIntentCreationCallback.await()
-                // reset the completable
-                stripeSdkModule.embeddedIntentCreationCallback = CompletableDeferred()
-
-                keepJsAwakeTask.stop()
-
-                resultFromJavascript.getString("clientSecret")?.let {
-                  CreateIntentResult.Success(clientSecret = it)
-                } ?: run {
-                  val errorMap = resultFromJavascript.getMap("error")
-                  CreateIntentResult.Failure(
-                    cause = Exception(errorMap?.getString("message")),
-                    displayMessage = errorMap?.getString("localizedMessage"),
-                  )
-                }
+                createIntentInJavascript(stripeSdkModule.intentCreationCalls, params) {
+                  stripeSdkModule.eventEmitter.emitOnConfirmHandlerCallback(it)
+                }.also { keepJsAwakeTask.stop() }
               },
               resultCallback = resultCallback,
             )
@@ -302,26 +299,45 @@ class EmbeddedPaymentElementView(
       events.consumeAsFlow().collect { ev ->
         when (ev) {
           is Event.Configure -> {
-            handleConfigureResult(
+            val result =
               embedded.configure(
                 intentConfiguration = ev.intentConfiguration,
                 configuration = ev.configuration,
-              ),
-            )
+              )
+            appliedIntentConfig =
+              ev.intentConfiguration.takeIf { result is EmbeddedPaymentElement.ConfigureResult.Succeeded }
+            handleConfigureResult(result)
           }
 
           is Event.Update -> {
+            // Each update() call restarts the wait, so a burst of calls is applied once it settles.
+            var quietForMs = SystemClock.uptimeMillis() - lastUpdateAtMs
+            while (quietForMs < updateDebounceMs) {
+              delay(updateDebounceMs - quietForMs)
+              quietForMs = SystemClock.uptimeMillis() - lastUpdateAtMs
+            }
+            // Every update() call made while this one was pending is applied together here, and the
+            // single update-complete event below resolves all of their promises.
+            val intentConfig = pendingUpdate.getAndSet(null) ?: return@collect
             val elemConfig = latestElementConfig ?: return@collect emitUpdateMissingConfiguration()
 
+            if (intentConfigurationsMatch(intentConfig, appliedIntentConfig)) {
+              latestIntentConfig = intentConfig
+              emitUpdateSucceeded()
+              return@collect
+            }
+
             val result =
               embedded.configure(
-                intentConfiguration = ev.intentConfiguration,
+                intentConfiguration = intentConfig,
                 configuration = elemConfig,
               )
+            appliedIntentConfig =
+              intentConfig.takeIf { result is EmbeddedPaymentElement.ConfigureResult.Succeeded }
 
             handleUpdateResult(result)
 
-            latestIntentConfig = ev.intentConfiguration
+            latestIntentConfig = intentConfig
           }
 
           is Event.Confirm -> {
@@ -345,9 +361,13 @@ class EmbeddedPaymentElementView(
       }
     }
 
+    DisposableEffect(Unit) {
+      onDispose { heightReporter.cancel() }
+    }
+
     Box {
       MeasuredEmbeddedElement(
-        reportHeightChange = { h -> reportHeightChange(h) },
+        reportHeightChange = { h -> heightReporter.report(h) },
       ) {
         embedded.Content()
       }
@@ -399,6 +419,10 @@ class EmbeddedPaymentElementView(
   }
 
   private fun reportHeightChange(height: Float) {
+    heightReporter.reportNow(height)
+  }
+
+  private fun emitHeightChange(height: Float) {
     val params =
       Arguments.createMap().apply {
         putDouble("height", height.toDouble())
@@ -423,19 +447,21 @@ class EmbeddedPaymentElementView(
 
   private fun handleUpdateResult(result: EmbeddedPaymentElement.ConfigureResult) {
     when (result) {
-      is EmbeddedPaymentElement.ConfigureResult.Succeeded -> {
-        val payload =
-          Arguments.createMap().apply {
-            putString("status", "succeeded")
-          }
-        requireStripeSdkModule().eventEmitter.emitEmbeddedPaymentElementUpdateComplete(payload)
-      }
+      is EmbeddedPaymentElement.ConfigureResult.Succeeded -> emitUpdateSucceeded()
       is EmbeddedPaymentElement.ConfigureResult.Failed -> {
         emitUpdateFailed(result.error)
       }
     }
   }
 
+  private fun emitUpdateSucceeded() {
+    val payload =
+      Arguments.createMap().apply {
+        putString("status", "succeeded")
+      }
+    requireStripeSdkModule().eventEmitter.emitEmbeddedPaymentElementUpdateComplete(payload)
+  }
+
   private fun emitUpdateMissingConfiguration() {
     emitUpdateFailed(IllegalStateException("Cannot update: no element configuration exists"))
   }
@@ -459,7 +485,10 @@ class EmbeddedPaymentElementView(
   }
 
   fun update(intentConfig: PaymentSheet.IntentConfiguration) {
-    events.trySend(Event.Update(intentConfig))
+    lastUpdateAtMs = SystemClock.uptimeMillis()
+    if (pendingUpdate.getAndSet(intentConfig) == null) {
+      events.trySend(Event.Update)
+    }
   }
 
   fun confirm() {
@@ -3,21 +3,154 @@
 // Remove this layer once we drop support for RN < 0.80.
 package com.reactnativestripesdk
 
+import android.os.Handler
+import android.os.Looper
+import android.os.SystemClock
+import android.view.Choreographer
 import com.facebook.react.bridge.ReactApplicationContext
+import com.facebook.react.bridge.ReadableArray
 import com.facebook.react.bridge.ReadableMap
+import com.facebook.react.bridge.ReadableType
 import com.facebook.react.modules.core.DeviceEventManagerModule
 
+/**
+ * Sends native events to JS through `RCTDeviceEventEmitter`.
+ *
+ * Events that describe the latest state of something, like element heights, the selected payment
+ * option or checkout state, are held until the next frame and a newer event about the same thing
+ * replaces an older one still waiting. Financial Connections events are held until the next frame
+ * too, but never dropped. Every other event, such as the callbacks JS answers, is sent right away
+ * after anything still waiting, so JS always receives events in the order they were emitted.
+ */
 class EventEmitterCompat(
   private val reactApplicationContext: ReactApplicationContext,
 ) {
+  /** What was sent for one event name since instrumentation was enabled. */
+  data class EventStats(
+    val emitted: Int,
+    val coalesced: Int,
+    val payloadValues: Long,
+    val maxQueueLatencyMs: Long,
+    val totalQueueLatencyMs: Long,
+  )
+
+  private class PendingEvent(
+    val eventName: String,
+    val params: Any?,
+    val enqueuedAtMs: Long,
+    val coalesceKey: String?,
+  )
+
+  private val lock = Any()
+  private val pending = ArrayList<PendingEvent>()
+  private val stats = HashMap<String, EventStats>()
+  private val mainHandler = Handler(Looper.getMainLooper())
+  private var flushScheduled = false
+  private var emitter: DeviceEventManagerModule.RCTDeviceEventEmitter? = null
+
+  private val frameCallback = Choreographer.FrameCallback { flush() }
+  private val scheduleFrame = Runnable { Choreographer.getInstance().postFrameCallback(frameCallback) }
+
+  /**
+   * Whether [debugStats] is recorded. Counting the values in each payload walks the whole map, so
+   * this is off unless turned on while debugging.
+   */
+  @Volatile
+  var isInstrumentationEnabled = false
+
+  /** Per event name counts, payload sizes and queue latency recorded while instrumentation is on. */
+  fun debugStats(): Map<String, EventStats> = synchronized(lock) { HashMap(stats) }
+
+  fun resetDebugStats() {
+    synchronized(lock) { stats.clear() }
+  }
+
   private fun invoke(
     eventName: String,
     params: Any? = null,
   ) {
-    reactApplicationContext
-      .getJSModule(
-        DeviceEventManagerModule.RCTDeviceEventEmitter::class.java,
-      ).emit(eventName, params)
+    synchronized(lock) {
+      when (eventName) {
+        in COALESCED_EVENTS -> {
+          val coalesceKey = coalesceKeyOf(eventName, params)
+          val removed = pending.removeAll { it.eventName == eventName && it.coalesceKey == coalesceKey }
+          if (removed) {
+            record(eventName) { it.copy(coalesced = it.coalesced + 1) }
+          }
+          enqueue(eventName, params, coalesceKey)
+        }
+        in BATCHED_EVENTS -> enqueue(eventName, params)
+        else -> {
+          flushLocked()
+          emitLocked(eventName, params, SystemClock.uptimeMillis())
+        }
+      }
+    }
+  }
+
+  private fun enqueue(
+    eventName: String,
+    params: Any?,
+    coalesceKey: String? = null,
+  ) {
+    pending.add(PendingEvent(eventName, params, SystemClock.uptimeMillis(), coalesceKey))
+    if (!flushScheduled) {
+      flushScheduled = true
+      if (Looper.myLooper() == Looper.getMainLooper()) {
+        scheduleFrame.run()
+      } else {
+        mainHandler.post(scheduleFrame)
+      }
+    }
+  }
+
+  private fun flush() {
+    synchronized(lock) { flushLocked() }
+  }
+
+  private fun flushLocked() {
+    flushScheduled = false
+    if (pending.isEmpty()) return
+    mainHandler.removeCallbacks(scheduleFrame)
+    val events = pending.toTypedArray()
+    pending.clear()
+    for (event in events) {
+      emitLocked(event.eventName, event.params, event.enqueuedAtMs)
+    }
+  }
+
+  private fun emitLocked(
+    eventName: String,
+    params: Any?,
+    enqueuedAtMs: Long,
+  ) {
+    val emitter =
+      emitter ?: reactApplicationContext
+        .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter::class.java)
+        .also { emitter = it }
+    emitter.emit(eventName, params)
+
+    if (isInstrumentationEnabled) {
+      val latencyMs = SystemClock.uptimeMillis() - enqueuedAtMs
+      val payloadValues = countValues(params)
+      record(eventName) {
+        it.copy(
+          emitted = it.emitted + 1,
+          payloadValues = it.payloadValues + payloadValues,
+          maxQueueLatencyMs = maxOf(it.maxQueueLatencyMs, latencyMs),
+          totalQueueLatencyMs = it.totalQueueLatencyMs + latencyMs,
+        )
+      }
+    }
+  }
+
+  private inline fun record(
+    eventName: String,
+    update: (EventStats) -> EventStats,
+  ) {
+    if (isInstrumentationEnabled) {
+      stats[eventName] = update(stats[eventName] ?: EventStats(0, 0, 0, 0, 0))
+    }
   }
 
   fun emitOnConfirmHandlerCallback(value: ReadableMap?) {
@@ -32,8 +165,8 @@ class EventEmitterCompat(
     invoke("onFinancialConnectionsEvent", value)
   }
 
-  fun emitOnCustomerAdapterFetchPaymentMethodsCallback() {
-    invoke("onCustomerAdapterFetchPaymentMethodsCallback")
+  fun emitOnCustomerAdapterFetchPaymentMethodsCallback(value: ReadableMap? = null) {
+    invoke("onCustomerAdapterFetchPaymentMethodsCallback", value)
   }
 
   fun emitOnCustomerAdapterAttachPaymentMethodCallback(value: ReadableMap?) {
@@ -48,12 +181,12 @@ class EventEmitterCompat(
     invoke("onCustomerAdapterSetSelectedPaymentOptionCallback", value)
   }
 
-  fun emitOnCustomerAdapterFetchSelectedPaymentOptionCallback() {
-    invoke("onCustomerAdapterFetchSelectedPaymentOptionCallback")
+  fun emitOnCustomerAdapterFetchSelectedPaymentOptionCallback(value: ReadableMap? = null) {
+    invoke("onCustomerAdapterFetchSelectedPaymentOptionCallback", value)
   }
 
-  fun emitOnCustomerAdapterSetupIntentClientSecretForCustomerAttachCallback() {
-    invoke("onCustomerAdapterSetupIntentClientSecretForCustomerAttachCallback")
+  fun emitOnCustomerAdapterSetupIntentClientSecretForCustomerAttachCallback(value: ReadableMap? = null) {
+    invoke("onCustomerAdapterSetupIntentClientSecretForCustomerAttachCallback", value)
   }
 
   fun emitOnCustomerSessionProviderSetupIntentClientSecret() {
@@ -107,4 +240,66 @@ class EventEmitterCompat(
   fun emitCheckoutSessionDidChangeState(value: ReadableMap?) {
     invoke("checkoutSessionDidChangeState", value)
   }
+
+  fun emitOnStripeConnectDeepLinkReceived() {
+    invoke("onStripeConnectDeepLinkReceived")
+  }
+
+  private companion object {
+    /**
+     * Events where only the latest one waiting to be sent matters, mapped to the payload key naming
+     * what they describe. A null key means the event name alone does.
+     */
+    val COALESCED_EVENTS =
+      mapOf(
+        "embeddedPaymentElementDidUpdateHeight" to null,
+        "embeddedPaymentElementDidUpdatePaymentOption" to null,
+        "paymentMethodMessagingElementDidUpdateHeight" to null,
+        "checkoutSessionDidChangeState" to "sessionKey",
+      )
+
+    /** Events that can wait for the next frame, but must all be sent. */
+    val BATCHED_EVENTS = setOf("onFinancialConnectionsEvent")
+
+    fun coalesceKeyOf(
+      eventName: String,
+      params: Any?,
+    ): String? {
+      val key = COALESCED_EVENTS[eventName] ?: return null
+      val map = params as? ReadableMap ?: return null
+      return if (map.hasKey(key)) map.getString(key) else null
+    }
+
+    /** The number of leaf values in a payload, counting null and a missing payload as one. */
+    fun countValues(value: Any?): Long =
+      when (value) {
+        is ReadableMap -> {
+          var count = 0L
+          val iterator = value.keySetIterator()
+          while (iterator.hasNextKey()) {
+            val key = iterator.nextKey()
+            count +=
+              when (value.getType(key)) {
+                ReadableType.Map -> countValues(value.getMap(key))
+                ReadableType.Array -> countValues(value.getArray(key))
+                else -> 1
+              }
+          }
+          count
+        }
+        is ReadableArray -> {
+          var count = 0L
+          for (index in 0 until value.size()) {
+            count +=
+              when (value.getType(index)) {
+                ReadableType.Map -> countValues(value.getMap(index))
+                ReadableType.Array -> countValues(value.getArray(index))
+                else -> 1
+              }
+          }
+          count
+        }
+        else -> 1
+      }
+  }
 }
@@ -0,0 +1,100 @@
+package com.reactnativestripesdk
+
+import android.view.Choreographer
+import kotlin.math.abs
+
+/**
+ * Coalesces height changes from a Compose element into at most one emission per frame.
+ *
+ * `onSizeChanged` fires for every intermediate size while an element animates, and each emission
+ * crosses the bridge and re-lays out the JS tree. Heights reported here are held until the next
+ * Choreographer frame, and only the latest one is emitted. A change smaller than [minDelta] from the
+ * last emitted height is held back as well; once a frame passes with no new report, the latest
+ * height is emitted if it differs from the last one, so JS always ends up with the settled height.
+ *
+ * All methods must be called on the main thread.
+ */
+internal class FrameAlignedHeightReporter(
+  private val minDelta: Float = 0f,
+  private val postFrameCallback: (Choreographer.FrameCallback) -> Unit = {
+    Choreographer.getInstance().postFrameCallback(it)
+  },
+  private val removeFrameCallback: (Choreographer.FrameCallback) -> Unit = {
+    Choreographer.getInstance().removeFrameCallback(it)
+  },
+  private val emit: (Float) -> Unit,
+) : Choreographer.FrameCallback {
+  private var latestHeight: Float? = null
+  private var lastEmittedHeight: Float? = null
+  private var hasPendingHeight = false
+  private var frameScheduled = false
+
+  /**
+   * How many reported heights weren't emitted when they arrived, either because a later height
+   * replaced them within the same frame or because they were within [minDelta] of the last one.
+   */
+  var suppressedCount = 0
+    private set
+
+  /** Queues [height] for the next frame. */
+  fun report(height: Float) {
+    if (hasPendingHeight) {
+      suppressedCount++
+    }
+    latestHeight = height
+    hasPendingHeight = true
+    scheduleFrame()
+  }
+
+  /** Emits [height] right away, dropping anything still queued. */
+  fun reportNow(height: Float) {
+    if (hasPendingHeight) {
+      suppressedCount++
+    }
+    cancel()
+    latestHeight = height
+    emitHeight(height)
+  }
+
+  /** Drops any queued height without emitting it. */
+  fun cancel() {
+    if (frameScheduled) {
+      removeFrameCallback(this)
+      frameScheduled = false
+    }
+    hasPendingHeight = false
+  }
+
+  override fun doFrame(frameTimeNanos: Long) {
+    frameScheduled = false
+    val height = latestHeight ?: return
+
+    if (hasPendingHeight) {
+      hasPendingHeight = false
+      val lastEmitted = lastEmittedHeight
+      if (lastEmitted == null || abs(height - lastEmitted) >= minDelta) {
+        emitHeight(height)
+      } else {
+        suppressedCount++
+      }
+      // Check again next frame, so a height held back by minDelta is still emitted once the
+      // element stops changing.
+      scheduleFrame()
+    } else if (height != lastEmittedHeight) {
+      // Settled: nothing new was reported for a whole frame.
+      emitHeight(height)
+    }
+  }
+
+  private fun scheduleFrame() {
+    if (!frameScheduled) {
+      frameScheduled = true
+      postFrameCallback(this)
+    }
+  }
+
+  private fun emitHeight(height: Float) {
+    lastEmittedHeight = height
+    emit(height)
+  }
+}
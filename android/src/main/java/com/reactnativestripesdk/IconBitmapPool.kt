@@ -0,0 +1,88 @@
+package com.reactnativestripesdk
+
+import android.graphics.Bitmap
+import android.util.Size
+import androidx.core.graphics.createBitmap
+import kotlin.math.sqrt
+
+/**
+ * Small pool of `ARGB_8888` bitmaps reused by [getBitmapFromDrawable] once an icon has been
+ * encoded, so that rendering the same card brand sizes over and over doesn't allocate a new
+ * native buffer each time.
+ *
+ * Bitmaps are matched on exact dimensions. When the pool is full the oldest bitmap is recycled.
+ */
+internal object IconBitmapPool {
+  private val pool = ArrayDeque<Bitmap>()
+  private var pooledBytes = 0
+
+  /** Returns a cleared bitmap of the requested size, reusing a pooled one when possible. */
+  fun acquire(
+    width: Int,
+    height: Int,
+  ): Bitmap {
+    synchronized(this) {
+      val index = pool.indexOfFirst { it.width == width && it.height == height }
+      if (index >= 0) {
+        val bitmap = pool.removeAt(index)
+        pooledBytes -= bitmap.allocationByteCount
+        if (!bitmap.isRecycled) {
+          return bitmap
+        }
+      }
+    }
+    return createBitmap(width, height, Bitmap.Config.ARGB_8888)
+  }
+
+  /** Hands [bitmap] back to the pool. The caller must not use it afterwards. */
+  fun release(bitmap: Bitmap?) {
+    if (bitmap == null || bitmap.isRecycled || !bitmap.isMutable) {
+      return
+    }
+    val size = bitmap.allocationByteCount
+    if (size > MAX_POOL_BYTES) {
+      bitmap.recycle()
+      return
+    }
+    synchronized(this) {
+      while (pool.isNotEmpty() && (pool.size >= MAX_POOL_SIZE || pooledBytes + size > MAX_POOL_BYTES)) {
+        val evicted = pool.removeFirst()
+        pooledBytes -= evicted.allocationByteCount
+        evicted.recycle()
+      }
+      pool.addLast(bitmap)
+      pooledBytes += size
+    }
+  }
+
+  fun clear() {
+    synchronized(this) {
+      pool.forEach { it.recycle() }
+      pool.clear()
+      pooledBytes = 0
+    }
+  }
+
+  private const val MAX_POOL_SIZE = 4
+  private const val MAX_POOL_BYTES = 2 * 1024 * 1024
+}
+
+/**
+ * Returns the size to render an icon of [width] x [height] at so that it has at most [maxPixels]
+ * pixels, preserving the aspect ratio. A [maxPixels] of 0 disables downsampling.
+ */
+internal fun iconTargetSize(
+  width: Int,
+  height: Int,
+  maxPixels: Int,
+): Size {
+  val pixels = width.toLong() * height
+  if (maxPixels <= 0 || pixels <= maxPixels) {
+    return Size(width, height)
+  }
+  val scale = sqrt(maxPixels.toDouble() / pixels)
+  return Size(
+    (width * scale).toInt().coerceAtLeast(1),
+    (height * scale).toInt().coerceAtLeast(1),
+  )
+}
@@ -0,0 +1,124 @@
+package com.reactnativestripesdk
+
+import android.content.Context
+import android.net.Uri
+import android.util.Log
+import java.io.File
+import java.security.MessageDigest
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * How encoded payment method icons are handed to JS.
+ */
+internal enum class IconDelivery {
+  /** Inline base64 PNG strings (default). */
+  Base64,
+
+  /** `file://` URIs pointing at content-addressed PNGs under the app cache directory. */
+  FileUri,
+  ;
+
+  companion object {
+    fun fromString(value: String?): IconDelivery =
+      when (value) {
+        "fileUri" -> FileUri
+        else -> Base64
+      }
+  }
+}
+
+/**
+ * Writes encoded icons to `cacheDir/stripe-icons`, named by the SHA-256 of their PNG bytes, so
+ * that every distinct icon is written once and the bridge only carries a short `file://` URI.
+ *
+ * Files older than [MAX_FILE_AGE_MS] are removed on [configure], and the directory is trimmed back
+ * under [MAX_DIR_SIZE_BYTES] (oldest first) whenever a write takes it over the cap.
+ */
+internal object IconFileStore {
+  @Volatile
+  var delivery: IconDelivery = IconDelivery.Base64
+    private set
+
+  @Volatile
+  private var directory: File? = null
+
+  private val directorySizeBytes = AtomicLong(0)
+
+  fun configure(
+    context: Context,
+    delivery: IconDelivery,
+  ) {
+    if (this.delivery != delivery) {
+      // Cached values are either base64 strings or URIs depending on the mode.
+      DrawableIconCache.clear()
+    }
+    this.delivery = delivery
+    if (delivery == IconDelivery.FileUri) {
+      directory = File(context.cacheDir, ICON_DIRECTORY).apply { mkdirs() }
+      trim(System.currentTimeMillis() - MAX_FILE_AGE_MS)
+    }
+  }
+
+  /**
+   * Returns a `file://` URI for [pngBytes], writing the file if it does not already exist.
+   * Returns null if the store has not been configured or the write fails.
+   */
+  fun write(pngBytes: ByteArray): String? {
+    val dir = directory ?: return null
+    val file = File(dir, "${sha256Hex(pngBytes)}.png")
+    try {
+      if (file.exists()) {
+        file.setLastModified(System.currentTimeMillis())
+      } else {
+        dir.mkdirs()
+        val tmp = File(dir, "${file.name}.tmp")
+        tmp.writeBytes(pngBytes)
+        if (!tmp.renameTo(file)) {
+          tmp.delete()
+          return null
+        }
+        if (directorySizeBytes.addAndGet(pngBytes.size.toLong()) > MAX_DIR_SIZE_BYTES) {
+          trim(0)
+        }
+      }
+    } catch (e: Exception) {
+      Log.w(TAG, "Failed to write icon file", e)
+      return null
+    }
+    return Uri.fromFile(file).toString()
+  }
+
+  /** Returns true if [uri] was produced by this store and its file is still on disk. */
+  fun exists(uri: String): Boolean = Uri.parse(uri).path?.let { File(it).exists() } == true
+
+  /**
+   * Deletes files last used before [staleBefore], then the oldest remaining files until the
+   * directory fits under [MAX_DIR_SIZE_BYTES].
+   */
+  @Synchronized
+  private fun trim(staleBefore: Long) {
+    val files = directory?.listFiles()?.sortedBy { it.lastModified() } ?: return
+    var total = files.sumOf { it.length() }
+    for (file in files) {
+      if (file.lastModified() >= staleBefore && total <= MAX_DIR_SIZE_BYTES) {
+        break
+      }
+      val length = file.length()
+      if (file.delete()) {
+        total -= length
+      }
+    }
+    directorySizeBytes.set(total)
+  }
+
+  private fun sha256Hex(bytes: ByteArray): String =
+    MessageDigest
+      .getInstance("SHA-256")
+      .digest(bytes)
+      .joinToString("") { "%02x".format(it) }
+
+  private const val TAG = "StripeReactNative"
+  private const val ICON_DIRECTORY = "stripe-icons"
+  private const val MAX_DIR_SIZE_BYTES = 4L * 1024 * 1024
+  private const val MAX_FILE_AGE_MS = 7L * 24 * 60 * 60 * 1000
+}
@@ -0,0 +1,82 @@
+package com.reactnativestripesdk
+
+import android.graphics.drawable.Drawable
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CoroutineStart
+import kotlinx.coroutines.Deferred
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.async
+import kotlinx.coroutines.withContext
+import kotlinx.coroutines.withTimeout
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * Coalesces concurrent icon loads for the same key into a single load-and-encode job.
+ *
+ * Overlapping `paymentOption` emissions, onramp display data requests and collect results for the
+ * same payment method otherwise each start their own `imageLoader()` call and encode. The shared
+ * job runs in its own scope, so a caller being cancelled doesn't cancel it for the others.
+ */
+internal object IconLoadCoalescer {
+  data class Stats(
+    val started: Int,
+    val coalesced: Int,
+  )
+
+  private val scope = CoroutineScope(SupervisorJob() + Dispatchers.Default)
+  private val inFlight = HashMap<String, Deferred<String>>()
+  private val started = AtomicInteger(0)
+  private val coalesced = AtomicInteger(0)
+
+  suspend fun load(
+    key: String,
+    block: suspend () -> String,
+  ): String {
+    var created = false
+    val deferred =
+      synchronized(inFlight) {
+        inFlight[key]?.also { coalesced.incrementAndGet() }
+          ?: scope.async(start = CoroutineStart.LAZY) { block() }.also { job ->
+            inFlight[key] = job
+            created = true
+            job.invokeOnCompletion {
+              synchronized(inFlight) {
+                if (inFlight[key] === job) {
+                  inFlight.remove(key)
+                }
+              }
+            }
+          }
+      }
+    if (created) {
+      started.incrementAndGet()
+      deferred.start()
+    }
+    return deferred.await()
+  }
+
+  fun stats(): Stats = Stats(started = started.get(), coalesced = coalesced.get())
+}
+
+/**
+ * Loads a payment method icon with [imageLoader] and encodes it with [getCachedIconFromDrawable],
+ * sharing the work with any concurrent load for the same [key]. Returns an empty string if the
+ * drawable can't be rendered; throws if the load fails or times out.
+ */
+internal suspend fun loadCachedIcon(
+  key: String,
+  imageLoader: suspend () -> Drawable,
+  timeoutMs: Long = ICON_LOAD_TIMEOUT_MS,
+): String =
+  IconLoadCoalescer.load(key) {
+    val drawable =
+      withTimeout(timeoutMs) {
+        withContext(Dispatchers.IO) {
+          imageLoader()
+        }
+      }
+    getCachedIconFromDrawable(drawable) ?: ""
+  }
+
+private const val ICON_LOAD_TIMEOUT_MS = 5_000L
@@ -0,0 +1,136 @@
+package com.reactnativestripesdk
+
+import android.util.JsonReader
+import android.util.JsonToken
+import com.reactnativestripesdk.utils.PaymentSheetException
+import com.stripe.android.paymentelement.PaymentMethodOptionsSetupFutureUsagePreview
+import com.stripe.android.paymentsheet.PaymentSheet
+import java.io.IOException
+import java.io.StringReader
+
+/**
+ * Builds a [PaymentSheet.IntentConfiguration] from the JSON string passed to the embedded
+ * element's `update` command.
+ *
+ * The JSON is read in a single streaming pass, without building a `JSONObject` and a `WritableMap`
+ * copy of it first. It accepts the same shape and throws the same [PaymentSheetException]s as
+ * [buildIntentConfiguration]; unknown keys are skipped.
+ */
+@Throws(PaymentSheetException::class, IOException::class)
+internal fun parseIntentConfigurationJson(json: String): PaymentSheet.IntentConfiguration {
+  var mode: PaymentSheet.IntentConfiguration.Mode? = null
+  var paymentMethodTypes: List<String> = emptyList()
+  var onBehalfOf: String? = null
+
+  JsonReader(StringReader(json)).use { reader ->
+    reader.beginObject()
+    while (reader.hasNext()) {
+      when (reader.nextName()) {
+        "mode" -> mode = reader.readIntentConfigurationMode()
+        "paymentMethodTypes" -> paymentMethodTypes = reader.readStringList() ?: emptyList()
+        "onBehalfOf" -> onBehalfOf = reader.nextStringOrNull()
+        else -> reader.skipValue()
+      }
+    }
+    reader.endObject()
+  }
+
+  return PaymentSheet.IntentConfiguration(
+    mode =
+      mode ?: throw PaymentSheetException(
+        "If `intentConfiguration` is provided, `intentConfiguration.mode` is required",
+      ),
+    paymentMethodTypes = paymentMethodTypes,
+    onBehalfOf = onBehalfOf,
+  )
+}
+
+@OptIn(PaymentMethodOptionsSetupFutureUsagePreview::class)
+private fun JsonReader.readIntentConfigurationMode(): PaymentSheet.IntentConfiguration.Mode? {
+  if (peek() != JsonToken.BEGIN_OBJECT) {
+    skipValue()
+    return null
+  }
+  var hasAmount = false
+  var amount = 0L
+  var currencyCode: String? = null
+  var setupFutureUsage: String? = null
+  var captureMethod: String? = null
+  var paymentMethodOptions: PaymentSheet.IntentConfiguration.Mode.Payment.PaymentMethodOptions? = null
+
+  beginObject()
+  while (hasNext()) {
+    when (nextName()) {
+      "amount" -> {
+        hasAmount = true
+        amount = if (peek() == JsonToken.NUMBER) nextDouble().toLong() else 0L.also { skipValue() }
+      }
+      "currencyCode" -> currencyCode = nextStringOrNull()
+      "setupFutureUsage" -> setupFutureUsage = nextStringOrNull()
+      "captureMethod" -> captureMethod = nextStringOrNull()
+      "paymentMethodOptions" -> paymentMethodOptions = readPaymentMethodOptions()
+      else -> skipValue()
+    }
+  }
+  endObject()
+
+  return buildIntentConfigurationMode(
+    amount = if (hasAmount) amount else null,
+    currencyCode = currencyCode,
+    setupFutureUsage = setupFutureUsage,
+    captureMethod = captureMethod,
+    paymentMethodOptions = paymentMethodOptions,
+  )
+}
+
+@OptIn(PaymentMethodOptionsSetupFutureUsagePreview::class)
+private fun JsonReader.readPaymentMethodOptions(): PaymentSheet.IntentConfiguration.Mode.Payment.PaymentMethodOptions? {
+  if (peek() != JsonToken.BEGIN_OBJECT) {
+    skipValue()
+    return null
+  }
+  var setupFutureUsageValues: Map<String, String?>? = null
+  beginObject()
+  while (hasNext()) {
+    if (nextName() == "setupFutureUsageValues" && peek() == JsonToken.BEGIN_OBJECT) {
+      val values = HashMap<String, String?>()
+      beginObject()
+      while (hasNext()) {
+        values[nextName()] = nextStringOrNull()
+      }
+      endObject()
+      setupFutureUsageValues = values
+    } else {
+      skipValue()
+    }
+  }
+  endObject()
+  return setupFutureUsageValues?.let { mapToPaymentMethodOptions(it) }
+}
+
+/** Like [com.reactnativestripesdk.utils.getStringList]: null unless the value is an array. */
+private fun JsonReader.readStringList(): List<String>? {
+  if (peek() != JsonToken.BEGIN_ARRAY) {
+    skipValue()
+    return null
+  }
+  val result = mutableListOf<String>()
+  beginArray()
+  while (hasNext()) {
+    if (peek() == JsonToken.STRING) {
+      result.add(nextString())
+    } else {
+      skipValue()
+    }
+  }
+  endArray()
+  return result
+}
+
+private fun JsonReader.nextStringOrNull(): String? =
+  if (peek() == JsonToken.NULL) {
+    nextNull()
+    null
+  } else {
+    nextString()
+  }
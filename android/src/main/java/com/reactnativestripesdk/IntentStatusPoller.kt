@@ -0,0 +1,65 @@
+package com.reactnativestripesdk
+
+import android.os.SystemClock
+import com.facebook.react.bridge.ReadableMap
+import com.reactnativestripesdk.utils.getLongOr
+import com.stripe.android.model.StripeIntent
+import kotlinx.coroutines.delay
+import kotlin.random.Random
+
+/**
+ * Retrieves an intent until it leaves [StripeIntent.Status.Processing] and
+ * [StripeIntent.Status.RequiresAction], or until [timeoutMs] has passed.
+ *
+ * The wait between retrievals starts at [initialIntervalMs] and doubles up to [maxIntervalMs]. Each
+ * wait is jittered to between half and all of the current interval, so clients that started
+ * polling together don't keep hitting the API at the same moment.
+ */
+internal class IntentStatusPoller(
+  private val timeoutMs: Long = DEFAULT_TIMEOUT_MS,
+  private val initialIntervalMs: Long = DEFAULT_INITIAL_INTERVAL_MS,
+  private val maxIntervalMs: Long = DEFAULT_MAX_INTERVAL_MS,
+  private val random: Random = Random.Default,
+  private val clock: () -> Long = SystemClock::elapsedRealtime,
+  private val sleep: suspend (Long) -> Unit = { delay(it) },
+) {
+  /**
+   * Returns the first retrieved intent that is no longer pending. If the deadline passes first, the
+   * last retrieved intent is returned as is, so callers should still check its status.
+   */
+  suspend fun <T : StripeIntent> poll(retrieve: suspend () -> T): T {
+    val deadline = clock() + timeoutMs
+    var intervalMs = initialIntervalMs.coerceAtLeast(1)
+    while (true) {
+      val intent = retrieve()
+      val remainingMs = deadline - clock()
+      if (!isPending(intent) || remainingMs <= 0) {
+        return intent
+      }
+      sleep(jittered(intervalMs).coerceAtMost(remainingMs))
+      intervalMs = (intervalMs * 2).coerceAtMost(maxIntervalMs.coerceAtLeast(intervalMs))
+    }
+  }
+
+  private fun jittered(intervalMs: Long): Long {
+    val half = intervalMs / 2
+    return half + random.nextLong(intervalMs - half + 1)
+  }
+
+  companion object {
+    const val DEFAULT_TIMEOUT_MS = 60_000L
+    const val DEFAULT_INITIAL_INTERVAL_MS = 1_000L
+    const val DEFAULT_MAX_INTERVAL_MS = 10_000L
+
+    fun isPending(intent: StripeIntent) =
+      intent.status == StripeIntent.Status.Processing ||
+        intent.status == StripeIntent.Status.RequiresAction
+
+    fun fromOptions(options: ReadableMap?) =
+      IntentStatusPoller(
+        timeoutMs = options.getLongOr("timeout", DEFAULT_TIMEOUT_MS),
+        initialIntervalMs = options.getLongOr("initialInterval", DEFAULT_INITIAL_INTERVAL_MS),
+        maxIntervalMs = options.getLongOr("maxInterval", DEFAULT_MAX_INTERVAL_MS),
+      )
+  }
+}
@@ -244,7 +244,7 @@ internal class LinkControllerManager(
                         if (preview != null) {
                             val iconBase64 = withContext(Dispatchers.IO) {
                                 try {
-                                    convertDrawableToBase64(preview.icon)
+                                    convertDrawableToIcon(preview.icon)
                                 } catch (_: Exception) {
                                     null
                                 }
@@ -253,7 +253,7 @@ internal class LinkControllerManager(
                             previewMap.putString("label", preview.label)
                             preview.sublabel?.let { previewMap.putString("sublabel", it) }
                             if (iconBase64 != null) {
-                                previewMap.putString("icon", "data:image/png;base64,$iconBase64")
+                                previewMap.putString("icon", toIconUri(iconBase64))
                             }
                             response.putMap("paymentMethodPreview", previewMap)
                         }
@@ -2,6 +2,7 @@ package com.reactnativestripesdk
 
 import com.facebook.react.bridge.ReadableMap
 import com.reactnativestripesdk.utils.PaymentSheetException
+import com.reactnativestripesdk.utils.enumTable
 import com.reactnativestripesdk.utils.forEachKey
 import com.reactnativestripesdk.utils.getBooleanOr
 import com.reactnativestripesdk.utils.getIntOr
@@ -35,31 +36,83 @@ internal fun buildIntentConfiguration(intentConfigurationParams: ReadableMap?):
 
 @OptIn(PaymentMethodOptionsSetupFutureUsagePreview::class)
 private fun buildIntentConfigurationMode(modeParams: ReadableMap): PaymentSheet.IntentConfiguration.Mode =
-  if (modeParams.hasKey("amount")) {
-    val currencyCode =
-      modeParams.getString("currencyCode")
-        ?: throw PaymentSheetException(
-          "You must provide a value to intentConfiguration.mode.currencyCode",
-        )
+  buildIntentConfigurationMode(
+    amount = if (modeParams.hasKey("amount")) modeParams.getLongOr("amount", 0) else null,
+    currencyCode = modeParams.getString("currencyCode"),
+    setupFutureUsage = modeParams.getString("setupFutureUsage"),
+    captureMethod = modeParams.getString("captureMethod"),
+    paymentMethodOptions = mapToPaymentMethodOptions(modeParams.getMap("paymentMethodOptions")),
+  )
+
+/**
+ * Builds a payment mode when [amount] is set, and a setup mode otherwise. Shared by the
+ * [ReadableMap] and JSON ([parseIntentConfigurationJson]) parsers so they validate the same way.
+ */
+@OptIn(PaymentMethodOptionsSetupFutureUsagePreview::class)
+internal fun buildIntentConfigurationMode(
+  amount: Long?,
+  currencyCode: String?,
+  setupFutureUsage: String?,
+  captureMethod: String?,
+  paymentMethodOptions: PaymentSheet.IntentConfiguration.Mode.Payment.PaymentMethodOptions?,
+): PaymentSheet.IntentConfiguration.Mode =
+  if (amount != null) {
     PaymentSheet.IntentConfiguration.Mode.Payment(
-      amount = modeParams.getLongOr("amount", 0),
-      currency = currencyCode,
-      setupFutureUse = mapToSetupFutureUse(modeParams.getString("setupFutureUsage")),
-      captureMethod = mapToCaptureMethod(modeParams.getString("captureMethod")),
-      paymentMethodOptions = mapToPaymentMethodOptions(modeParams.getMap("paymentMethodOptions")),
+      amount = amount,
+      currency =
+        currencyCode
+          ?: throw PaymentSheetException(
+            "You must provide a value to intentConfiguration.mode.currencyCode",
+          ),
+      setupFutureUse = mapToSetupFutureUse(setupFutureUsage),
+      captureMethod = mapToCaptureMethod(captureMethod),
+      paymentMethodOptions = paymentMethodOptions,
     )
   } else {
-    val setupFutureUsage =
-      mapToSetupFutureUse(modeParams.getString("setupFutureUsage"))
-        ?: throw PaymentSheetException(
-          "You must provide a value to intentConfiguration.mode.setupFutureUsage",
-        )
     PaymentSheet.IntentConfiguration.Mode.Setup(
-      currency = modeParams.getString("currencyCode"),
-      setupFutureUse = setupFutureUsage,
+      currency = currencyCode,
+      setupFutureUse =
+        mapToSetupFutureUse(setupFutureUsage)
+          ?: throw PaymentSheetException(
+            "You must provide a value to intentConfiguration.mode.setupFutureUsage",
+          ),
     )
   }
 
+/**
+ * Whether two intent configurations hold the same values for every field the bridge sets.
+ *
+ * [PaymentSheet.IntentConfiguration] doesn't implement structural equality, so this compares the
+ * fields built by [buildIntentConfiguration] one by one. Payment method options are compared with
+ * `==`, so two separately built option sets count as different; that only means an update is
+ * applied when it could have been skipped.
+ */
+@OptIn(PaymentMethodOptionsSetupFutureUsagePreview::class)
+internal fun intentConfigurationsMatch(
+  a: PaymentSheet.IntentConfiguration?,
+  b: PaymentSheet.IntentConfiguration?,
+): Boolean {
+  if (a === b) return true
+  if (a == null || b == null) return false
+  if (a.paymentMethodTypes != b.paymentMethodTypes || a.onBehalfOf != b.onBehalfOf) return false
+
+  val modeA = a.mode
+  val modeB = b.mode
+  return when (modeA) {
+    is PaymentSheet.IntentConfiguration.Mode.Payment ->
+      modeB is PaymentSheet.IntentConfiguration.Mode.Payment &&
+        modeA.amount == modeB.amount &&
+        modeA.currency == modeB.currency &&
+        modeA.setupFutureUse == modeB.setupFutureUse &&
+        modeA.captureMethod == modeB.captureMethod &&
+        modeA.paymentMethodOptions == modeB.paymentMethodOptions
+    is PaymentSheet.IntentConfiguration.Mode.Setup ->
+      modeB is PaymentSheet.IntentConfiguration.Mode.Setup &&
+        modeA.currency == modeB.currency &&
+        modeA.setupFutureUse == modeB.setupFutureUse
+  }
+}
+
 internal fun buildLinkConfig(params: ReadableMap?): PaymentSheet.LinkConfiguration {
   if (params == null) {
     return PaymentSheet.LinkConfiguration()
@@ -244,13 +297,15 @@ internal fun mapToCardBrandAcceptance(params: ReadableMap?): PaymentSheet.CardBr
 }
 
 internal fun mapToCardBrandCategory(brand: String): PaymentSheet.CardBrandAcceptance.BrandCategory? =
-  when (brand) {
-    "visa" -> PaymentSheet.CardBrandAcceptance.BrandCategory.Visa
-    "mastercard" -> PaymentSheet.CardBrandAcceptance.BrandCategory.Mastercard
-    "amex" -> PaymentSheet.CardBrandAcceptance.BrandCategory.Amex
-    "discover" -> PaymentSheet.CardBrandAcceptance.BrandCategory.Discover
-    else -> null
-  }
+  CARD_BRAND_CATEGORIES.valueOf(brand)
+
+private val CARD_BRAND_CATEGORIES =
+  enumTable(
+    PaymentSheet.CardBrandAcceptance.BrandCategory.Visa to "visa",
+    PaymentSheet.CardBrandAcceptance.BrandCategory.Mastercard to "mastercard",
+    PaymentSheet.CardBrandAcceptance.BrandCategory.Amex to "amex",
+    PaymentSheet.CardBrandAcceptance.BrandCategory.Discover to "discover",
+  )
 
 @OptIn(CardFundingFilteringPrivatePreview::class)
 internal fun mapToAllowedCardFundingTypes(params: ReadableMap?): List<PaymentSheet.CardFundingType>? {
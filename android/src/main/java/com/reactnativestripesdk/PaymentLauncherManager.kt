@@ -5,6 +5,7 @@ import androidx.activity.ComponentActivity
 import com.facebook.react.bridge.ReactApplicationContext
 import com.reactnativestripesdk.utils.ConfirmPaymentErrorType
 import com.reactnativestripesdk.utils.ConfirmSetupIntentErrorType
+import com.reactnativestripesdk.utils.FieldProjection
 import com.reactnativestripesdk.utils.StripeUIManager
 import com.reactnativestripesdk.utils.createError
 import com.reactnativestripesdk.utils.createResult
@@ -43,6 +44,9 @@ class PaymentLauncherManager(
 
   // Used when handling the next action on a setup intent
   private var handleNextActionSetupIntentClientSecret: String? = null
+
+  // Limits which fields of the resulting intent are sent back, if set
+  private var fields: FieldProjection? = null
   private lateinit var paymentLauncher: PaymentLauncher
 
   companion object {
@@ -57,6 +61,7 @@ class PaymentLauncherManager(
       confirmSetupParams: ConfirmSetupIntentParams? = null,
       handleNextActionPaymentIntentClientSecret: String? = null,
       handleNextActionSetupIntentClientSecret: String? = null,
+      fields: FieldProjection? = null,
     ): PaymentLauncherManager {
       val instance = PaymentLauncherManager(context)
       instance.stripe = stripe
@@ -68,6 +73,7 @@ class PaymentLauncherManager(
       instance.confirmSetupParams = confirmSetupParams
       instance.handleNextActionPaymentIntentClientSecret = handleNextActionPaymentIntentClientSecret
       instance.handleNextActionSetupIntentClientSecret = handleNextActionSetupIntentClientSecret
+      instance.fields = fields
       return instance
     }
 
@@ -79,6 +85,7 @@ class PaymentLauncherManager(
       stripeAccountId: String?,
       paymentIntentClientSecret: String,
       confirmPaymentParams: ConfirmPaymentIntentParams,
+      fields: FieldProjection? = null,
     ): PaymentLauncherManager {
       val paymentLauncherFragment =
         create(
@@ -88,6 +95,7 @@ class PaymentLauncherManager(
           stripeAccountId,
           paymentIntentClientSecret = paymentIntentClientSecret,
           confirmPaymentParams = confirmPaymentParams,
+          fields = fields,
         )
       return paymentLauncherFragment
     }
@@ -100,6 +108,7 @@ class PaymentLauncherManager(
       stripeAccountId: String?,
       setupIntentClientSecret: String,
       confirmSetupParams: ConfirmSetupIntentParams,
+      fields: FieldProjection? = null,
     ): PaymentLauncherManager {
       val paymentLauncherFragment =
         create(
@@ -109,6 +118,7 @@ class PaymentLauncherManager(
           stripeAccountId,
           setupIntentClientSecret = setupIntentClientSecret,
           confirmSetupParams = confirmSetupParams,
+          fields = fields,
         )
       return paymentLauncherFragment
     }
@@ -174,6 +184,7 @@ class PaymentLauncherManager(
   private fun createPaymentLauncher(activity: ComponentActivity): PaymentLauncher =
     @SuppressLint("RestrictedApi")
     PaymentLauncher.create(activity, signal, publishableKey, stripeAccountId) { paymentResult ->
+      invalidateRetrievedIntent()
       when (paymentResult) {
         is PaymentResult.Completed -> {
           paymentIntentClientSecret?.let {
@@ -197,6 +208,17 @@ class PaymentLauncherManager(
       }
     }
 
+  /** Drops any stored retrieval of the intent, which this launcher may just have changed. */
+  private fun invalidateRetrievedIntent() {
+    val clientSecret =
+      paymentIntentClientSecret
+        ?: setupIntentClientSecret
+        ?: handleNextActionPaymentIntentClientSecret
+        ?: handleNextActionSetupIntentClientSecret
+        ?: return
+    context.getNativeModule(StripeSdkModule::class.java)?.retrievedIntents?.invalidate(clientSecret)
+  }
+
   private fun retrieveSetupIntent(
     clientSecret: String,
     stripeAccountId: String?,
@@ -217,11 +239,11 @@ class PaymentLauncherManager(
             StripeIntent.Status.RequiresConfirmation,
             StripeIntent.Status.RequiresCapture,
             -> {
-              promise?.resolve(createResult("setupIntent", mapFromSetupIntentResult(result)))
+              promise?.resolve(createResult("setupIntent", mapFromSetupIntentResult(result, fields)))
             }
             StripeIntent.Status.RequiresAction -> {
               if (isNextActionSuccessState(result.nextActionType)) {
-                promise?.resolve(createResult("setupIntent", mapFromSetupIntentResult(result)))
+                promise?.resolve(createResult("setupIntent", mapFromSetupIntentResult(result, fields)))
               } else {
                 (result.lastSetupError)?.let {
                   promise?.resolve(
@@ -288,11 +310,11 @@ class PaymentLauncherManager(
             StripeIntent.Status.RequiresConfirmation,
             StripeIntent.Status.RequiresCapture,
             -> {
-              promise?.resolve(createResult("paymentIntent", mapFromPaymentIntentResult(result)))
+              promise?.resolve(createResult("paymentIntent", mapFromPaymentIntentResult(result, fields)))
             }
             StripeIntent.Status.RequiresAction -> {
               if (isNextActionSuccessState(result.nextActionType)) {
-                promise?.resolve(createResult("paymentIntent", mapFromPaymentIntentResult(result)))
+                promise?.resolve(createResult("paymentIntent", mapFromPaymentIntentResult(result, fields)))
               } else {
                 (result.lastPaymentError)?.let {
                   promise?.resolve(createError(ConfirmPaymentErrorType.Canceled.toString(), it))
@@ -5,6 +5,7 @@ import android.app.Application
 import android.content.Context
 import androidx.compose.foundation.layout.Box
 import androidx.compose.runtime.Composable
+import androidx.compose.runtime.DisposableEffect
 import androidx.compose.runtime.LaunchedEffect
 import androidx.compose.runtime.getValue
 import androidx.compose.runtime.mutableStateOf
@@ -41,6 +42,11 @@ class PaymentMethodMessagingElementView(
 
   private val reactContext get() = context as ThemedReactContext
   private val events = Channel<Event>(Channel.UNLIMITED)
+  private val heightReporter = FrameAlignedHeightReporter { h -> emitHeightChange(h) }
+
+  /** How many height changes were coalesced instead of being sent to JS as they happened. */
+  val suppressedHeightChangeCount: Int
+    get() = heightReporter.suppressedCount
 
   @SuppressLint("RestrictedApi")
   @Composable
@@ -92,9 +98,13 @@ class PaymentMethodMessagingElementView(
       }
     }
 
+    DisposableEffect(Unit) {
+      onDispose { heightReporter.cancel() }
+    }
+
     Box {
       MeasureMessagingElement(
-        reportHeightChange = { h -> reportHeightChange(h) },
+        reportHeightChange = { h -> heightReporter.report(h) },
       ) {
         messagingElement.Content(appearance)
       }
@@ -144,6 +154,10 @@ class PaymentMethodMessagingElementView(
   }
 
   private fun reportHeightChange(height: Float) {
+    heightReporter.reportNow(height)
+  }
+
+  private fun emitHeightChange(height: Float) {
     val params =
       Arguments.createMap().apply {
         putDouble("height", height.toDouble())
@@ -13,9 +13,6 @@ import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.WritableMap
 import com.reactnativestripesdk.utils.mapFromPaymentSheetBillingDetails
 import com.stripe.android.paymentelement.EmbeddedPaymentElement
-import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.withContext
-import kotlinx.coroutines.withTimeout
 
 /**
  * Serialize Stripe's PaymentOptionDisplayData into a WritableMap
@@ -37,17 +34,11 @@ suspend fun EmbeddedPaymentElement.PaymentOptionDisplayData.toWritableMap(): Wri
     // Load image off the main thread with a timeout
     val imageBase64 =
       try {
-        withContext(Dispatchers.Default) {
-          val drawable =
-            withTimeout(IMAGE_LOAD_TIMEOUT_MS) {
-              withContext(Dispatchers.IO) {
-                imageLoader()
-              }
-            }
-          getBitmapFromDrawable(drawable)?.let { bitmap ->
-            getBase64FromBitmap(bitmap)
-          } ?: ""
-        }
+        loadCachedIcon(
+          key = "embedded:$paymentMethodType:$label",
+          imageLoader = { imageLoader() },
+          timeoutMs = IMAGE_LOAD_TIMEOUT_MS,
+        )
       } catch (_: Exception) {
         // If imageLoader fails or times out, return empty string
         ""
@@ -8,6 +8,7 @@ import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.ReadableMap
 import com.facebook.react.bridge.ReadableType
 import com.reactnativestripesdk.utils.PaymentSheetAppearanceException
+import com.reactnativestripesdk.utils.fingerprint
 import com.reactnativestripesdk.utils.getBooleanOrNull
 import com.reactnativestripesdk.utils.getDoubleOrNull
 import com.reactnativestripesdk.utils.getFloatOr
@@ -15,11 +16,43 @@ import com.reactnativestripesdk.utils.getFloatOrNull
 import com.stripe.android.paymentelement.AppearanceAPIAdditionsPreview
 import com.stripe.android.paymentsheet.PaymentSheet
 import com.stripe.android.uicore.StripeThemeDefaults
+import java.util.concurrent.ConcurrentHashMap
 
-@SuppressLint("RestrictedApi")
+/**
+ * Builds the appearance described by [userParams].
+ *
+ * Appearances are kept for the life of the process, keyed by a fingerprint of [userParams] and
+ * whether the device is in dark mode, so an app that configures every sheet with the same theme
+ * only parses it once. Params that fail to parse aren't kept.
+ */
+@Throws(PaymentSheetAppearanceException::class)
 fun buildPaymentSheetAppearance(
   userParams: ReadableMap?,
   context: Context,
+): PaymentSheet.Appearance {
+  val key = "${userParams?.fingerprint()}:${isDarkMode(context)}"
+  synchronized(parsedAppearances) {
+    parsedAppearances[key]?.let { return it }
+  }
+  val appearance = parsePaymentSheetAppearance(userParams, context)
+  synchronized(parsedAppearances) {
+    parsedAppearances[key] = appearance
+  }
+  return appearance
+}
+
+private const val MAX_PARSED_APPEARANCES = 8
+
+private val parsedAppearances =
+  object : LinkedHashMap<String, PaymentSheet.Appearance>(MAX_PARSED_APPEARANCES, 0.75f, true) {
+    override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, PaymentSheet.Appearance>?) =
+      size > MAX_PARSED_APPEARANCES
+  }
+
+@SuppressLint("RestrictedApi")
+private fun parsePaymentSheetAppearance(
+  userParams: ReadableMap?,
+  context: Context,
 ): PaymentSheet.Appearance {
   val colorParams = userParams?.getMap(PaymentSheetAppearanceKeys.COLORS)
   val lightColorParams = colorParams?.getMap(PaymentSheetAppearanceKeys.LIGHT) ?: colorParams
@@ -517,11 +550,7 @@ private fun dynamicColorFromParams(
   // First check if it's a nested map { "light": "#RRGGBB", "dark": "#RRGGBB" }
   if (params.hasKey(key) && params.getType(key) == ReadableType.Map) {
     val colorMap = params.getMap(key)
-    val isDark =
-      (
-        context.resources.configuration.uiMode
-          and Configuration.UI_MODE_NIGHT_MASK
-      ) == Configuration.UI_MODE_NIGHT_YES
+    val isDark = isDarkMode(context)
 
     // Pick the hex for current mode, or null
     val hex =
@@ -538,6 +567,14 @@ private fun dynamicColorFromParams(
   return colorFromHex(params.getString(key))
 }
 
+private fun isDarkMode(context: Context) =
+  (context.resources.configuration.uiMode and Configuration.UI_MODE_NIGHT_MASK) == Configuration.UI_MODE_NIGHT_YES
+
+private val invalidFontFileNameCharacter = Regex("[^a-z0-9]")
+
+// Font resource ids don't change while the process is running, and looking one up by name is slow.
+private val fontResIds = ConcurrentHashMap<String, Int>()
+
 @Throws(PaymentSheetAppearanceException::class)
 internal fun getFontResId(
   map: ReadableMap?,
@@ -554,7 +591,8 @@ internal fun getFontResId(
       ?: throw PaymentSheetAppearanceException(
         "$fontErrorPrefix expected String for font.$key, but received null.",
       )
-  if (Regex("[^a-z0-9]").containsMatchIn(fontFileName)) {
+  fontResIds[fontFileName]?.let { return it }
+  if (invalidFontFileNameCharacter.containsMatchIn(fontFileName)) {
     throw PaymentSheetAppearanceException(
       "$fontErrorPrefix appearance.font.$key should only contain lowercase alphanumeric characters on Android," +
         " but received '$fontFileName'. This value must match the filename in android/app/src/main/res/font",
@@ -566,6 +604,7 @@ internal fun getFontResId(
   if (id == 0) {
     throw PaymentSheetAppearanceException("$fontErrorPrefix Failed to find font: $fontFileName")
   } else {
+    fontResIds[fontFileName] = id
     return id
   }
 }
@@ -12,32 +12,27 @@ import android.os.Handler
 import android.os.Looper
 import android.util.Base64
 import android.util.Log
-import androidx.core.graphics.createBitmap
 import androidx.core.graphics.drawable.DrawableCompat
 import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.Promise
 import com.facebook.react.bridge.ReactApplicationContext
 import com.facebook.react.bridge.ReadableMap
 import com.facebook.react.bridge.WritableMap
-import com.reactnativestripesdk.addresssheet.AddressSheetView
 import com.reactnativestripesdk.utils.DefaultActivityLifecycleCallbacks
 import com.reactnativestripesdk.utils.ErrorType
 import com.reactnativestripesdk.utils.KeepJsAwakeTask
 import com.reactnativestripesdk.utils.PaymentSheetAppearanceException
 import com.reactnativestripesdk.utils.PaymentSheetErrorType
 import com.reactnativestripesdk.utils.PaymentSheetException
+import com.reactnativestripesdk.utils.PendingCalls
 import com.reactnativestripesdk.utils.StripeUIManager
 import com.reactnativestripesdk.utils.createError
 import com.reactnativestripesdk.utils.createResult
+import com.reactnativestripesdk.utils.fingerprint
 import com.reactnativestripesdk.utils.forEachKey
-import com.reactnativestripesdk.utils.getBooleanOr
-import com.reactnativestripesdk.utils.getIntegerList
-import com.reactnativestripesdk.utils.getStringList
 import com.reactnativestripesdk.utils.mapFromConfirmationToken
 import com.reactnativestripesdk.utils.mapFromCustomPaymentMethod
 import com.reactnativestripesdk.utils.mapFromPaymentMethod
-import com.reactnativestripesdk.utils.mapToPreferredNetworks
-import com.reactnativestripesdk.utils.parseCustomPaymentMethods
 import com.stripe.android.ExperimentalAllowsRemovalOfLastSavedPaymentMethodApi
 import com.stripe.android.core.reactnative.ReactNativeSdkInternal
 import com.stripe.android.model.PaymentMethod
@@ -53,14 +48,21 @@ import com.stripe.android.paymentsheet.PaymentOptionResultCallback
 import com.stripe.android.paymentsheet.PaymentSheet
 import com.stripe.android.paymentsheet.PaymentSheetResult
 import com.stripe.android.paymentsheet.PaymentSheetResultCallback
-import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.CancellationException
+import kotlinx.coroutines.CoroutineDispatcher
 import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
 import kotlinx.coroutines.delay
 import kotlinx.coroutines.launch
 import kotlinx.coroutines.suspendCancellableCoroutine
+import kotlinx.coroutines.withContext
 import kotlinx.coroutines.withTimeoutOrNull
 import java.io.ByteArrayOutputStream
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicBoolean
 import kotlin.coroutines.resume
 
 @OptIn(
@@ -72,6 +74,7 @@ class PaymentSheetManager(
   context: ReactApplicationContext,
   private val arguments: ReadableMap,
   private val initPromise: Promise,
+  parseDispatcher: CoroutineDispatcher = Dispatchers.Default,
 ) : StripeUIManager(context),
   ConfirmCustomPaymentMethodCallback {
   private var paymentSheet: PaymentSheet? = null
@@ -82,10 +85,14 @@ class PaymentSheetManager(
   private lateinit var paymentSheetConfiguration: PaymentSheet.Configuration
   private var confirmPromise: Promise? = null
   private var paymentSheetTimedOut = false
-  internal var paymentSheetIntentCreationCallback = CompletableDeferred<ReadableMap>()
-  internal var paymentSheetConfirmationTokenCreationCallback = CompletableDeferred<ReadableMap>()
   private var keepJsAwake: KeepJsAwakeTask? = null
   private var lastConfigureWasCustomFlow: Boolean? = null
+  private val configureScope = CoroutineScope(SupervisorJob() + parseDispatcher)
+  private var configureJob: Job? = null
+
+  // Fingerprint of the params behind the current PaymentSheet or FlowController configuration.
+  // Only read and written on the main thread.
+  private var appliedFingerprint: String? = null
 
   @SuppressLint("RestrictedApi")
   override fun onCreate() {
@@ -94,6 +101,7 @@ class PaymentSheetManager(
 
   override fun onDestroy() {
     super.onDestroy()
+    configureScope.cancel()
     flowController = null
     paymentSheet = null
   }
@@ -115,129 +123,105 @@ class PaymentSheetManager(
       return
     }
 
-    val primaryButtonLabel = args.getString("primaryButtonLabel")
-    val googlePayConfig = buildGooglePayConfig(args.getMap("googlePay"))
-    val linkConfig = buildLinkConfig(args.getMap("link"))
-    val allowsDelayedPaymentMethods = args.getBooleanOr("allowsDelayedPaymentMethods", false)
-    val billingDetailsMap = args.getMap("defaultBillingDetails")
-    val billingConfigParams = args.getMap("billingDetailsCollectionConfiguration")
-    val paymentMethodOrder = args.getStringList("paymentMethodOrder")
-    val allowsRemovalOfLastSavedPaymentMethod =
-      args.getBooleanOr("allowsRemovalOfLastSavedPaymentMethod", true)
-    val opensCardScannerAutomatically =
-      args.getBooleanOr("opensCardScannerAutomatically", false)
-
-    paymentIntentClientSecret = args.getString("paymentIntentClientSecret").orEmpty()
-    setupIntentClientSecret = args.getString("setupIntentClientSecret").orEmpty()
-    intentConfiguration =
-      resolvePaymentSheetValue(promise) {
-        buildIntentConfiguration(args.getMap("intentConfiguration"))
-      }.getOrElse { return }
-
-    val appearance =
-      resolveAppearanceValue(promise) {
-        buildPaymentSheetAppearance(args.getMap("appearance"), context)
-      }.getOrElse { return }
-
-    val customerConfiguration =
-      resolvePaymentSheetValue(promise) {
-        buildCustomerConfiguration(args)
-      }.getOrElse { return }
-
-    val shippingDetails =
-      args.getMap("defaultShippingDetails")?.let {
-        AddressSheetView.buildAddressDetails(it)
-      }
-
-    val billingDetailsConfig = buildBillingDetailsCollectionConfiguration(billingConfigParams)
-
-    val defaultBillingDetails = buildBillingDetails(billingDetailsMap)
-    val configurationBuilder =
-      PaymentSheet.Configuration
-        .Builder(merchantDisplayName)
-        .allowsDelayedPaymentMethods(allowsDelayedPaymentMethods)
-        .defaultBillingDetails(defaultBillingDetails)
-        .customer(customerConfiguration)
-        .googlePay(googlePayConfig)
-        .appearance(appearance)
-        .shippingDetails(shippingDetails)
-        .link(linkConfig)
-        .billingDetailsCollectionConfiguration(billingDetailsConfig)
-        .preferredNetworks(
-          mapToPreferredNetworks(args.getIntegerList("preferredNetworks")),
-        ).allowsRemovalOfLastSavedPaymentMethod(allowsRemovalOfLastSavedPaymentMethod)
-        .opensCardScannerAutomatically(opensCardScannerAutomatically)
-        .cardBrandAcceptance(mapToCardBrandAcceptance(args))
-        .apply {
-          mapToAllowedCardFundingTypes(args)?.let { allowedCardFundingTypes(it) }
-        }.customPaymentMethods(parseCustomPaymentMethods(args.getMap("customPaymentMethodConfiguration")))
-
-    primaryButtonLabel?.let { configurationBuilder.primaryButtonLabel(it) }
-    paymentMethodOrder?.let { configurationBuilder.paymentMethodOrder(it) }
-
-    configurationBuilder.paymentMethodLayout(
-      mapToPaymentMethodLayout(args.getString("paymentMethodLayout")),
-    )
-
-    mapToTermsDisplay(args)?.let { configurationBuilder.termsDisplay(it) }
-
-    paymentSheetConfiguration = configurationBuilder.build()
-    configureMode(args, promise)
-  }
+    // Parse off the main thread, then apply on it. A newer configure cancels this one, so only the
+    // latest params are ever applied, and params that are already applied aren't applied again.
+    val settled = AtomicBoolean(false)
+    synchronized(this) {
+      configureJob?.cancel()
+      configureJob =
+        configureScope.launch {
+          val fingerprint = args.fingerprint()
+          val reused =
+            withContext(Dispatchers.Main) {
+              val unchanged = fingerprint == appliedFingerprint && settled.compareAndSet(false, true)
+              if (unchanged) {
+                resolveWithAppliedSettings(promise)
+              }
+              unchanged
+            }
+          if (reused) {
+            return@launch
+          }
 
-  private inline fun <T> resolvePaymentSheetValue(
-    promise: Promise,
-    builder: () -> T,
-  ): Result<T> =
-    try {
-      Result.success(builder())
-    } catch (error: PaymentSheetException) {
-      promise.resolve(createError(ErrorType.Failed.toString(), error))
-      Result.failure(error)
+          val settings =
+            try {
+              PaymentSheetSettings.parse(args, merchantDisplayName, context)
+            } catch (error: PaymentSheetException) {
+              settled.set(true)
+              promise.resolve(createError(ErrorType.Failed.toString(), error))
+              return@launch
+            } catch (error: PaymentSheetAppearanceException) {
+              settled.set(true)
+              promise.resolve(createError(ErrorType.Failed.toString(), error))
+              return@launch
+            }
+          withContext(Dispatchers.Main) {
+            if (settled.compareAndSet(false, true)) {
+              applySettings(settings, fingerprint, promise)
+            }
+          }
+        }.apply {
+          invokeOnCompletion { cause ->
+            if (cause is CancellationException && settled.compareAndSet(false, true)) {
+              promise.resolve(
+                createError(
+                  ErrorType.Canceled.toString(),
+                  "initPaymentSheet was called again before this call finished.",
+                ),
+              )
+            }
+          }
+        }
     }
+  }
 
-  private inline fun <T> resolveAppearanceValue(
-    promise: Promise,
-    builder: () -> T,
-  ): Result<T> =
-    try {
-      Result.success(builder())
-    } catch (error: PaymentSheetAppearanceException) {
-      promise.resolve(createError(ErrorType.Failed.toString(), error))
-      Result.failure(error)
+  private fun resolveWithAppliedSettings(promise: Promise) {
+    if (lastConfigureWasCustomFlow == true) {
+      handleFlowControllerConfigured(true, null, promise, flowController)
+    } else {
+      promise.resolve(Arguments.createMap())
     }
+  }
 
-  private fun configureMode(
-    args: ReadableMap,
+  private fun applySettings(
+    settings: PaymentSheetSettings,
+    fingerprint: String,
     promise: Promise,
   ) {
-    if (args.getBooleanOr("customFlow", false)) {
+    appliedFingerprint = null
+    paymentIntentClientSecret = settings.paymentIntentClientSecret
+    setupIntentClientSecret = settings.setupIntentClientSecret
+    intentConfiguration = settings.intentConfiguration
+    paymentSheetConfiguration = settings.configuration
+
+    if (settings.customFlow) {
       lastConfigureWasCustomFlow = true
       if (flowController == null) {
-        initFlowController(args, promise)
+        initFlowController(settings, promise)
       }
-      configureFlowController(promise)
+      configureFlowController(fingerprint, promise)
       return
     }
 
     lastConfigureWasCustomFlow = false
     if (paymentSheet == null) {
-      initPaymentSheet(args, promise)
+      initPaymentSheet(settings, promise)
+    }
+    if (paymentSheet != null) {
+      appliedFingerprint = fingerprint
     }
     promise.resolve(Arguments.createMap())
   }
 
   private fun initPaymentSheet(
-    args: ReadableMap,
+    settings: PaymentSheetSettings,
     promise: Promise,
   ) {
     val activity = getCurrentActivityOrResolveWithError(promise) ?: return
-    val intentConfigMap = args.getMap("intentConfiguration")
-    val useConfirmationTokenCallback = intentConfigMap?.hasKey("confirmationTokenConfirmHandler") == true
     paymentSheet =
       if (intentConfiguration != null) {
         val builder = PaymentSheet.Builder(buildPaymentSheetResultCallback())
-        if (useConfirmationTokenCallback) {
+        if (settings.useConfirmationTokenCallback) {
           builder.createIntentCallback(buildCreateConfirmationTokenCallback())
         } else {
           builder.createIntentCallback(buildIntentCreationCallback())
@@ -256,13 +240,10 @@ class PaymentSheetManager(
   }
 
   private fun initFlowController(
-    args: ReadableMap,
+    settings: PaymentSheetSettings,
     promise: Promise,
   ) {
     val activity = getCurrentActivityOrResolveWithError(promise) ?: return
-    val intentConfigMap = args.getMap("intentConfiguration")
-    val useConfirmationTokenCallback =
-      intentConfigMap?.hasKey("confirmationTokenConfirmHandler") == true
     flowController =
       if (intentConfiguration != null) {
         val builder =
@@ -271,7 +252,7 @@ class PaymentSheetManager(
               resultCallback = buildPaymentSheetResultCallback(),
               paymentOptionResultCallback = buildPaymentOptionCallback(),
             )
-        if (useConfirmationTokenCallback) {
+        if (settings.useConfirmationTokenCallback) {
           builder.createIntentCallback(buildCreateConfirmationTokenCallback())
         } else {
           builder.createIntentCallback(buildIntentCreationCallback())
@@ -290,89 +271,72 @@ class PaymentSheetManager(
 
   private fun buildCreateConfirmationTokenCallback(): CreateIntentWithConfirmationTokenCallback {
     return CreateIntentWithConfirmationTokenCallback { confirmationToken ->
-      val stripeSdkModule: StripeSdkModule? = context.getNativeModule(StripeSdkModule::class.java)
+      val stripeSdkModule =
+        context.getNativeModule(StripeSdkModule::class.java)
+          ?: return@CreateIntentWithConfirmationTokenCallback createMissingModuleResult()
       val params =
         Arguments.createMap().apply {
           putMap("confirmationToken", mapFromConfirmationToken(confirmationToken))
         }
 
-      stripeSdkModule?.eventEmitter?.emitOnConfirmationTokenHandlerCallback(params)
-
-      val resultFromJavascript = paymentSheetConfirmationTokenCreationCallback.await()
-      // reset the completable
-      paymentSheetConfirmationTokenCreationCallback = CompletableDeferred<ReadableMap>()
-
-      return@CreateIntentWithConfirmationTokenCallback resultFromJavascript.getString("clientSecret")?.let {
-        CreateIntentResult.Success(clientSecret = it)
+      createIntentInJavascript(stripeSdkModule.confirmationTokenCreationCalls, params) {
+        stripeSdkModule.eventEmitter.emitOnConfirmationTokenHandlerCallback(it)
       }
-        ?: run {
-          val errorMap = resultFromJavascript.getMap("error")
-          CreateIntentResult.Failure(
-            cause = Exception(errorMap?.getString("message")),
-            displayMessage = errorMap?.getString("localizedMessage"),
-          )
-        }
     }
   }
 
   private fun buildIntentCreationCallback(): CreateIntentCallback {
     return CreateIntentCallback { paymentMethod, shouldSavePaymentMethod ->
-      val stripeSdkModule: StripeSdkModule? = context.getNativeModule(StripeSdkModule::class.java)
+      val stripeSdkModule =
+        context.getNativeModule(StripeSdkModule::class.java)
+          ?: return@CreateIntentCallback createMissingModuleResult()
       val params =
         Arguments.createMap().apply {
           putMap("paymentMethod", mapFromPaymentMethod(paymentMethod))
           putBoolean("shouldSavePaymentMethod", shouldSavePaymentMethod)
         }
 
-      stripeSdkModule?.eventEmitter?.emitOnConfirmHandlerCallback(params)
-
-      val resultFromJavascript = paymentSheetIntentCreationCallback.await()
-      // reset the completable
-      paymentSheetIntentCreationCallback = CompletableDeferred<ReadableMap>()
-
-      return@CreateIntentCallback resultFromJavascript.getString("clientSecret")?.let {
-        CreateIntentResult.Success(clientSecret = it)
+      createIntentInJavascript(stripeSdkModule.intentCreationCalls, params) {
+        stripeSdkModule.eventEmitter.emitOnConfirmHandlerCallback(it)
       }
-        ?: run {
-          val errorMap = resultFromJavascript.getMap("error")
-          CreateIntentResult.Failure(
-            cause = Exception(errorMap?.getString("message")),
-            displayMessage = errorMap?.getString("localizedMessage"),
-          )
-        }
     }
   }
 
   private fun buildPaymentSheetResultCallback(): PaymentSheetResultCallback =
-    PaymentSheetResultCallback { paymentResult ->
-      if (paymentSheetTimedOut) {
-        paymentSheetTimedOut = false
-        resolvePaymentResult(
-          createError(PaymentSheetErrorType.Timeout.toString(), "The payment has timed out"),
-        )
-      } else {
-        when (paymentResult) {
-          is PaymentSheetResult.Canceled -> {
-            resolvePaymentResult(
-              createError(
-                PaymentSheetErrorType.Canceled.toString(),
-                "The payment flow has been canceled",
-              ),
-            )
-          }
+    PaymentSheetResultCallback { paymentResult -> onPaymentSheetResult(paymentResult) }
 
-          is PaymentSheetResult.Failed -> {
-            resolvePaymentResult(
-              createError(PaymentSheetErrorType.Failed.toString(), paymentResult.error),
-            )
-          }
+  internal fun onPaymentSheetResult(paymentResult: PaymentSheetResult) {
+    if (paymentSheetTimedOut) {
+      paymentSheetTimedOut = false
+      resolvePaymentResult(
+        createError(PaymentSheetErrorType.Timeout.toString(), "The payment has timed out"),
+      )
+    } else {
+      when (paymentResult) {
+        is PaymentSheetResult.Canceled -> {
+          resolvePaymentResult(
+            createError(
+              PaymentSheetErrorType.Canceled.toString(),
+              "The payment flow has been canceled",
+            ),
+          )
+        }
 
-          is PaymentSheetResult.Completed -> {
-            resolvePaymentResult(Arguments.createMap())
-          }
+        is PaymentSheetResult.Failed -> {
+          appliedFingerprint = null
+          resolvePaymentResult(
+            createError(PaymentSheetErrorType.Failed.toString(), paymentResult.error),
+          )
+        }
+
+        is PaymentSheetResult.Completed -> {
+          // The intent behind these params is used up, so the next configure must apply them again.
+          appliedFingerprint = null
+          resolvePaymentResult(Arguments.createMap())
         }
       }
     }
+  }
 
   private fun buildPaymentOptionCallback(): PaymentOptionResultCallback {
     return PaymentOptionResultCallback { paymentOptionResult ->
@@ -381,7 +345,7 @@ class PaymentSheetManager(
         CoroutineScope(Dispatchers.Default).launch {
           val imageString =
             try {
-              convertDrawableToBase64(paymentOption.icon())
+              convertDrawableToIcon(paymentOption.icon())
             } catch (e: Exception) {
               val result =
                 createError(
@@ -490,9 +454,15 @@ class PaymentSheetManager(
     flowController?.confirm()
   }
 
-  private fun configureFlowController(promise: Promise) {
+  private fun configureFlowController(
+    fingerprint: String,
+    promise: Promise,
+  ) {
     val onFlowControllerConfigure =
       PaymentSheet.FlowController.ConfigCallback { success, error ->
+        if (success) {
+          appliedFingerprint = fingerprint
+        }
         handleFlowControllerConfigured(success, error, promise, flowController)
       }
 
@@ -574,12 +544,14 @@ class PaymentSheetManager(
         delay(CUSTOM_PAYMENT_METHOD_INIT_DELAY_MS)
 
         // Emit event so JS can show the Alert and eventually respond via `customPaymentMethodResultCallback`.
-        stripeSdkModule.eventEmitter.emitOnCustomPaymentMethodConfirmHandlerCallback(
-          mapFromCustomPaymentMethod(customPaymentMethod, billingDetails),
-        )
-
-        // Await JS result.
-        val resultFromJs = stripeSdkModule.customPaymentMethodResultCallback.await()
+        val resultFromJs =
+          stripeSdkModule.customPaymentMethodResultCalls.await { requestId ->
+            stripeSdkModule.eventEmitter.emitOnCustomPaymentMethodConfirmHandlerCallback(
+              mapFromCustomPaymentMethod(customPaymentMethod, billingDetails).apply {
+                putString("requestId", requestId)
+              },
+            )
+          }
 
         keepJsAwakeTask.stop()
 
@@ -674,11 +646,18 @@ suspend fun waitForDrawableToLoad(
 
 suspend fun convertDrawableToBase64(drawable: Drawable): String? {
   val loadedDrawable = waitForDrawableToLoad(drawable)
-  val bitmap = getBitmapFromDrawable(loadedDrawable)
-  return getBase64FromBitmap(bitmap)
+  return getCachedBase64FromDrawable(loadedDrawable)
 }
 
-fun getBitmapFromDrawable(drawable: Drawable): Bitmap? {
+/**
+ * Renders [drawable] into a bitmap at its intrinsic size (or bounds), downsampled to at most
+ * [maxPixels] pixels when that is set. The bitmap may come from [IconBitmapPool]; callers that are
+ * done with it can hand it back with [IconBitmapPool.release].
+ */
+fun getBitmapFromDrawable(
+  drawable: Drawable,
+  maxPixels: Int = 0,
+): Bitmap? {
   val drawableCompat = DrawableCompat.wrap(drawable).mutate()
 
   // Determine the size to use - prefer intrinsic size, fall back to bounds
@@ -700,7 +679,8 @@ fun getBitmapFromDrawable(drawable: Drawable): Bitmap? {
     return null
   }
 
-  val bitmap = createBitmap(width, height, Bitmap.Config.ARGB_8888)
+  val targetSize = iconTargetSize(width, height, maxPixels)
+  val bitmap = IconBitmapPool.acquire(targetSize.width, targetSize.height)
   bitmap.eraseColor(Color.TRANSPARENT)
   val canvas = Canvas(bitmap)
   drawableCompat.setBounds(0, 0, canvas.width, canvas.height)
@@ -710,13 +690,17 @@ fun getBitmapFromDrawable(drawable: Drawable): Bitmap? {
 }
 
 fun getBase64FromBitmap(bitmap: Bitmap?): String? {
+  val imageBytes = getPngBytesFromBitmap(bitmap) ?: return null
+  return Base64.encodeToString(imageBytes, Base64.DEFAULT)
+}
+
+internal fun getPngBytesFromBitmap(bitmap: Bitmap?): ByteArray? {
   if (bitmap == null) {
     return null
   }
   val stream = ByteArrayOutputStream()
   bitmap.compress(Bitmap.CompressFormat.PNG, BITMAP_COMPRESS_QUALITY, stream)
-  val imageBytes: ByteArray = stream.toByteArray()
-  return Base64.encodeToString(imageBytes, Base64.DEFAULT)
+  return stream.toByteArray()
 }
 
 fun mapToPaymentMethodLayout(str: String?): PaymentSheet.PaymentMethodLayout =
@@ -746,10 +730,20 @@ internal fun mapToCaptureMethod(type: String?): PaymentSheet.IntentConfiguration
 internal fun mapToPaymentMethodOptions(
   options: ReadableMap?
 ): PaymentSheet.IntentConfiguration.Mode.Payment.PaymentMethodOptions? {
-  val sfuMap = options?.getMap("setupFutureUsageValues")
+  val sfuMap = options?.getMap("setupFutureUsageValues") ?: return null
+  val setupFutureUsageValues = HashMap<String, String?>()
+  sfuMap.forEachKey { code -> setupFutureUsageValues[code] = sfuMap.getString(code) }
+  return mapToPaymentMethodOptions(setupFutureUsageValues)
+}
+
+/** [setupFutureUsageValues] maps payment method codes to `SetupFutureUse` names. */
+@OptIn(PaymentMethodOptionsSetupFutureUsagePreview::class)
+internal fun mapToPaymentMethodOptions(
+  setupFutureUsageValues: Map<String, String?>
+): PaymentSheet.IntentConfiguration.Mode.Payment.PaymentMethodOptions? {
   val paymentMethodToSfuMap = mutableMapOf<PaymentMethod.Type, PaymentSheet.IntentConfiguration.SetupFutureUse>()
-  sfuMap?.forEachKey { code ->
-    val sfuValue = mapToSetupFutureUse(sfuMap.getString(code))
+  setupFutureUsageValues.forEach { (code, value) ->
+    val sfuValue = mapToSetupFutureUse(value)
     val paymentMethodType = PaymentMethod.Type.fromCode(code)
     if (paymentMethodType != null && sfuValue != null) {
       paymentMethodToSfuMap[paymentMethodType] = sfuValue
@@ -783,7 +777,7 @@ internal fun handleFlowControllerConfigured(
     CoroutineScope(Dispatchers.Default).launch {
       val imageString =
         try {
-          convertDrawableToBase64(paymentOption.icon())
+          convertDrawableToIcon(paymentOption.icon())
         } catch (e: Exception) {
           val result =
             createError(
@@ -808,3 +802,43 @@ internal fun handleFlowControllerConfigured(
 private const val BITMAP_COMPRESS_QUALITY = 100
 private const val PAYMENT_SHEET_ACTIVITY = "com.stripe.android.paymentsheet.PaymentSheetActivity"
 private const val PAYMENT_OPTIONS_ACTIVITY = "com.stripe.android.paymentsheet.PaymentOptionsActivity"
+
+/**
+ * Sends [params] to a JS confirm handler through [emit], tagged with a request id, and maps the
+ * client secret or error that JS passes back for that id to a [CreateIntentResult].
+ */
+internal suspend fun createIntentInJavascript(
+  calls: PendingCalls<ReadableMap>,
+  params: WritableMap,
+  emit: (ReadableMap) -> Unit,
+): CreateIntentResult {
+  val resultFromJavascript =
+    try {
+      calls.await { requestId ->
+        params.putString("requestId", requestId)
+        emit(params)
+      }
+    } catch (error: TimeoutException) {
+      return CreateIntentResult.Failure(cause = error, displayMessage = null)
+    }
+
+  return resultFromJavascript.getString("clientSecret")?.let {
+    CreateIntentResult.Success(clientSecret = it)
+  } ?: run {
+    val errorMap = resultFromJavascript.getMap("error")
+    CreateIntentResult.Failure(
+      cause = Exception(errorMap?.getString("message")),
+      displayMessage = errorMap?.getString("localizedMessage"),
+    )
+  }
+}
+
+private fun createMissingModuleResult() =
+  CreateIntentResult.Failure(
+    cause =
+      Exception(
+        "Tried to call confirmHandler, but no callback was found. Please " +
+          "file an issue: https://github.com/stripe/stripe-react-native/issues",
+      ),
+    displayMessage = "An unexpected error occurred",
+  )
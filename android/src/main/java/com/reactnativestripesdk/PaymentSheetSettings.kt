@@ -0,0 +1,94 @@
+package com.reactnativestripesdk
+
+import android.content.Context
+import com.facebook.react.bridge.ReadableMap
+import com.reactnativestripesdk.addresssheet.AddressSheetView
+import com.reactnativestripesdk.utils.PaymentSheetAppearanceException
+import com.reactnativestripesdk.utils.PaymentSheetException
+import com.reactnativestripesdk.utils.getBooleanOr
+import com.reactnativestripesdk.utils.getIntegerList
+import com.reactnativestripesdk.utils.getStringList
+import com.reactnativestripesdk.utils.mapToPreferredNetworks
+import com.reactnativestripesdk.utils.parseCustomPaymentMethods
+import com.stripe.android.ExperimentalAllowsRemovalOfLastSavedPaymentMethodApi
+import com.stripe.android.paymentsheet.CardFundingFilteringPrivatePreview
+import com.stripe.android.paymentsheet.PaymentSheet
+
+/**
+ * Everything [PaymentSheetManager] needs from the `initPaymentSheet` params, parsed up front.
+ *
+ * Parsing reads the whole params map and resolves the appearance, including its colors and fonts,
+ * so [parse] doesn't touch any views and is safe to call off the main thread. Applying the result
+ * to a `PaymentSheet` or `FlowController` is the only part that has to happen on it.
+ */
+internal class PaymentSheetSettings(
+  val configuration: PaymentSheet.Configuration,
+  val paymentIntentClientSecret: String,
+  val setupIntentClientSecret: String,
+  val intentConfiguration: PaymentSheet.IntentConfiguration?,
+  val customFlow: Boolean,
+  val useConfirmationTokenCallback: Boolean,
+) {
+  companion object {
+    @OptIn(
+      ExperimentalAllowsRemovalOfLastSavedPaymentMethodApi::class,
+      CardFundingFilteringPrivatePreview::class,
+    )
+    @Throws(PaymentSheetException::class, PaymentSheetAppearanceException::class)
+    fun parse(
+      args: ReadableMap,
+      merchantDisplayName: String,
+      context: Context,
+    ): PaymentSheetSettings {
+      val intentConfigMap = args.getMap("intentConfiguration")
+      val intentConfiguration = buildIntentConfiguration(intentConfigMap)
+      val appearance = buildPaymentSheetAppearance(args.getMap("appearance"), context)
+      val customerConfiguration = buildCustomerConfiguration(args)
+
+      val shippingDetails =
+        args.getMap("defaultShippingDetails")?.let {
+          AddressSheetView.buildAddressDetails(it)
+        }
+
+      val configurationBuilder =
+        PaymentSheet.Configuration
+          .Builder(merchantDisplayName)
+          .allowsDelayedPaymentMethods(args.getBooleanOr("allowsDelayedPaymentMethods", false))
+          .defaultBillingDetails(buildBillingDetails(args.getMap("defaultBillingDetails")))
+          .customer(customerConfiguration)
+          .googlePay(buildGooglePayConfig(args.getMap("googlePay")))
+          .appearance(appearance)
+          .shippingDetails(shippingDetails)
+          .link(buildLinkConfig(args.getMap("link")))
+          .billingDetailsCollectionConfiguration(
+            buildBillingDetailsCollectionConfiguration(args.getMap("billingDetailsCollectionConfiguration")),
+          ).preferredNetworks(
+            mapToPreferredNetworks(args.getIntegerList("preferredNetworks")),
+          ).allowsRemovalOfLastSavedPaymentMethod(
+            args.getBooleanOr("allowsRemovalOfLastSavedPaymentMethod", true),
+          ).opensCardScannerAutomatically(args.getBooleanOr("opensCardScannerAutomatically", false))
+          .cardBrandAcceptance(mapToCardBrandAcceptance(args))
+          .apply {
+            mapToAllowedCardFundingTypes(args)?.let { allowedCardFundingTypes(it) }
+          }.customPaymentMethods(parseCustomPaymentMethods(args.getMap("customPaymentMethodConfiguration")))
+
+      args.getString("primaryButtonLabel")?.let { configurationBuilder.primaryButtonLabel(it) }
+      args.getStringList("paymentMethodOrder")?.let { configurationBuilder.paymentMethodOrder(it) }
+
+      configurationBuilder.paymentMethodLayout(
+        mapToPaymentMethodLayout(args.getString("paymentMethodLayout")),
+      )
+
+      mapToTermsDisplay(args)?.let { configurationBuilder.termsDisplay(it) }
+
+      return PaymentSheetSettings(
+        configuration = configurationBuilder.build(),
+        paymentIntentClientSecret = args.getString("paymentIntentClientSecret").orEmpty(),
+        setupIntentClientSecret = args.getString("setupIntentClientSecret").orEmpty(),
+        intentConfiguration = intentConfiguration,
+        customFlow = args.getBooleanOr("customFlow", false),
+        useConfirmationTokenCallback = intentConfigMap?.hasKey("confirmationTokenConfirmHandler") == true,
+      )
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package com.reactnativestripesdk
+
+import android.os.SystemClock
+import com.reactnativestripesdk.utils.SingleFlight
+import com.stripe.android.model.StripeIntent
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Recently retrieved payment and setup intents, keyed by client secret.
+ *
+ * Concurrent retrievals of the same client secret always share one request. A caller that passes a
+ * `maxAge` also gets a stored intent if it was retrieved within that many milliseconds. Call
+ * [invalidate] whenever an intent may have changed on the server, such as when it's confirmed or
+ * its next action is handled; retrievals that were already running then don't store their result.
+ */
+internal class RetrievedIntentCache(
+  private val maxEntries: Int = DEFAULT_MAX_ENTRIES,
+  private val clock: () -> Long = SystemClock::elapsedRealtime,
+) {
+  /** Hit and miss counts for retrievals that allowed a stored intent. */
+  data class Stats(
+    val hits: Long,
+    val misses: Long,
+  ) {
+    val hitRate: Double
+      get() = if (hits + misses == 0L) 0.0 else hits.toDouble() / (hits + misses)
+  }
+
+  private class Entry(
+    val intent: StripeIntent,
+    val retrievedAtMs: Long,
+  )
+
+  // Only kept while a retrieval for the client secret is running. Bumped by every invalidation, so
+  // a retrieval started before one is neither shared with nor stored for callers after it.
+  private class InFlight {
+    var generation = 0L
+    var callers = 0
+  }
+
+  private val lock = Any()
+  private val entries =
+    object : LinkedHashMap<String, Entry>(16, 0.75f, true) {
+      override fun removeEldestEntry(eldest: MutableMap.MutableEntry<String, Entry>?) = size > maxEntries
+    }
+
+  private val inFlight = HashMap<String, InFlight>()
+  private val calls = SingleFlight<Pair<String, Long>, StripeIntent>()
+  private val hits = AtomicLong()
+  private val misses = AtomicLong()
+
+  /** For tests and debugging only; not exposed to JS. */
+  val stats: Stats
+    get() = Stats(hits.get(), misses.get())
+
+  suspend fun <T : StripeIntent> get(
+    clientSecret: String,
+    maxAgeMs: Long,
+    retrieve: suspend () -> T,
+  ): T {
+    val (state, requestGeneration) =
+      synchronized(lock) {
+        if (maxAgeMs > 0) {
+          val entry = entries[clientSecret]
+          if (entry != null && clock() - entry.retrievedAtMs <= maxAgeMs) {
+            hits.incrementAndGet()
+            @Suppress("UNCHECKED_CAST")
+            return entry.intent as T
+          }
+          misses.incrementAndGet()
+        }
+        val running = inFlight.getOrPut(clientSecret) { InFlight() }
+        running.callers++
+        running to running.generation
+      }
+
+    try {
+      @Suppress("UNCHECKED_CAST")
+      return calls.run(clientSecret to requestGeneration) {
+        retrieve().also { intent ->
+          synchronized(lock) {
+            if (state.generation == requestGeneration) {
+              entries[clientSecret] = Entry(intent, clock())
+            }
+          }
+        }
+      } as T
+    } finally {
+      synchronized(lock) {
+        if (--state.callers == 0) {
+          inFlight.remove(clientSecret)
+        }
+      }
+    }
+  }
+
+  fun invalidate(clientSecret: String) {
+    synchronized(lock) {
+      inFlight[clientSecret]?.let { it.generation++ }
+      entries.remove(clientSecret)
+    }
+  }
+
+  private companion object {
+    const val DEFAULT_MAX_ENTRIES = 16
+  }
+}
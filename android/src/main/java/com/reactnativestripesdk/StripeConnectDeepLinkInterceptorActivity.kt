@@ -10,14 +10,15 @@ import android.util.Log
  * before they reach React Native's Linking module.
  *
  * This prevents Expo Router from receiving the URL and dismissing the current screen.
- * The URL is stored in StripeSdkModule's internal storage and retrieved via polling.
+ * The URL is stored in StripeSdkModule's internal storage and JS is told to collect it.
  *
  * HOW IT WORKS:
  * 1. Android launches this Activity when a stripe-connect:// URL is opened
- * 2. onCreate() extracts the URL and stores it via StripeSdkModule.storeStripeConnectDeepLink()
+ * 2. onCreate() extracts the URL and stores it via StripeSdkModule.storeStripeConnectDeepLink(),
+ *    which sends the onStripeConnectDeepLinkReceived event
  * 3. Launches an Intent to bring the main app to the foreground
  * 4. The Activity immediately finishes without showing any UI
- * 5. JavaScript polls for URLs via NativeStripeSdk.pollAndClearPendingStripeConnectUrls()
+ * 5. JavaScript collects the URLs via NativeStripeSdk.pollAndClearPendingStripeConnectUrls()
  *
  * MANIFEST CONFIGURATION:
  * The AndroidManifest.xml declares this Activity with:
@@ -32,7 +32,10 @@ import com.reactnativestripesdk.utils.ConfirmPaymentErrorType
 import com.reactnativestripesdk.utils.CreateTokenErrorType
 import com.reactnativestripesdk.utils.DefaultActivityLifecycleCallbacks
 import com.reactnativestripesdk.utils.ErrorType
+import com.reactnativestripesdk.utils.FieldProjection
 import com.reactnativestripesdk.utils.GooglePayErrorType
+import com.reactnativestripesdk.utils.ModuleScope
+import com.reactnativestripesdk.utils.PendingCalls
 import com.reactnativestripesdk.utils.RetrievePaymentIntentErrorType
 import com.reactnativestripesdk.utils.RetrieveSetupIntentErrorType
 import com.reactnativestripesdk.utils.StripeUIManager
@@ -42,7 +45,9 @@ import com.reactnativestripesdk.utils.createMissingActivityError
 import com.reactnativestripesdk.utils.createMissingInitError
 import com.reactnativestripesdk.utils.createResult
 import com.reactnativestripesdk.utils.getBooleanOr
+import com.reactnativestripesdk.utils.getIntOr
 import com.reactnativestripesdk.utils.getIntOrNull
+import com.reactnativestripesdk.utils.getLongOr
 import com.reactnativestripesdk.utils.getLongOrNull
 import com.reactnativestripesdk.utils.getValOr
 import com.reactnativestripesdk.utils.mapFromPaymentIntentResult
@@ -77,11 +82,12 @@ import com.stripe.android.model.SetupIntent
 import com.stripe.android.model.Token
 import com.stripe.android.payments.bankaccount.CollectBankAccountConfiguration
 import com.stripe.android.paymentsheet.PaymentSheet
-import kotlinx.coroutines.CompletableDeferred
-import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.CancellationException
 import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.launch
 import org.json.JSONObject
+import java.lang.ref.WeakReference
+import java.lang.reflect.Method
+import java.util.concurrent.ConcurrentLinkedQueue
 
 internal const val CHECKOUT_UNAVAILABLE_MESSAGE =
   "Checkout Sessions are temporarily unavailable while the native integration is being rebuilt."
@@ -119,19 +125,24 @@ class StripeSdkModule(
   private var customerSheetManager: CustomerSheetManager? = null
   private var linkControllerManager: LinkControllerManager? = null
 
-  internal var embeddedIntentCreationCallback = CompletableDeferred<ReadableMap>()
-  internal var embeddedConfirmationTokenCreationCallback = CompletableDeferred<ReadableMap>()
-  internal var customPaymentMethodResultCallback = CompletableDeferred<ReadableMap>()
-  internal var paymentSheetConfirmationTokenCreationCallback = CompletableDeferred<ReadableMap>()
+  // Calls waiting on a confirm handler or custom payment method handler in JS, from PaymentSheet and
+  // embedded elements alike. The request id sent with each event comes back with its result.
+  internal val intentCreationCalls = PendingCalls<ReadableMap>()
+  internal val confirmationTokenCreationCalls = PendingCalls<ReadableMap>()
 
-  internal var composeCompatView: StripeAbstractComposeView.CompatView? = null
+  // These wait on the customer finishing the custom payment method, so they don't time out.
+  internal val customPaymentMethodResultCalls = PendingCalls<ReadableMap>(timeoutMs = 0)
 
-  // Storage for pending stripe-connect:// deep link URLs to prevent Expo Router from receiving them
-  private val pendingStripeConnectUrls = mutableListOf<String>()
-  private val pendingUrlsLock = Any()
+  internal var composeCompatView: StripeAbstractComposeView.CompatView? = null
 
   val eventEmitter: EventEmitterCompat by lazy { EventEmitterCompat(reactApplicationContext) }
 
+  /** Runs the module's background work; cancelled when the module is invalidated. */
+  internal val moduleScope = ModuleScope()
+
+  /** Intents retrieved by [retrievePaymentIntent] and [retrieveSetupIntent]. */
+  internal val retrievedIntents = RetrievedIntentCache()
+
   private val mActivityEventListener =
     object : BaseActivityEventListener() {
       override fun onActivityResult(
@@ -161,11 +172,17 @@ class StripeSdkModule(
 
   init {
     reactContext.addActivityEventListener(mActivityEventListener)
+    activeModule = WeakReference(this)
   }
 
   override fun invalidate() {
     super.invalidate()
 
+    moduleScope.cancel()
+    if (activeModule?.get() === this) {
+      activeModule = null
+    }
+
     stripeUIManagers.forEach { it.destroy() }
     stripeUIManagers.clear()
     linkControllerManager?.destroy()
@@ -255,6 +272,13 @@ class StripeSdkModule(
       configure3dSecure(it)
     }
 
+    val iconOptions = params.getMap("androidIconOptions")
+    IconFileStore.configure(
+      reactApplicationContext,
+      IconDelivery.fromString(iconOptions?.getString("delivery")),
+    )
+    DrawableIconCache.setMaxPixels(iconOptions.getIntOr("maxPixels", 0))
+
     this.publishableKey = publishableKey
     AddressLauncherManager.publishableKey = publishableKey
 
@@ -285,9 +309,8 @@ class StripeSdkModule(
     promise: Promise,
   ) {
     if (paymentSheetManager != null) {
-      UiThreadUtil.runOnUiThread {
-        paymentSheetManager?.configure(params, promise)
-      }
+      // Parses the params here and only applies them on the UI thread.
+      paymentSheetManager?.configure(params, promise)
     } else {
       paymentSheetManager =
         PaymentSheetManager(reactApplicationContext, params, promise).also {
@@ -338,14 +361,11 @@ class StripeSdkModule(
     params: ReadableMap,
     promise: Promise,
   ) {
-    embeddedIntentCreationCallback.complete(params)
-
-    if (paymentSheetManager == null) {
+    if (intentCreationCalls.complete(params.getString("requestId"), params)) {
+      promise.resolve(null)
+    } else {
       promise.resolve(PaymentSheetManager.createMissingInitError())
-      return
     }
-
-    paymentSheetManager?.paymentSheetIntentCreationCallback?.complete(params)
   }
 
   @ReactMethod
@@ -353,10 +373,7 @@ class StripeSdkModule(
     result: ReadableMap?,
     promise: Promise?,
   ) {
-    // Complete the deferred with the result from JavaScript
-    customPaymentMethodResultCallback.complete(result ?: Arguments.createMap())
-    // Reset for next use
-    customPaymentMethodResultCallback = CompletableDeferred()
+    customPaymentMethodResultCalls.complete(result?.getString("requestId"), result ?: Arguments.createMap())
     promise?.resolve(null)
   }
 
@@ -365,15 +382,11 @@ class StripeSdkModule(
     params: ReadableMap,
     promise: Promise,
   ) {
-    embeddedConfirmationTokenCreationCallback.complete(params)
-    paymentSheetConfirmationTokenCreationCallback.complete(params)
-
-    if (paymentSheetManager == null) {
+    if (confirmationTokenCreationCalls.complete(params.getString("requestId"), params)) {
+      promise.resolve(null)
+    } else {
       promise.resolve(PaymentSheetManager.createMissingInitError())
-      return
     }
-
-    paymentSheetManager?.paymentSheetConfirmationTokenCreationCallback?.complete(params)
   }
 
   @ReactMethod
@@ -406,7 +419,8 @@ class StripeSdkModule(
             }
 
             override fun onSuccess(result: PaymentMethod) {
-              val paymentMethodMap: WritableMap = mapFromPaymentMethod(result)
+              val paymentMethodMap: WritableMap =
+                mapFromPaymentMethod(result, FieldProjection.fromOptions(options))
               promise.resolve(createResult("paymentMethod", paymentMethodMap))
             }
           },
@@ -461,7 +475,7 @@ class StripeSdkModule(
     promise: Promise,
   ) {
     getValOr(params, "personalId", null)?.let {
-      CoroutineScope(Dispatchers.IO).launch {
+      moduleScope.launch {
         runCatching {
           val token = stripe.createPiiTokenSynchronous(it, null, stripeAccountId)
           promise.resolve(createResult("token", mapFromToken(token)))
@@ -499,7 +513,7 @@ class StripeSdkModule(
         routingNumber = routingNumber,
         accountHolderType = mapToBankAccountType(accountHolderType),
       )
-    CoroutineScope(Dispatchers.IO).launch {
+    moduleScope.launch {
       runCatching {
         val token =
           stripe.createBankAccountTokenSynchronous(bankAccountParams, null, stripeAccountId)
@@ -539,7 +553,7 @@ class StripeSdkModule(
         currency = getValOr(params, "currency", null),
       )
 
-    CoroutineScope(Dispatchers.IO).launch {
+    moduleScope.launch {
       try {
         val token =
           stripe.createCardTokenSynchronous(
@@ -582,6 +596,7 @@ class StripeSdkModule(
     returnUrl: String?,
     promise: Promise,
   ) {
+    retrievedIntents.invalidate(paymentIntentClientSecret)
     unregisterStripeUIManager(paymentSheetManager)
     paymentLauncherManager =
       PaymentLauncherManager
@@ -603,6 +618,7 @@ class StripeSdkModule(
     returnUrl: String?,
     promise: Promise,
   ) {
+    retrievedIntents.invalidate(setupIntentClientSecret)
     unregisterStripeUIManager(paymentLauncherManager)
     paymentLauncherManager =
       PaymentLauncherManager
@@ -644,6 +660,7 @@ class StripeSdkModule(
     options: ReadableMap?,
     promise: Promise,
   ) {
+    retrievedIntents.invalidate(paymentIntentClientSecret)
     val paymentMethodData = params?.getMap("paymentMethodData")
     val paymentMethodType =
       if (params != null) {
@@ -695,6 +712,7 @@ class StripeSdkModule(
             stripeAccountId,
             paymentIntentClientSecret,
             confirmParams,
+            FieldProjection.fromOptions(options),
           ).also {
             registerStripeUIManager(it)
             it.present(promise)
@@ -707,12 +725,18 @@ class StripeSdkModule(
   @ReactMethod
   override fun retrievePaymentIntent(
     clientSecret: String,
+    options: ReadableMap?,
     promise: Promise,
   ) {
-    CoroutineScope(Dispatchers.IO).launch {
+    val fields = FieldProjection.fromOptions(options)
+    val maxAgeMs = options.getLongOr("maxAge", 0)
+    moduleScope.launch {
       try {
-        val paymentIntent = stripe.retrievePaymentIntentSynchronous(clientSecret)
-        promise.resolve(createResult("paymentIntent", mapFromPaymentIntentResult(paymentIntent)))
+        val paymentIntent =
+          retrievedIntents.get(clientSecret, maxAgeMs) {
+            stripe.retrievePaymentIntentSynchronous(clientSecret)
+          }
+        promise.resolve(createResult("paymentIntent", mapFromPaymentIntentResult(paymentIntent, fields)))
       } catch (e: Exception) {
         promise.resolve(createError(RetrievePaymentIntentErrorType.Unknown.toString(), e))
       }
@@ -722,12 +746,68 @@ class StripeSdkModule(
   @ReactMethod
   override fun retrieveSetupIntent(
     clientSecret: String,
+    options: ReadableMap?,
+    promise: Promise,
+  ) {
+    val fields = FieldProjection.fromOptions(options)
+    val maxAgeMs = options.getLongOr("maxAge", 0)
+    moduleScope.launch {
+      try {
+        val setupIntent =
+          retrievedIntents.get(clientSecret, maxAgeMs) {
+            stripe.retrieveSetupIntentSynchronous(clientSecret)
+          }
+        promise.resolve(createResult("setupIntent", mapFromSetupIntentResult(setupIntent, fields)))
+      } catch (e: Exception) {
+        promise.resolve(createError(RetrieveSetupIntentErrorType.Unknown.toString(), e))
+      }
+    }
+  }
+
+  @ReactMethod
+  override fun waitForPaymentIntentStatus(
+    clientSecret: String,
+    options: ReadableMap?,
+    promise: Promise,
+  ) {
+    val fields = FieldProjection.fromOptions(options)
+    val poller = IntentStatusPoller.fromOptions(options)
+    moduleScope.launch {
+      try {
+        val paymentIntent =
+          poller.poll {
+            retrievedIntents.get(clientSecret, 0) {
+              stripe.retrievePaymentIntentSynchronous(clientSecret)
+            }
+          }
+        promise.resolve(createResult("paymentIntent", mapFromPaymentIntentResult(paymentIntent, fields)))
+      } catch (e: CancellationException) {
+        throw e
+      } catch (e: Exception) {
+        promise.resolve(createError(RetrievePaymentIntentErrorType.Unknown.toString(), e))
+      }
+    }
+  }
+
+  @ReactMethod
+  override fun waitForSetupIntentStatus(
+    clientSecret: String,
+    options: ReadableMap?,
     promise: Promise,
   ) {
-    CoroutineScope(Dispatchers.IO).launch {
+    val fields = FieldProjection.fromOptions(options)
+    val poller = IntentStatusPoller.fromOptions(options)
+    moduleScope.launch {
       try {
-        val setupIntent = stripe.retrieveSetupIntentSynchronous(clientSecret)
-        promise.resolve(createResult("setupIntent", mapFromSetupIntentResult(setupIntent)))
+        val setupIntent =
+          poller.poll {
+            retrievedIntents.get(clientSecret, 0) {
+              stripe.retrieveSetupIntentSynchronous(clientSecret)
+            }
+          }
+        promise.resolve(createResult("setupIntent", mapFromSetupIntentResult(setupIntent, fields)))
+      } catch (e: CancellationException) {
+        throw e
       } catch (e: Exception) {
         promise.resolve(createError(RetrieveSetupIntentErrorType.Unknown.toString(), e))
       }
@@ -741,6 +821,7 @@ class StripeSdkModule(
     options: ReadableMap,
     promise: Promise,
   ) {
+    retrievedIntents.invalidate(setupIntentClientSecret)
     val paymentMethodType =
       getValOr(params, "paymentMethodType")?.let { mapToPaymentMethodType(it) } ?: run {
         promise.resolve(
@@ -780,6 +861,7 @@ class StripeSdkModule(
             stripeAccountId,
             setupIntentClientSecret,
             confirmParams,
+            FieldProjection.fromOptions(options),
           ).also {
             registerStripeUIManager(it)
             it.present(promise)
@@ -1206,7 +1288,7 @@ class StripeSdkModule(
 
     unregisterStripeUIManager(customerSheetManager)
     customerSheetManager =
-      CustomerSheetManager(reactApplicationContext, params, customerAdapterOverrides, promise).also {
+      CustomerSheetManager(reactApplicationContext, params, customerAdapterOverrides, promise, moduleScope).also {
         registerStripeUIManager(it)
       }
   }
@@ -1232,6 +1314,7 @@ class StripeSdkModule(
   @ReactMethod
   override fun customerAdapterFetchPaymentMethodsCallback(
     paymentMethodJsonObjects: ReadableArray,
+    requestId: String?,
     promise: Promise,
   ) {
     customerSheetManager?.let { fragment ->
@@ -1246,7 +1329,7 @@ class StripeSdkModule(
           )
         }
       }
-      fragment.customerAdapter?.fetchPaymentMethodsCallback?.complete(paymentMethods)
+      fragment.customerAdapter?.fetchPaymentMethodsCalls?.complete(requestId, paymentMethods)
     } ?: run {
       promise.resolve(CustomerSheetManager.createMissingInitError())
       return
@@ -1256,6 +1339,7 @@ class StripeSdkModule(
   @ReactMethod
   override fun customerAdapterAttachPaymentMethodCallback(
     paymentMethodJson: ReadableMap,
+    requestId: String?,
     promise: Promise,
   ) {
     customerSheetManager?.let {
@@ -1268,7 +1352,7 @@ class StripeSdkModule(
         )
         return
       }
-      it.customerAdapter?.attachPaymentMethodCallback?.complete(paymentMethod)
+      it.customerAdapter?.attachPaymentMethodCalls?.complete(requestId, paymentMethod)
     } ?: run {
       promise.resolve(CustomerSheetManager.createMissingInitError())
       return
@@ -1278,6 +1362,7 @@ class StripeSdkModule(
   @ReactMethod
   override fun customerAdapterDetachPaymentMethodCallback(
     paymentMethodJson: ReadableMap,
+    requestId: String?,
     promise: Promise,
   ) {
     customerSheetManager?.let {
@@ -1290,7 +1375,7 @@ class StripeSdkModule(
         )
         return
       }
-      it.customerAdapter?.detachPaymentMethodCallback?.complete(paymentMethod)
+      it.customerAdapter?.detachPaymentMethodCalls?.complete(requestId, paymentMethod)
     } ?: run {
       promise.resolve(CustomerSheetManager.createMissingInitError())
       return
@@ -1298,9 +1383,12 @@ class StripeSdkModule(
   }
 
   @ReactMethod
-  override fun customerAdapterSetSelectedPaymentOptionCallback(promise: Promise) {
+  override fun customerAdapterSetSelectedPaymentOptionCallback(
+    requestId: String?,
+    promise: Promise,
+  ) {
     customerSheetManager?.let {
-      it.customerAdapter?.setSelectedPaymentOptionCallback?.complete(Unit)
+      it.customerAdapter?.setSelectedPaymentOptionCalls?.complete(requestId, Unit)
     } ?: run {
       promise.resolve(CustomerSheetManager.createMissingInitError())
       return
@@ -1310,10 +1398,11 @@ class StripeSdkModule(
   @ReactMethod
   override fun customerAdapterFetchSelectedPaymentOptionCallback(
     paymentOption: String?,
+    requestId: String?,
     promise: Promise,
   ) {
     customerSheetManager?.let {
-      it.customerAdapter?.fetchSelectedPaymentOptionCallback?.complete(paymentOption)
+      it.customerAdapter?.fetchSelectedPaymentOptionCalls?.complete(requestId, paymentOption)
     } ?: run {
       promise.resolve(CustomerSheetManager.createMissingInitError())
       return
@@ -1323,10 +1412,11 @@ class StripeSdkModule(
   @ReactMethod
   override fun customerAdapterSetupIntentClientSecretForCustomerAttachCallback(
     clientSecret: String,
+    requestId: String?,
     promise: Promise,
   ) {
     customerSheetManager?.let {
-      it.customerAdapter?.setupIntentClientSecretForCustomerAttachCallback?.complete(clientSecret)
+      it.customerAdapter?.setupIntentClientSecretForCustomerAttachCalls?.complete(requestId, clientSecret)
     } ?: run {
       promise.resolve(CustomerSheetManager.createMissingInitError())
       return
@@ -1536,7 +1626,7 @@ class StripeSdkModule(
     filename: String?,
     promise: Promise,
   ) {
-    CoroutineScope(Dispatchers.IO).launch {
+    moduleScope.launch {
       try {
         // Download file
         val client = okhttp3.OkHttpClient()
@@ -1659,18 +1749,16 @@ class StripeSdkModule(
     url: String,
     promise: Promise,
   ) {
-    synchronized(pendingUrlsLock) {
-      pendingStripeConnectUrls.add(url)
-    }
+    Companion.storeStripeConnectDeepLink(url)
     promise.resolve(null)
   }
 
   /**
-   * Poll for pending stripe-connect:// deep link URLs.
-   * Returns all pending URLs and clears the queue.
+   * Returns all pending stripe-connect:// deep link URLs and clears the queue.
    *
    * URLs are captured by StripeConnectDeepLinkInterceptor Activity, which prevents
-   * Expo Router from receiving the URLs and dismissing the current screen.
+   * Expo Router from receiving the URLs and dismissing the current screen. JS calls this
+   * when it receives onStripeConnectDeepLinkReceived, rather than on a timer.
    */
   @ReactMethod
   override fun pollAndClearPendingStripeConnectUrls(promise: Promise) {
@@ -1685,10 +1773,7 @@ class StripeSdkModule(
 
       // Legacy: Support old MainActivity pattern (deprecated, will be removed in future version)
       // This maintains backward compatibility for apps that implemented the manual pattern
-      try {
-        val mainActivityClass = Class.forName("com.stripe.examplestripeconnect.MainActivity")
-        val getPendingUrlsMethod = mainActivityClass.getMethod("getPendingUrls")
-
+      legacyGetPendingUrls?.let { getPendingUrlsMethod ->
         @Suppress("UNCHECKED_CAST")
         val mainActivityUrls = getPendingUrlsMethod.invoke(null) as? List<String>
         if (!mainActivityUrls.isNullOrEmpty()) {
@@ -1702,8 +1787,6 @@ class StripeSdkModule(
             urlsArray.pushString(url)
           }
         }
-      } catch (e: Exception) {
-        // Expected when not using deprecated pattern - this is fine
       }
 
       promise.resolve(urlsArray)
@@ -1713,6 +1796,16 @@ class StripeSdkModule(
     }
   }
 
+  /**
+   * Tells JS a stripe-connect:// deep link was captured, so it can fetch it with
+   * pollAndClearPendingStripeConnectUrls().
+   */
+  private fun notifyStripeConnectDeepLinkReceived() {
+    if (reactApplicationContext.hasActiveReactInstance()) {
+      eventEmitter.emitOnStripeConnectDeepLinkReceived()
+    }
+  }
+
   override fun addListener(eventType: String?) {
     // noop, iOS only
   }
@@ -1951,23 +2044,36 @@ class StripeSdkModule(
 
     // SDK-managed storage for pending stripe-connect:// URLs
     // This is static because deep links can arrive before ReactContext is available
-    private val pendingConnectUrls = mutableListOf<String>()
-    private val urlsLock = Any()
+    private val pendingConnectUrls = ConcurrentLinkedQueue<String>()
+
+    // The module that's told when a URL arrives, so JS can collect it without polling
+    @Volatile
+    private var activeModule: WeakReference<StripeSdkModule>? = null
+
+    // Looked up once: the class is either in the app or it isn't, and a failed lookup throws
+    private val legacyGetPendingUrls: Method? by lazy {
+      try {
+        Class.forName("com.stripe.examplestripeconnect.MainActivity").getMethod("getPendingUrls")
+      } catch (e: Exception) {
+        // Expected when not using deprecated pattern - this is fine
+        null
+      }
+    }
 
     /**
      * Store a stripe-connect:// deep link URL.
      * Called automatically by StripeConnectDeepLinkInterceptor.
      * Can also be called manually from MainActivity if users implement custom handling.
      *
-     * This method is thread-safe and can be called from any thread.
+     * This method is thread-safe and can be called from any thread. If the module is running, JS
+     * is sent onStripeConnectDeepLinkReceived so it collects the URL right away.
      *
      * @param url The stripe-connect:// URL to store
      */
     @JvmStatic
     fun storeStripeConnectDeepLink(url: String) {
-      synchronized(urlsLock) {
-        pendingConnectUrls.add(url)
-      }
+      pendingConnectUrls.offer(url)
+      activeModule?.get()?.notifyStripeConnectDeepLinkReceived()
     }
 
     /**
@@ -1978,10 +2084,9 @@ class StripeSdkModule(
      */
     @JvmStatic
     internal fun retrieveAndClearPendingUrls(): List<String> {
-      synchronized(urlsLock) {
-        val urls = pendingConnectUrls.toList()
-        pendingConnectUrls.clear()
-        return urls
+      val urls = ArrayList<String>()
+      while (true) {
+        urls.add(pendingConnectUrls.poll() ?: return urls)
       }
     }
   }
@@ -0,0 +1,99 @@
+package com.reactnativestripesdk.customersheet
+
+import android.os.SystemClock
+import com.reactnativestripesdk.utils.SingleFlight
+import com.stripe.android.model.PaymentMethod
+
+/**
+ * Payment method lists fetched through a JS `CustomerAdapter`, keyed by customer id.
+ *
+ * Concurrent fetches for the same customer always share one JS call. A caller that passes a
+ * `maxAge` also gets the stored list if it was fetched within that many milliseconds, and one that
+ * allows stale lists gets any stored list straight away while a new one is fetched. Call
+ * [invalidate] whenever a customer's payment methods may have changed; fetches for that customer
+ * that were already running then don't store their result.
+ */
+internal class CustomerPaymentMethodsCache(
+  private val clock: () -> Long = SystemClock::elapsedRealtime,
+) {
+  private class Entry(
+    val paymentMethods: List<PaymentMethod>,
+    val fetchedAtMs: Long,
+  )
+
+  /** What [get] found for a customer. */
+  class Lookup(
+    val paymentMethods: List<PaymentMethod>,
+    /** Whether the list is older than the caller's `maxAge` and should be fetched again. */
+    val isStale: Boolean,
+  )
+
+  // Only kept while a fetch for the customer is running. Bumped by every invalidation, so a fetch
+  // started before one is neither shared with nor stored for callers after it.
+  private class InFlight {
+    var generation = 0L
+    var callers = 0
+  }
+
+  private val lock = Any()
+  private val entries = HashMap<String, Entry>()
+  private val inFlight = HashMap<String, InFlight>()
+  private val calls = SingleFlight<Pair<String, Long>, List<PaymentMethod>>()
+
+  /**
+   * Returns the stored list for [customerId], or null if there isn't one, or if it's older than
+   * [maxAgeMs] and [allowStale] is false.
+   */
+  fun get(
+    customerId: String,
+    maxAgeMs: Long,
+    allowStale: Boolean,
+  ): Lookup? =
+    synchronized(lock) {
+      val entry = entries[customerId] ?: return null
+      val isStale = clock() - entry.fetchedAtMs > maxAgeMs
+      if (isStale && !allowStale) null else Lookup(entry.paymentMethods, isStale)
+    }
+
+  /** Runs [fetch], or joins the one already running for [customerId], and stores its result. */
+  suspend fun refresh(
+    customerId: String,
+    fetch: suspend () -> List<PaymentMethod>,
+  ): List<PaymentMethod> {
+    val (state, requestGeneration) =
+      synchronized(lock) {
+        val running = inFlight.getOrPut(customerId) { InFlight() }
+        running.callers++
+        running to running.generation
+      }
+    try {
+      return calls.run(customerId to requestGeneration) {
+        fetch().also { paymentMethods ->
+          synchronized(lock) {
+            if (state.generation == requestGeneration) {
+              entries[customerId] = Entry(paymentMethods, clock())
+            }
+          }
+        }
+      }
+    } finally {
+      synchronized(lock) {
+        if (--state.callers == 0) {
+          inFlight.remove(customerId)
+        }
+      }
+    }
+  }
+
+  fun invalidate(customerId: String) {
+    synchronized(lock) {
+      inFlight[customerId]?.let { it.generation++ }
+      entries.remove(customerId)
+    }
+  }
+
+  companion object {
+    /** Shared by every CustomerSheet in the process, so lists outlive a single `initCustomerSheet`. */
+    val shared = CustomerPaymentMethodsCache()
+  }
+}
@@ -16,17 +16,19 @@ import com.reactnativestripesdk.ReactNativeCustomerSessionProvider
 import com.reactnativestripesdk.buildBillingDetails
 import com.reactnativestripesdk.buildBillingDetailsCollectionConfiguration
 import com.reactnativestripesdk.buildPaymentSheetAppearance
-import com.reactnativestripesdk.convertDrawableToBase64
+import com.reactnativestripesdk.convertDrawableToIcon
 import com.reactnativestripesdk.mapToCardBrandAcceptance
 import com.reactnativestripesdk.utils.CreateTokenErrorType
 import com.reactnativestripesdk.utils.DefaultActivityLifecycleCallbacks
 import com.reactnativestripesdk.utils.ErrorType
 import com.reactnativestripesdk.utils.KeepJsAwakeTask
+import com.reactnativestripesdk.utils.ModuleScope
 import com.reactnativestripesdk.utils.PaymentSheetAppearanceException
 import com.reactnativestripesdk.utils.StripeUIManager
 import com.reactnativestripesdk.utils.createError
 import com.reactnativestripesdk.utils.getBooleanOr
 import com.reactnativestripesdk.utils.getIntegerList
+import com.reactnativestripesdk.utils.getLongOr
 import com.reactnativestripesdk.utils.getStringList
 import com.reactnativestripesdk.utils.mapFromPaymentMethod
 import com.reactnativestripesdk.utils.mapToPreferredNetworks
@@ -39,9 +41,7 @@ import com.stripe.android.customersheet.CustomerSheetResult
 import com.stripe.android.customersheet.PaymentOptionSelection
 import com.stripe.android.model.PaymentMethod
 import com.stripe.android.paymentsheet.PaymentSheet
-import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.launch
 
 @OptIn(ReactNativeSdkInternal::class, ExperimentalAllowsRemovalOfLastSavedPaymentMethodApi::class)
 class CustomerSheetManager(
@@ -49,6 +49,7 @@ class CustomerSheetManager(
   private var arguments: ReadableMap,
   private var customerAdapterOverrides: ReadableMap,
   private var initPromise: Promise,
+  private val moduleScope: ModuleScope,
 ) : StripeUIManager(context) {
   private var customerSheet: CustomerSheet? = null
   internal var customerAdapter: ReactNativeCustomerAdapter? = null
@@ -142,6 +143,8 @@ class CustomerSheetManager(
           customerEphemeralKeySecret,
           setupIntentClientSecret,
           customerAdapterOverrides,
+          arguments.getMap("paymentMethodsCache"),
+          moduleScope,
         ).also { this.customerAdapter = it }
 
       customerSheet =
@@ -172,7 +175,7 @@ class CustomerSheetManager(
 
       is CustomerSheetResult.Selected -> {
         // Convert drawable asynchronously to avoid shared state issues
-        CoroutineScope(Dispatchers.Default).launch {
+        moduleScope.launch(Dispatchers.Default) {
           try {
             val promiseResult = createPaymentOptionResult(result.selection)
             resolvePresentPromise(promiseResult)
@@ -189,7 +192,7 @@ class CustomerSheetManager(
 
       is CustomerSheetResult.Canceled -> {
         // Convert drawable asynchronously to avoid shared state issues
-        CoroutineScope(Dispatchers.Default).launch {
+        moduleScope.launch(Dispatchers.Default) {
           try {
             val promiseResult = createPaymentOptionResult(result.selection)
             promiseResult.putMap(
@@ -258,7 +261,7 @@ class CustomerSheetManager(
   }
 
   internal fun retrievePaymentOptionSelection(promise: Promise) {
-    CoroutineScope(Dispatchers.IO).launch {
+    moduleScope.launch {
       runCatching {
         val result =
           customerSheet?.retrievePaymentOptionSelection()
@@ -323,6 +326,8 @@ class CustomerSheetManager(
       customerEphemeralKeySecret: String,
       setupIntentClientSecret: String?,
       customerAdapterOverrideParams: ReadableMap?,
+      paymentMethodsCacheParams: ReadableMap?,
+      scope: ModuleScope,
     ): ReactNativeCustomerAdapter {
       val ephemeralKeyProvider = {
         CustomerAdapter.Result.success(
@@ -366,6 +371,11 @@ class CustomerSheetManager(
           customerAdapterOverrideParams.getBooleanOr("fetchSelectedPaymentOption", false),
         overridesSetupIntentClientSecretForCustomerAttach =
           customerAdapterOverrideParams.getBooleanOr("setupIntentClientSecretForCustomerAttach", false),
+        customerId = customerId,
+        scope = scope,
+        paymentMethodsCacheMaxAgeMs = paymentMethodsCacheParams.getLongOr("maxAge", 0),
+        paymentMethodsCacheStaleWhileRevalidate =
+          paymentMethodsCacheParams.getBooleanOr("staleWhileRevalidate", false),
       )
     }
 
@@ -413,7 +423,7 @@ class CustomerSheetManager(
       drawable: Drawable,
       paymentMethod: PaymentMethod?,
     ): WritableMap {
-      val imageString = convertDrawableToBase64(drawable)
+      val imageString = convertDrawableToIcon(drawable)
 
       val result = Arguments.createMap()
       val paymentOption =
@@ -3,9 +3,14 @@ package com.reactnativestripesdk
 
 import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.ReactApplicationContext
+import com.facebook.react.bridge.WritableMap
+import com.reactnativestripesdk.customersheet.CustomerPaymentMethodsCache
+import com.reactnativestripesdk.utils.ModuleScope
+import com.reactnativestripesdk.utils.PendingCalls
 import com.stripe.android.customersheet.CustomerAdapter
 import com.stripe.android.model.PaymentMethod
-import kotlinx.coroutines.CompletableDeferred
+import com.stripe.android.model.PaymentMethodUpdateParams
+import java.util.concurrent.TimeoutException
 
 class ReactNativeCustomerAdapter(
   val context: ReactApplicationContext,
@@ -16,51 +21,117 @@ class ReactNativeCustomerAdapter(
   private val overridesSetSelectedPaymentOption: Boolean,
   private val overridesFetchSelectedPaymentOption: Boolean,
   private val overridesSetupIntentClientSecretForCustomerAttach: Boolean,
+  private val customerId: String,
+  private val scope: ModuleScope,
+  private val paymentMethodsCacheMaxAgeMs: Long = 0,
+  private val paymentMethodsCacheStaleWhileRevalidate: Boolean = false,
 ) : CustomerAdapter by adapter {
   private val stripeSdkModule = context.getNativeModule(StripeSdkModule::class.java)
+  private val paymentMethodsCache = CustomerPaymentMethodsCache.shared
 
-  internal var fetchPaymentMethodsCallback: CompletableDeferred<List<PaymentMethod>>? = null
-  internal var attachPaymentMethodCallback: CompletableDeferred<PaymentMethod>? = null
-  internal var detachPaymentMethodCallback: CompletableDeferred<PaymentMethod>? = null
-  internal var setSelectedPaymentOptionCallback: CompletableDeferred<Unit>? = null
-  internal var fetchSelectedPaymentOptionCallback: CompletableDeferred<String?>? = null
-  internal var setupIntentClientSecretForCustomerAttachCallback: CompletableDeferred<String>? = null
+  // Set once a SetupIntent has been handed out. CustomerSheet confirms it without calling
+  // attachPaymentMethod, so a stored list may be missing the new card from then on. This adapter
+  // always fetches from JS after that, and the list it fetches replaces the stored one.
+  @Volatile
+  private var mayHaveAttachedWithSetupIntent = false
+
+  // Calls waiting on the JS CustomerAdapter. The request id sent with each event comes back with
+  // the JS callback, so overlapping calls, like a background refresh of the payment methods while
+  // the sheet loads them, each get their own result.
+  internal val fetchPaymentMethodsCalls = PendingCalls<List<PaymentMethod>>()
+  internal val attachPaymentMethodCalls = PendingCalls<PaymentMethod>()
+  internal val detachPaymentMethodCalls = PendingCalls<PaymentMethod>()
+  internal val setSelectedPaymentOptionCalls = PendingCalls<Unit>()
+  internal val fetchSelectedPaymentOptionCalls = PendingCalls<String?>()
+  internal val setupIntentClientSecretForCustomerAttachCalls = PendingCalls<String>()
 
   override suspend fun retrievePaymentMethods(): CustomerAdapter.Result<List<PaymentMethod>> {
     if (overridesFetchPaymentMethods) {
-      CompletableDeferred<List<PaymentMethod>>().also {
-        fetchPaymentMethodsCallback = it
-        stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterFetchPaymentMethodsCallback()
-        val resultFromJavascript = it.await()
-        return CustomerAdapter.Result.success(resultFromJavascript)
+      val readsCache =
+        (paymentMethodsCacheMaxAgeMs > 0 || paymentMethodsCacheStaleWhileRevalidate) &&
+          !mayHaveAttachedWithSetupIntent
+      val cached =
+        if (readsCache) {
+          paymentMethodsCache.get(customerId, paymentMethodsCacheMaxAgeMs, paymentMethodsCacheStaleWhileRevalidate)
+        } else {
+          null
+        }
+      if (cached != null) {
+        if (cached.isStale) {
+          scope.launch {
+            try {
+              paymentMethodsCache.refresh(customerId, ::fetchPaymentMethodsFromJavascript)
+            } catch (_: TimeoutException) {
+              // The stale list stays in the cache, and the next load tries again.
+            }
+          }
+        }
+        return CustomerAdapter.Result.success(cached.paymentMethods)
+      }
+      return resultFromJavascript {
+        paymentMethodsCache.refresh(customerId, ::fetchPaymentMethodsFromJavascript)
       }
     }
 
     return adapter.retrievePaymentMethods()
   }
 
+  private suspend fun fetchPaymentMethodsFromJavascript(): List<PaymentMethod> =
+    fetchPaymentMethodsCalls.await { requestId ->
+      stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterFetchPaymentMethodsCallback(requestParams(requestId))
+    }
+
   override suspend fun attachPaymentMethod(paymentMethodId: String): CustomerAdapter.Result<PaymentMethod> {
+    // Invalidate before and after, so lists fetched while the customer changes aren't kept either.
+    paymentMethodsCache.invalidate(customerId)
+    try {
+      return attachPaymentMethodWithOverride(paymentMethodId)
+    } finally {
+      paymentMethodsCache.invalidate(customerId)
+    }
+  }
+
+  override suspend fun detachPaymentMethod(paymentMethodId: String): CustomerAdapter.Result<PaymentMethod> {
+    paymentMethodsCache.invalidate(customerId)
+    try {
+      return detachPaymentMethodWithOverride(paymentMethodId)
+    } finally {
+      paymentMethodsCache.invalidate(customerId)
+    }
+  }
+
+  override suspend fun updatePaymentMethod(
+    paymentMethodId: String,
+    params: PaymentMethodUpdateParams,
+  ): CustomerAdapter.Result<PaymentMethod> {
+    paymentMethodsCache.invalidate(customerId)
+    try {
+      return adapter.updatePaymentMethod(paymentMethodId, params)
+    } finally {
+      paymentMethodsCache.invalidate(customerId)
+    }
+  }
+
+  private suspend fun attachPaymentMethodWithOverride(paymentMethodId: String): CustomerAdapter.Result<PaymentMethod> {
     if (overridesAttachPaymentMethod) {
-      CompletableDeferred<PaymentMethod>().also {
-        attachPaymentMethodCallback = it
-        val params = Arguments.createMap().also { it.putString("paymentMethodId", paymentMethodId) }
-        stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterAttachPaymentMethodCallback(params)
-        val resultFromJavascript = it.await()
-        return CustomerAdapter.Result.success(resultFromJavascript)
+      return resultFromJavascript {
+        attachPaymentMethodCalls.await { requestId ->
+          val params = requestParams(requestId).also { it.putString("paymentMethodId", paymentMethodId) }
+          stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterAttachPaymentMethodCallback(params)
+        }
       }
     }
 
     return adapter.attachPaymentMethod(paymentMethodId)
   }
 
-  override suspend fun detachPaymentMethod(paymentMethodId: String): CustomerAdapter.Result<PaymentMethod> {
+  private suspend fun detachPaymentMethodWithOverride(paymentMethodId: String): CustomerAdapter.Result<PaymentMethod> {
     if (overridesDetachPaymentMethod) {
-      CompletableDeferred<PaymentMethod>().also {
-        detachPaymentMethodCallback = it
-        val params = Arguments.createMap().also { it.putString("paymentMethodId", paymentMethodId) }
-        stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterDetachPaymentMethodCallback(params)
-        val resultFromJavascript = it.await()
-        return CustomerAdapter.Result.success(resultFromJavascript)
+      return resultFromJavascript {
+        detachPaymentMethodCalls.await { requestId ->
+          val params = requestParams(requestId).also { it.putString("paymentMethodId", paymentMethodId) }
+          stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterDetachPaymentMethodCallback(params)
+        }
       }
     }
 
@@ -71,12 +142,11 @@ class ReactNativeCustomerAdapter(
     paymentOption: CustomerAdapter.PaymentOption?
   ): CustomerAdapter.Result<Unit> {
     if (overridesSetSelectedPaymentOption) {
-      CompletableDeferred<Unit>().also {
-        setSelectedPaymentOptionCallback = it
-        val params = Arguments.createMap().also { it.putString("paymentOption", paymentOption?.id) }
-        stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterSetSelectedPaymentOptionCallback(params)
-        val resultFromJavascript = it.await()
-        return CustomerAdapter.Result.success(resultFromJavascript)
+      return resultFromJavascript {
+        setSelectedPaymentOptionCalls.await { requestId ->
+          val params = requestParams(requestId).also { it.putString("paymentOption", paymentOption?.id) }
+          stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterSetSelectedPaymentOptionCallback(params)
+        }
       }
     }
 
@@ -85,17 +155,18 @@ class ReactNativeCustomerAdapter(
 
   override suspend fun retrieveSelectedPaymentOption(): CustomerAdapter.Result<CustomerAdapter.PaymentOption?> {
     if (overridesFetchSelectedPaymentOption) {
-      CompletableDeferred<String?>().also {
-        fetchSelectedPaymentOptionCallback = it
-        stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterFetchSelectedPaymentOptionCallback()
-        val resultFromJavascript = it.await()
-        return CustomerAdapter.Result.success(
-          if (resultFromJavascript != null) {
-            CustomerAdapter.PaymentOption.fromId(resultFromJavascript)
-          } else {
-            null
-          },
-        )
+      return resultFromJavascript {
+        val paymentOptionId =
+          fetchSelectedPaymentOptionCalls.await { requestId ->
+            stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterFetchSelectedPaymentOptionCallback(
+              requestParams(requestId),
+            )
+          }
+        if (paymentOptionId != null) {
+          CustomerAdapter.PaymentOption.fromId(paymentOptionId)
+        } else {
+          null
+        }
       }
     }
 
@@ -103,15 +174,36 @@ class ReactNativeCustomerAdapter(
   }
 
   override suspend fun setupIntentClientSecretForCustomerAttach(): CustomerAdapter.Result<String> {
+    mayHaveAttachedWithSetupIntent = true
+    paymentMethodsCache.invalidate(customerId)
+    try {
+      return setupIntentClientSecretForCustomerAttachWithOverride()
+    } finally {
+      paymentMethodsCache.invalidate(customerId)
+    }
+  }
+
+  private suspend fun setupIntentClientSecretForCustomerAttachWithOverride(): CustomerAdapter.Result<String> {
     if (overridesSetupIntentClientSecretForCustomerAttach) {
-      CompletableDeferred<String>().also {
-        setupIntentClientSecretForCustomerAttachCallback = it
-        stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterSetupIntentClientSecretForCustomerAttachCallback()
-        val resultFromJavascript = it.await()
-        return CustomerAdapter.Result.success(resultFromJavascript)
+      return resultFromJavascript {
+        setupIntentClientSecretForCustomerAttachCalls.await { requestId ->
+          stripeSdkModule?.eventEmitter?.emitOnCustomerAdapterSetupIntentClientSecretForCustomerAttachCallback(
+            requestParams(requestId),
+          )
+        }
       }
     }
 
     return adapter.setupIntentClientSecretForCustomerAttach()
   }
+
+  private fun requestParams(requestId: String): WritableMap =
+    Arguments.createMap().also { it.putString("requestId", requestId) }
+
+  private inline fun <T> resultFromJavascript(call: () -> T): CustomerAdapter.Result<T> =
+    try {
+      CustomerAdapter.Result.success(call())
+    } catch (error: TimeoutException) {
+      CustomerAdapter.Result.failure(cause = error, displayMessage = null)
+    }
 }
@@ -85,6 +85,9 @@ object PushProvisioningProxy {
         ) {
           super.onActivityResult(activity, requestCode, resultCode, data)
           if (requestCode == TapAndPayProxy.REQUEST_CODE_TOKENIZE) {
+            if (resultCode == RESULT_OK) {
+              TapAndPayProxy.invalidateTokens()
+            }
             view.dispatchEvent(
               if (resultCode == RESULT_OK) {
                 null
@@ -94,6 +97,7 @@ object PushProvisioningProxy {
             )
           } else if (requestCode == PushProvisioningActivityStarter.REQUEST_CODE) {
             if (resultCode == PushProvisioningActivity.RESULT_OK) {
+              TapAndPayProxy.invalidateTokens()
               tokenRequiringTokenization?.let { tokenRequiringTokenization ->
                 val tokenReferenceId = tokenRequiringTokenization.getString("id")
                 if (tokenReferenceId.isNullOrBlank()) {
@@ -1,6 +1,7 @@
 package com.reactnativestripesdk.pushprovisioning
 
 import android.app.Activity
+import android.os.SystemClock
 import android.util.Log
 import com.facebook.react.bridge.Arguments
 import com.facebook.react.bridge.ReadableMap
@@ -8,6 +9,8 @@ import com.facebook.react.bridge.WritableMap
 import com.google.android.gms.tasks.Task
 import com.reactnativestripesdk.utils.createError
 import com.reactnativestripesdk.utils.getIntOr
+import java.lang.reflect.Constructor
+import java.lang.reflect.Method
 
 typealias TokenCheckHandler =
   (isCardInWallet: Boolean, token: WritableMap?, error: WritableMap?) -> Unit
@@ -16,36 +19,154 @@ typealias EligibilityCheckHandler = (canAdd: Boolean, token: WritableMap?, error
 
 object TapAndPayProxy {
   private const val TAG = "StripeTapAndPay"
-  private var tapAndPayClient: Any? = null
   const val REQUEST_CODE_TOKENIZE = 90909
   private const val FALLBACK_MASTERCARD_CONSTANT = 3
   private const val FALLBACK_VISA_CONSTANT = 4
+  private const val TOKENS_TTL_MS = 5_000L
+  private const val TAP_AND_PAY_PACKAGE = "com.google.android.gms.tapandpay"
 
-  private fun getTapandPayTokens(activity: Activity): Task<List<Any>>? =
-    try {
-      val tapAndPayClass = Class.forName("com.google.android.gms.tapandpay.TapAndPay")
-      val getClientMethod = tapAndPayClass.getMethod("getClient", Activity::class.java)
-      val client = getClientMethod.invoke(null, activity)
+  /** The TapAndPay client methods, looked up once. Null if the TapAndPay dependency isn't present. */
+  private class ClientHandles(
+    tapAndPayClass: Class<*>,
+    clientClass: Class<*>,
+  ) {
+    val getClient: Method = tapAndPayClass.getMethod("getClient", Activity::class.java)
+    val listTokens: Method = clientClass.getMethod("listTokens")
+    val tokenize: Method =
+      clientClass.getMethod(
+        "tokenize",
+        Activity::class.java,
+        String::class.java,
+        Int::class.java,
+        String::class.java,
+        Int::class.java,
+        Int::class.java,
+      )
+    val hasEligibleTokenizationTarget: Method? =
+      try {
+        clientClass.getMethod(
+          "hasEligibleTokenizationTarget",
+          Class.forName("$TAP_AND_PAY_PACKAGE.issuer.HasEligibleTokenizationTargetRequest"),
+        )
+      } catch (e: Exception) {
+        null
+      }
+  }
 
-      val tapAndPayClientClass = Class.forName("com.google.android.gms.tapandpay.TapAndPayClient")
-      val listTokensMethod = tapAndPayClientClass.getMethod("listTokens")
+  private class TokenInfoHandles(
+    tokenInfoClass: Class<*>,
+  ) {
+    val getIssuerTokenId: Method = tokenInfoClass.getMethod("getIssuerTokenId")
+    val getFpanLastFour: Method = tokenInfoClass.getMethod("getFpanLastFour")
+    val getDpanLastFour: Method = tokenInfoClass.getMethod("getDpanLastFour")
+    val getIssuerName: Method = tokenInfoClass.getMethod("getIssuerName")
+    val getTokenState: Method = tokenInfoClass.getMethod("getTokenState")
+    val getNetwork: Method = tokenInfoClass.getMethod("getNetwork")
+    val getTokenServiceProvider: Method = tokenInfoClass.getMethod("getTokenServiceProvider")
+  }
 
-      @Suppress("UNCHECKED_CAST")
-      listTokensMethod.invoke(client) as Task<List<Any>>
+  private class RequestBuilderHandles(
+    builderClass: Class<*>,
+  ) {
+    val constructor: Constructor<*> = builderClass.getDeclaredConstructor()
+    val setIdentifier: Method = builderClass.getMethod("setIdentifier", String::class.java)
+    val setNetwork: Method = builderClass.getMethod("setNetwork", Int::class.java)
+    val setTokenServiceProvider: Method = builderClass.getMethod("setTokenServiceProvider", Int::class.java)
+    val setIssuerName: Method = builderClass.getMethod("setIssuerName", String::class.java)
+    val build: Method = builderClass.getMethod("build")
+  }
+
+  private val tapAndPayClass: Class<*>? by lazy {
+    lookUp("TapAndPay") { Class.forName("$TAP_AND_PAY_PACKAGE.TapAndPay") }
+  }
+
+  private val clientHandles: ClientHandles? by lazy {
+    tapAndPayClass?.let { tapAndPayClass ->
+      lookUp("the TapAndPay client") {
+        ClientHandles(tapAndPayClass, Class.forName("$TAP_AND_PAY_PACKAGE.TapAndPayClient"))
+      }
+    }
+  }
+
+  private val tokenInfoHandles: TokenInfoHandles? by lazy {
+    lookUp("TokenInfo") { TokenInfoHandles(Class.forName("$TAP_AND_PAY_PACKAGE.issuer.TokenInfo")) }
+  }
+
+  private val requestBuilderHandles: RequestBuilderHandles? by lazy {
+    lookUp("HasEligibleTokenizationTargetRequest") {
+      RequestBuilderHandles(
+        Class.forName("$TAP_AND_PAY_PACKAGE.issuer.HasEligibleTokenizationTargetRequest\$Builder"),
+      )
+    }
+  }
+
+  private val tokenStateNames: Map<Any?, String> by lazy {
+    tapAndPayClass?.let { tapAndPayClass ->
+      lookUp("the TapAndPay token states") {
+        listOf(
+          "TOKEN_STATE_NEEDS_IDENTITY_VERIFICATION",
+          "TOKEN_STATE_PENDING",
+          "TOKEN_STATE_SUSPENDED",
+          "TOKEN_STATE_ACTIVE",
+          "TOKEN_STATE_FELICA_PENDING_PROVISIONING",
+          "TOKEN_STATE_UNTOKENIZED",
+        ).associateBy { tapAndPayClass.getField(it).get(null) }
+      }
+    } ?: emptyMap()
+  }
+
+  // The last listTokens task, shared by every check until it fails or expires. Wallet screens check
+  // many cards at once, and each check would otherwise list the same tokens again.
+  private val tokensLock = Any()
+  private var cachedTokens: Task<List<Any>>? = null
+  private var tokensRequestedAtMs = 0L
+
+  private inline fun <T> lookUp(
+    description: String,
+    block: () -> T,
+  ): T? =
+    try {
+      block()
     } catch (e: Exception) {
-      Log.e(TAG, "There was a problem listing tokens with Google TapAndPay: " + e.message)
+      Log.e(TAG, "There was a problem finding $description with Google TapAndPay: " + e.message)
       null
     }
 
+  private fun getTapandPayTokens(activity: Activity): Task<List<Any>>? {
+    val handles = clientHandles ?: return null
+    synchronized(tokensLock) {
+      cachedTokens?.let {
+        val expired = SystemClock.elapsedRealtime() - tokensRequestedAtMs > TOKENS_TTL_MS
+        if (!expired && !(it.isComplete && !it.isSuccessful)) {
+          return it
+        }
+      }
+      return try {
+        val client = handles.getClient.invoke(null, activity)
+
+        @Suppress("UNCHECKED_CAST")
+        (handles.listTokens.invoke(client) as Task<List<Any>>).also {
+          cachedTokens = it
+          tokensRequestedAtMs = SystemClock.elapsedRealtime()
+        }
+      } catch (e: Exception) {
+        Log.e(TAG, "There was a problem listing tokens with Google TapAndPay: " + e.message)
+        null
+      }
+    }
+  }
+
+  /** Drops the cached token list, so the next check sees a card that was just added. */
+  fun invalidateTokens() {
+    synchronized(tokensLock) { cachedTokens = null }
+  }
+
   internal fun isTokenInWallet(
     token: Any,
     newLastFour: String,
   ): Boolean =
     try {
-      val getFpanLastFourMethod =
-        Class
-          .forName("com.google.android.gms.tapandpay.issuer.TokenInfo")
-          .getMethod("getFpanLastFour")
+      val getFpanLastFourMethod = tokenInfoHandles?.getFpanLastFour ?: return false
       val existingFpanLastFour = getFpanLastFourMethod.invoke(token) as String
       existingFpanLastFour == newLastFour
     } catch (e: Exception) {
@@ -86,28 +207,23 @@ object TapAndPayProxy {
     callback: EligibilityCheckHandler,
   ) {
     try {
-      val tapAndPayClass = Class.forName("com.google.android.gms.tapandpay.TapAndPay")
-      val getClientMethod = tapAndPayClass.getMethod("getClient", Activity::class.java)
-      val client = getClientMethod.invoke(null, activity)
+      val clientHandles = clientHandles ?: throw ClassNotFoundException("TapAndPayClient")
+      val hasEligibleTokenizationTarget =
+        clientHandles.hasEligibleTokenizationTarget
+          ?: throw NoSuchMethodException("hasEligibleTokenizationTarget")
+      val builderHandles = requestBuilderHandles ?: throw ClassNotFoundException("HasEligibleTokenizationTargetRequest")
+      val client = clientHandles.getClient.invoke(null, activity)
 
       val (network, tokenServiceProvider) = mapBrandToConstants(cardBrand)
-      val builderClass =
-        Class.forName(
-          "com.google.android.gms.tapandpay.issuer.HasEligibleTokenizationTargetRequest\$Builder"
-        )
-      val builder = builderClass.getDeclaredConstructor().newInstance()
-      builderClass.getMethod("setIdentifier", String::class.java).invoke(builder, cardLastFour)
-      builderClass.getMethod("setNetwork", Int::class.java).invoke(builder, network)
-      builderClass.getMethod("setTokenServiceProvider", Int::class.java).invoke(builder, tokenServiceProvider)
-      builderClass.getMethod("setIssuerName", String::class.java).invoke(builder, "Stripe")
-      val request = builderClass.getMethod("build").invoke(builder)
-
-      val requestClass = Class.forName("com.google.android.gms.tapandpay.issuer.HasEligibleTokenizationTargetRequest")
-      val tapAndPayClientClass = Class.forName("com.google.android.gms.tapandpay.TapAndPayClient")
-      val method = tapAndPayClientClass.getMethod("hasEligibleTokenizationTarget", requestClass)
+      val builder = builderHandles.constructor.newInstance()
+      builderHandles.setIdentifier.invoke(builder, cardLastFour)
+      builderHandles.setNetwork.invoke(builder, network)
+      builderHandles.setTokenServiceProvider.invoke(builder, tokenServiceProvider)
+      builderHandles.setIssuerName.invoke(builder, "Stripe")
+      val request = builderHandles.build.invoke(builder)
 
       @Suppress("UNCHECKED_CAST")
-      val task = method.invoke(client, request) as Task<Boolean>
+      val task = hasEligibleTokenizationTarget.invoke(client, request) as Task<Boolean>
       task.addOnCompleteListener { completedTask ->
         if (completedTask.isSuccessful) {
           val hasTarget = completedTask.result
@@ -142,29 +258,32 @@ object TapAndPayProxy {
     }
   }
 
-  private fun mapBrandToConstants(cardBrand: String): Pair<Int, Int> {
+  private val mastercardConstants: Pair<Int, Int> by lazy {
+    brandConstants("CARD_NETWORK_MASTERCARD", "TOKEN_PROVIDER_MASTERCARD", FALLBACK_MASTERCARD_CONSTANT)
+  }
+
+  private val visaConstants: Pair<Int, Int> by lazy {
+    brandConstants("CARD_NETWORK_VISA", "TOKEN_PROVIDER_VISA", FALLBACK_VISA_CONSTANT)
+  }
+
+  private fun mapBrandToConstants(cardBrand: String): Pair<Int, Int> =
+    if (cardBrand.lowercase() == "mastercard") mastercardConstants else visaConstants
+
+  private fun brandConstants(
+    networkField: String,
+    providerField: String,
+    fallback: Int,
+  ): Pair<Int, Int> =
     try {
-      val tapAndPayClass = Class.forName("com.google.android.gms.tapandpay.TapAndPay")
-      return if (cardBrand.lowercase() == "mastercard") {
-        Pair(
-          tapAndPayClass.getField("CARD_NETWORK_MASTERCARD").getInt(null),
-          tapAndPayClass.getField("TOKEN_PROVIDER_MASTERCARD").getInt(null),
-        )
-      } else {
-        Pair(
-          tapAndPayClass.getField("CARD_NETWORK_VISA").getInt(null),
-          tapAndPayClass.getField("TOKEN_PROVIDER_VISA").getInt(null),
-        )
-      }
+      val tapAndPayClass = tapAndPayClass ?: throw ClassNotFoundException("TapAndPay")
+      Pair(
+        tapAndPayClass.getField(networkField).getInt(null),
+        tapAndPayClass.getField(providerField).getInt(null),
+      )
     } catch (e: Exception) {
       Log.e(TAG, "There was a problem getting TapAndPay constants: " + e.message)
-      return if (cardBrand.lowercase() == "mastercard") {
-        Pair(FALLBACK_MASTERCARD_CONSTANT, FALLBACK_MASTERCARD_CONSTANT)
-      } else {
-        Pair(FALLBACK_VISA_CONSTANT, FALLBACK_VISA_CONSTANT)
-      }
+      Pair(fallback, fallback)
     }
-  }
 
   fun tokenize(
     activity: Activity,
@@ -173,21 +292,9 @@ object TapAndPayProxy {
     cardDescription: String,
   ) {
     try {
-      val tapAndPayClientClass = Class.forName("com.google.android.gms.tapandpay.TapAndPayClient")
-      val tokenizeMethod =
-        tapAndPayClientClass::class
-          .java
-          .getMethod(
-            "tokenize",
-            Activity::class.java,
-            String::class.java,
-            Int::class.java,
-            String::class.java,
-            Int::class.java,
-            Int::class.java,
-          )
-      tokenizeMethod.invoke(
-        tapAndPayClient,
+      val handles = clientHandles ?: throw ClassNotFoundException("TapAndPayClient")
+      handles.tokenize.invoke(
+        handles.getClient.invoke(null, activity),
         activity,
         tokenReferenceId,
         token.getIntOr("serviceProvider", 0),
@@ -204,25 +311,16 @@ object TapAndPayProxy {
     val result = Arguments.createMap()
     token?.let {
       try {
-        val tokenInfoClass = Class.forName("com.google.android.gms.tapandpay.issuer.TokenInfo")
-        result.putString("id", tokenInfoClass.getMethod("getIssuerTokenId").invoke(it) as String)
-        val fpan = tokenInfoClass.getMethod("getFpanLastFour").invoke(it) as String
+        val handles = tokenInfoHandles ?: throw ClassNotFoundException("TokenInfo")
+        result.putString("id", handles.getIssuerTokenId.invoke(it) as String)
+        val fpan = handles.getFpanLastFour.invoke(it) as String
         result.putString("cardLastFour", fpan)
         result.putString("fpanLastFour", fpan)
-        result.putString(
-          "dpanLastFour",
-          tokenInfoClass.getMethod("getDpanLastFour").invoke(it) as String,
-        )
-        result.putString("issuer", tokenInfoClass.getMethod("getIssuerName").invoke(it) as String)
-        result.putString(
-          "status",
-          mapFromTokenState(tokenInfoClass.getMethod("getTokenState").invoke(it) as Int),
-        )
-        result.putInt("network", tokenInfoClass.getMethod("getNetwork").invoke(it) as Int)
-        result.putInt(
-          "serviceProvider",
-          tokenInfoClass.getMethod("getTokenServiceProvider").invoke(it) as Int,
-        )
+        result.putString("dpanLastFour", handles.getDpanLastFour.invoke(it) as String)
+        result.putString("issuer", handles.getIssuerName.invoke(it) as String)
+        result.putString("status", mapFromTokenState(handles.getTokenState.invoke(it) as Int))
+        result.putInt("network", handles.getNetwork.invoke(it) as Int)
+        result.putInt("serviceProvider", handles.getTokenServiceProvider.invoke(it) as Int)
       } catch (e: Exception) {
         Log.e(
           TAG,
@@ -233,25 +331,5 @@ object TapAndPayProxy {
     return result
   }
 
-  private fun mapFromTokenState(status: Int): String {
-    try {
-      val tapAndPayClass = Class.forName("com.google.android.gms.tapandpay.TapAndPay")
-      return when (status) {
-        tapAndPayClass.getField("TOKEN_STATE_NEEDS_IDENTITY_VERIFICATION").get(tapAndPayClass) ->
-          "TOKEN_STATE_NEEDS_IDENTITY_VERIFICATION"
-        tapAndPayClass.getField("TOKEN_STATE_PENDING").get(tapAndPayClass) -> "TOKEN_STATE_PENDING"
-        tapAndPayClass.getField("TOKEN_STATE_SUSPENDED").get(tapAndPayClass) ->
-          "TOKEN_STATE_SUSPENDED"
-        tapAndPayClass.getField("TOKEN_STATE_ACTIVE").get(tapAndPayClass) -> "TOKEN_STATE_ACTIVE"
-        tapAndPayClass.getField("TOKEN_STATE_FELICA_PENDING_PROVISIONING").get(tapAndPayClass) ->
-          "TOKEN_STATE_FELICA_PENDING_PROVISIONING"
-        tapAndPayClass.getField("TOKEN_STATE_UNTOKENIZED").get(tapAndPayClass) ->
-          "TOKEN_STATE_UNTOKENIZED"
-        else -> "UNKNOWN"
-      }
-    } catch (e: Exception) {
-      Log.e(TAG, "There was a problem mapping the token state with Google TapAndPay: " + e.message)
-      return "UNKNOWN"
-    }
-  }
+  private fun mapFromTokenState(status: Int): String = tokenStateNames[status] ?: "UNKNOWN"
 }
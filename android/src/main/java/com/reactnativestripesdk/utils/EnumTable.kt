@@ -0,0 +1,35 @@
+package com.reactnativestripesdk.utils
+
+import java.util.EnumMap
+
+/**
+ * Two-way lookup between enum values and the names JS uses for them, built once.
+ *
+ * Both directions come from the same list of pairs, so a value added for one direction can't be
+ * forgotten in the other. If several values share a name, the first one wins when parsing.
+ */
+internal class EnumTable<E : Enum<E>>(
+  enumClass: Class<E>,
+  entries: List<Pair<E, String>>,
+) {
+  private val names = EnumMap<E, String>(enumClass)
+  private val values = HashMap<String, E>(entries.size * 2)
+
+  init {
+    for ((value, name) in entries) {
+      names[value] = name
+      values.putIfAbsent(name, value)
+    }
+  }
+
+  /** The values that have a name. */
+  val mappedValues: Set<E>
+    get() = names.keys
+
+  fun nameOf(value: E?): String? = if (value == null) null else names[value]
+
+  fun valueOf(name: String?): E? = if (name == null) null else values[name]
+}
+
+internal inline fun <reified E : Enum<E>> enumTable(vararg entries: Pair<E, String>): EnumTable<E> =
+  EnumTable(E::class.java, entries.asList())
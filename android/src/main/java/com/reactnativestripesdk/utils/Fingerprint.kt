@@ -0,0 +1,79 @@
+package com.reactnativestripesdk.utils
+
+import com.facebook.react.bridge.ReadableArray
+import com.facebook.react.bridge.ReadableMap
+import com.facebook.react.bridge.ReadableType
+import java.security.MessageDigest
+
+/**
+ * A SHA-256 digest of everything in this map, as a hex string.
+ *
+ * Two maps with the same contents have the same fingerprint whatever order their keys were added
+ * in, so it can be used to tell whether JS sent the same params again.
+ */
+fun ReadableMap.fingerprint(): String {
+  val digest = MessageDigest.getInstance("SHA-256")
+  digest.updateWith(this)
+  return digest.digest().joinToString("") { "%02x".format(it) }
+}
+
+private fun MessageDigest.updateWith(map: ReadableMap) {
+  val keys = ArrayList<String>()
+  map.forEachKey { keys.add(it) }
+  keys.sort()
+  update('{'.code.toByte())
+  for (key in keys) {
+    updateWith(key)
+    when (map.getType(key)) {
+      ReadableType.Null -> update(NULL_TAG)
+      ReadableType.Boolean -> updateWith(map.getBoolean(key))
+      ReadableType.Number -> updateWith(map.getDouble(key))
+      ReadableType.String -> updateWith(map.getString(key).orEmpty())
+      ReadableType.Map -> map.getMap(key)?.let { updateWith(it) } ?: update(NULL_TAG)
+      ReadableType.Array -> map.getArray(key)?.let { updateWith(it) } ?: update(NULL_TAG)
+    }
+  }
+  update('}'.code.toByte())
+}
+
+private fun MessageDigest.updateWith(array: ReadableArray) {
+  update('['.code.toByte())
+  for (i in 0 until array.size()) {
+    when (array.getType(i)) {
+      ReadableType.Null -> update(NULL_TAG)
+      ReadableType.Boolean -> updateWith(array.getBoolean(i))
+      ReadableType.Number -> updateWith(array.getDouble(i))
+      ReadableType.String -> updateWith(array.getString(i).orEmpty())
+      ReadableType.Map -> array.getMap(i)?.let { updateWith(it) } ?: update(NULL_TAG)
+      ReadableType.Array -> array.getArray(i)?.let { updateWith(it) } ?: update(NULL_TAG)
+    }
+  }
+  update(']'.code.toByte())
+}
+
+// Every value is tagged with its type, and strings with their length, so different structures
+// can't produce the same bytes.
+private fun MessageDigest.updateWith(value: String) {
+  val bytes = value.toByteArray(Charsets.UTF_8)
+  update('s'.code.toByte())
+  updateWith(bytes.size.toLong())
+  update(bytes)
+}
+
+private fun MessageDigest.updateWith(value: Boolean) {
+  update('b'.code.toByte())
+  update(if (value) 1.toByte() else 0.toByte())
+}
+
+private fun MessageDigest.updateWith(value: Double) {
+  update('n'.code.toByte())
+  updateWith(value.toRawBits())
+}
+
+private fun MessageDigest.updateWith(value: Long) {
+  for (shift in 56 downTo 0 step 8) {
+    update((value shr shift).toByte())
+  }
+}
+
+private const val NULL_TAG: Byte = 0
@@ -0,0 +1,227 @@
+package com.reactnativestripesdk.utils
+
+import com.facebook.react.bridge.Arguments
+import com.facebook.react.bridge.ReadableMap
+import com.facebook.react.bridge.ReadableType
+import com.facebook.react.bridge.WritableMap
+
+/**
+ * Declarative description of how a model object is written into a [WritableMap].
+ *
+ * Schemas are built once, so keys and nested shapes are resolved up front and each result is
+ * written in a single pass. A null source writes every field's absent value, which keeps the
+ * shape JS sees identical to the hand-built mappers these replace.
+ */
+internal class MapSchema<T : Any>(
+  private val keys: List<String>,
+  private val fields: List<SchemaField<T>>,
+) {
+  /**
+   * Writes [source] into a new map. When a [projection] is given only the keys it selects are
+   * written, and the values of the others are never computed.
+   */
+  fun write(
+    source: T?,
+    projection: FieldProjection? = null,
+  ): WritableMap = Arguments.createMap().also { writeInto(source, it, projection) }
+
+  fun writeInto(
+    source: T?,
+    map: WritableMap,
+    projection: FieldProjection? = null,
+  ) {
+    for (i in fields.indices) {
+      if (projection == null) {
+        fields[i].write(source, map, null)
+      } else if (projection.includes(keys[i])) {
+        fields[i].write(source, map, projection.child(keys[i]))
+      }
+    }
+  }
+}
+
+internal fun interface SchemaField<T : Any> {
+  /** [projection] is the part of the caller's projection below this field's key, if any. */
+  fun write(
+    source: T?,
+    map: WritableMap,
+    projection: FieldProjection?,
+  )
+}
+
+/**
+ * A set of dotted key paths such as `paymentMethod.Card.last4`, selecting which parts of a
+ * [MapSchema] result are written. Selecting a key selects everything below it; paths that don't
+ * match any key are ignored.
+ */
+internal class FieldProjection private constructor(
+  private val children: Map<String, FieldProjection?>,
+) {
+  fun includes(key: String): Boolean = children.containsKey(key)
+
+  /** The projection for the value under [key], or null if the whole value is selected. */
+  fun child(key: String): FieldProjection? = children[key]
+
+  companion object {
+    /** Returns null, i.e. no projection, when [paths] has no usable entries. */
+    fun of(paths: Collection<String>): FieldProjection? {
+      val segments = paths.filter { it.isNotBlank() }.map { it.split('.') }
+      return if (segments.isEmpty()) null else build(segments)
+    }
+
+    /** Reads the optional `fields` array of a bridge options map. */
+    fun fromOptions(options: ReadableMap?): FieldProjection? {
+      if (options == null || !options.hasKey("fields") || options.getType("fields") != ReadableType.Array) {
+        return null
+      }
+      val fields = options.getArray("fields") ?: return null
+      val paths = ArrayList<String>(fields.size())
+      for (i in 0 until fields.size()) {
+        if (fields.getType(i) == ReadableType.String) {
+          fields.getString(i)?.let { paths.add(it) }
+        }
+      }
+      return of(paths)
+    }
+
+    private fun build(paths: List<List<String>>): FieldProjection =
+      FieldProjection(
+        paths
+          .groupBy({ it.first() }, { it.drop(1) })
+          .mapValues { (_, rest) -> if (rest.any { it.isEmpty() }) null else build(rest) },
+      )
+  }
+}
+
+/** What a nested field writes when its value is absent. */
+internal enum class AbsentValue {
+  /** The nested schema written with a null source, i.e. every key with its absent value. */
+  Defaults,
+
+  /** An empty map. */
+  EmptyMap,
+
+  /** `null`. */
+  Null,
+
+  /** Nothing; the key is left out. */
+  Omitted,
+}
+
+internal class MapSchemaBuilder<T : Any> {
+  private val keys = ArrayList<String>()
+  private val fields = ArrayList<SchemaField<T>>()
+
+  private fun add(
+    key: String,
+    field: SchemaField<T>,
+  ) {
+    keys.add(key)
+    fields.add(field)
+  }
+
+  fun string(
+    key: String,
+    absent: String? = null,
+    value: (T) -> String?,
+  ) {
+    add(key) { source, map, _ -> map.putString(key, if (source == null) absent else value(source)) }
+  }
+
+  fun boolean(
+    key: String,
+    absent: Boolean = false,
+    value: (T) -> Boolean?,
+  ) {
+    add(key) { source, map, _ -> map.putBoolean(key, source?.let(value) ?: absent) }
+  }
+
+  /** Written only when the value is present. */
+  fun optionalInt(
+    key: String,
+    value: (T) -> Int?,
+  ) {
+    add(key) { source, map, _ -> source?.let(value)?.let { map.putInt(key, it) } }
+  }
+
+  /** Written as `null` when the value is absent. */
+  fun double(
+    key: String,
+    value: (T) -> Double?,
+  ) {
+    add(key) { source, map, _ ->
+      val number = source?.let(value)
+      if (number != null) map.putDouble(key, number) else map.putNull(key)
+    }
+  }
+
+  /** Written as `null` when the value is absent. */
+  fun stringArray(
+    key: String,
+    value: (T) -> Collection<String>?,
+  ) {
+    add(key) { source, map, _ ->
+      val list = source?.let(value)
+      if (list != null) {
+        map.putArray(key, Arguments.createArray().also { array -> list.forEach { array.pushString(it) } })
+      } else {
+        map.putNull(key)
+      }
+    }
+  }
+
+  /**
+   * A value mapped by an existing mapper function; written as `null` when absent. Projections
+   * select it as a whole.
+   */
+  fun map(
+    key: String,
+    value: (T) -> WritableMap?,
+  ) {
+    add(key) { source, map, _ ->
+      val child = source?.let(value)
+      if (child != null) map.putMap(key, child) else map.putNull(key)
+    }
+  }
+
+  fun <C : Any> nested(
+    key: String,
+    schema: MapSchema<C>,
+    absent: AbsentValue = AbsentValue.Defaults,
+    value: (T) -> C?,
+  ) {
+    add(key) { source, map, projection ->
+      val child = source?.let(value)
+      when {
+        child != null -> map.putMap(key, schema.write(child, projection))
+        absent == AbsentValue.Defaults -> map.putMap(key, schema.write(null, projection))
+        absent == AbsentValue.EmptyMap -> map.putMap(key, Arguments.createMap())
+        absent == AbsentValue.Null -> map.putNull(key)
+        else -> Unit
+      }
+    }
+  }
+
+  /** A nested object whose schema is only used here, declared inline. */
+  fun <C : Any> nested(
+    key: String,
+    absent: AbsentValue = AbsentValue.Defaults,
+    value: (T) -> C?,
+    schema: MapSchemaBuilder<C>.() -> Unit,
+  ) {
+    nested(key, mapSchema(schema), absent, value)
+  }
+
+  /** Escape hatch for fields that don't fit the helpers above. [field] should only write [key]. */
+  fun custom(
+    key: String,
+    field: SchemaField<T>,
+  ) {
+    add(key, field)
+  }
+
+  fun build(): MapSchema<T> = MapSchema(keys.toList(), fields.toList())
+}
+
+internal fun <T : Any> mapSchema(block: MapSchemaBuilder<T>.() -> Unit): MapSchema<T> =
+  MapSchemaBuilder<T>().apply(block).build()
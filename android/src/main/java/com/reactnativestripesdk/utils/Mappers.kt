@@ -59,17 +59,7 @@ internal fun createCanAddCardResult(
   return result
 }
 
-internal fun mapIntentStatus(status: StripeIntent.Status?): String =
-  when (status) {
-    StripeIntent.Status.Succeeded -> "Succeeded"
-    StripeIntent.Status.RequiresPaymentMethod -> "RequiresPaymentMethod"
-    StripeIntent.Status.RequiresConfirmation -> "RequiresConfirmation"
-    StripeIntent.Status.Canceled -> "Canceled"
-    StripeIntent.Status.Processing -> "Processing"
-    StripeIntent.Status.RequiresAction -> "RequiresAction"
-    StripeIntent.Status.RequiresCapture -> "RequiresCapture"
-    else -> "Unknown"
-  }
+internal fun mapIntentStatus(status: StripeIntent.Status?): String = INTENT_STATUSES.nameOf(status) ?: "Unknown"
 
 internal fun mapCaptureMethod(captureMethod: PaymentIntent.CaptureMethod?): String =
   when (captureMethod) {
@@ -111,103 +101,14 @@ internal fun mapIntentShipping(shipping: PaymentIntent.Shipping): WritableMap {
   return map
 }
 
-internal fun mapCardBrand(brand: CardBrand?): String =
-  when (brand) {
-    CardBrand.AmericanExpress -> "AmericanExpress"
-    CardBrand.DinersClub -> "DinersClub"
-    CardBrand.Discover -> "Discover"
-    CardBrand.JCB -> "JCB"
-    CardBrand.MasterCard -> "MasterCard"
-    CardBrand.UnionPay -> "UnionPay"
-    CardBrand.Visa -> "Visa"
-    CardBrand.Unknown -> "Unknown"
-    else -> "Unknown"
-  }
-
-internal fun mapPaymentMethodType(type: PaymentMethod.Type?): String =
-  when (type) {
-    PaymentMethod.Type.AfterpayClearpay -> "AfterpayClearpay"
-    PaymentMethod.Type.Alipay -> "Alipay"
-    PaymentMethod.Type.Alma -> "Alma"
-    PaymentMethod.Type.AuBecsDebit -> "AuBecsDebit"
-    PaymentMethod.Type.BacsDebit -> "BacsDebit"
-    PaymentMethod.Type.Bancontact -> "Bancontact"
-    PaymentMethod.Type.Billie -> "Billie"
-    PaymentMethod.Type.Card -> "Card"
-    PaymentMethod.Type.CardPresent -> "CardPresent"
-    PaymentMethod.Type.Eps -> "Eps"
-    PaymentMethod.Type.Fpx -> "Fpx"
-    PaymentMethod.Type.GrabPay -> "GrabPay"
-    PaymentMethod.Type.Ideal -> "Ideal"
-    PaymentMethod.Type.Netbanking -> "Netbanking"
-    PaymentMethod.Type.Multibanco -> "Multibanco"
-    PaymentMethod.Type.Oxxo -> "Oxxo"
-    PaymentMethod.Type.P24 -> "P24"
-    PaymentMethod.Type.SepaDebit -> "SepaDebit"
-    PaymentMethod.Type.WeChatPay -> "WeChatPay"
-    PaymentMethod.Type.Klarna -> "Klarna"
-    PaymentMethod.Type.USBankAccount -> "USBankAccount"
-    PaymentMethod.Type.PayPal -> "PayPal"
-    PaymentMethod.Type.Affirm -> "Affirm"
-    PaymentMethod.Type.CashAppPay -> "CashApp"
-    PaymentMethod.Type.RevolutPay -> "RevolutPay"
-    PaymentMethod.Type.PayByBank -> "PayByBank"
-    PaymentMethod.Type.Twint -> "Twint"
-    PaymentMethod.Type.Link -> "Link"
-    else -> "Unknown"
-  }
-
-internal fun mapToPaymentMethodType(type: String?): PaymentMethod.Type? =
-  when (type) {
-    "Card" -> PaymentMethod.Type.Card
-    "Ideal" -> PaymentMethod.Type.Ideal
-    "Alipay" -> PaymentMethod.Type.Alipay
-    "Alma" -> PaymentMethod.Type.Alma
-    "AuBecsDebit" -> PaymentMethod.Type.AuBecsDebit
-    "BacsDebit" -> PaymentMethod.Type.BacsDebit
-    "Bancontact" -> PaymentMethod.Type.Bancontact
-    "Billie" -> PaymentMethod.Type.Billie
-    "AfterpayClearpay" -> PaymentMethod.Type.AfterpayClearpay
-    "CardPresent" -> PaymentMethod.Type.CardPresent
-    "Eps" -> PaymentMethod.Type.Eps
-    "Fpx" -> PaymentMethod.Type.Fpx
-    "GrabPay" -> PaymentMethod.Type.GrabPay
-    "Netbanking" -> PaymentMethod.Type.Netbanking
-    "Multibanco" -> PaymentMethod.Type.Multibanco
-    "Oxxo" -> PaymentMethod.Type.Oxxo
-    "P24" -> PaymentMethod.Type.P24
-    "SepaDebit" -> PaymentMethod.Type.SepaDebit
-    "WeChatPay" -> PaymentMethod.Type.WeChatPay
-    "Klarna" -> PaymentMethod.Type.Klarna
-    "USBankAccount" -> PaymentMethod.Type.USBankAccount
-    "PayPal" -> PaymentMethod.Type.PayPal
-    "Affirm" -> PaymentMethod.Type.Affirm
-    "CashApp" -> PaymentMethod.Type.CashAppPay
-    "RevolutPay" -> PaymentMethod.Type.RevolutPay
-    "PayByBank" -> PaymentMethod.Type.PayByBank
-    "Twint" -> PaymentMethod.Type.Twint
-    "Link" -> PaymentMethod.Type.Link
-    else -> null
-  }
-
-internal fun mapFromBillingDetails(billingDatails: PaymentMethod.BillingDetails?): WritableMap {
-  val details: WritableMap = Arguments.createMap()
-  val address: WritableMap = Arguments.createMap()
+internal fun mapCardBrand(brand: CardBrand?): String = CARD_BRANDS.nameOf(brand) ?: "Unknown"
 
-  address.putString("country", billingDatails?.address?.country)
-  address.putString("city", billingDatails?.address?.city)
-  address.putString("line1", billingDatails?.address?.line1)
-  address.putString("line2", billingDatails?.address?.line2)
-  address.putString("postalCode", billingDatails?.address?.postalCode)
-  address.putString("state", billingDatails?.address?.state)
+internal fun mapPaymentMethodType(type: PaymentMethod.Type?): String = PAYMENT_METHOD_TYPES.nameOf(type) ?: "Unknown"
 
-  details.putString("email", billingDatails?.email)
-  details.putString("phone", billingDatails?.phone)
-  details.putString("name", billingDatails?.name)
-  details.putMap("address", address)
+internal fun mapToPaymentMethodType(type: String?): PaymentMethod.Type? = PAYMENT_METHOD_TYPES.valueOf(type)
 
-  return details
-}
+internal fun mapFromBillingDetails(billingDatails: PaymentMethod.BillingDetails?): WritableMap =
+  BILLING_DETAILS_SCHEMA.write(billingDatails)
 
 internal fun mapFromPaymentSheetBillingDetails(
   billing: com.stripe.android.paymentsheet.PaymentSheet.BillingDetails?
@@ -290,32 +191,16 @@ internal fun mapFromBankAccount(bankAccount: BankAccount?): WritableMap? {
 }
 
 internal fun mapToUSBankAccountHolderType(type: String?): PaymentMethod.USBankAccount.USBankAccountHolderType =
-  when (type) {
-    "Company" -> PaymentMethod.USBankAccount.USBankAccountHolderType.COMPANY
-    "Individual" -> PaymentMethod.USBankAccount.USBankAccountHolderType.INDIVIDUAL
-    else -> PaymentMethod.USBankAccount.USBankAccountHolderType.INDIVIDUAL
-  }
+  US_BANK_ACCOUNT_HOLDER_TYPES.valueOf(type) ?: PaymentMethod.USBankAccount.USBankAccountHolderType.INDIVIDUAL
 
 internal fun mapFromUSBankAccountHolderType(type: PaymentMethod.USBankAccount.USBankAccountHolderType?): String =
-  when (type) {
-    PaymentMethod.USBankAccount.USBankAccountHolderType.COMPANY -> "Company"
-    PaymentMethod.USBankAccount.USBankAccountHolderType.INDIVIDUAL -> "Individual"
-    else -> "Unknown"
-  }
+  US_BANK_ACCOUNT_HOLDER_TYPES.nameOf(type) ?: "Unknown"
 
 internal fun mapToUSBankAccountType(type: String?): PaymentMethod.USBankAccount.USBankAccountType =
-  when (type) {
-    "Savings" -> PaymentMethod.USBankAccount.USBankAccountType.SAVINGS
-    "Checking" -> PaymentMethod.USBankAccount.USBankAccountType.CHECKING
-    else -> PaymentMethod.USBankAccount.USBankAccountType.CHECKING
-  }
+  US_BANK_ACCOUNT_TYPES.valueOf(type) ?: PaymentMethod.USBankAccount.USBankAccountType.CHECKING
 
 internal fun mapFromUSBankAccountType(type: PaymentMethod.USBankAccount.USBankAccountType?): String =
-  when (type) {
-    PaymentMethod.USBankAccount.USBankAccountType.CHECKING -> "Checking"
-    PaymentMethod.USBankAccount.USBankAccountType.SAVINGS -> "Savings"
-    else -> "Unknown"
-  }
+  US_BANK_ACCOUNT_TYPES.nameOf(type) ?: "Unknown"
 
 internal fun mapFromCard(card: Card?): WritableMap? {
   val cardMap: WritableMap = Arguments.createMap()
@@ -364,154 +249,15 @@ internal fun mapFromToken(token: Token): WritableMap {
   return tokenMap
 }
 
-private fun mapFromStringList(list: Collection<String>?): WritableArray? =
-  list?.let { networks ->
-    Arguments.createArray().also { arr -> networks.forEach { arr.pushString(it) } }
-  }
-
-internal fun mapFromPaymentMethod(paymentMethod: PaymentMethod): WritableMap {
-  val pm: WritableMap = Arguments.createMap()
-
-  pm.putString("id", paymentMethod.id)
-  pm.putString("paymentMethodType", mapPaymentMethodType(paymentMethod.type))
-  pm.putBoolean("livemode", paymentMethod.liveMode)
-  pm.putString("customerId", paymentMethod.customerId)
-  pm.putMap("billingDetails", mapFromBillingDetails(paymentMethod.billingDetails))
-  pm.putMap(
-    "Card",
-    Arguments.createMap().also {
-      it.putString("brand", mapCardBrand(paymentMethod.card?.brand))
-      it.putString("country", paymentMethod.card?.country)
-      paymentMethod.card?.expiryYear?.let { year -> it.putInt("expYear", year) }
-      paymentMethod.card?.expiryMonth?.let { month -> it.putInt("expMonth", month) }
-      it.putString("funding", paymentMethod.card?.funding)
-      it.putString("last4", paymentMethod.card?.last4)
-      it.putString("fingerprint", paymentMethod.card?.fingerprint)
-      it.putString("preferredNetwork", paymentMethod.card?.networks?.preferred)
-      it.putArray("availableNetworks", mapFromStringList(paymentMethod.card?.networks?.available))
-      it.putMap(
-        "threeDSecureUsage",
-        Arguments.createMap().also { threeDSecureUsageMap ->
-          threeDSecureUsageMap.putBoolean(
-            "isSupported",
-            paymentMethod.card?.threeDSecureUsage?.isSupported ?: false,
-          )
-        },
-      )
-    },
-  )
-  pm.putMap(
-    "SepaDebit",
-    Arguments.createMap().also {
-      it.putString("bankCode", paymentMethod.sepaDebit?.bankCode)
-      it.putString("country", paymentMethod.sepaDebit?.country)
-      it.putString("fingerprint", paymentMethod.sepaDebit?.fingerprint)
-      it.putString("last4", paymentMethod.sepaDebit?.branchCode)
-    },
-  )
-  pm.putMap(
-    "BacsDebit",
-    Arguments.createMap().also {
-      it.putString("fingerprint", paymentMethod.bacsDebit?.fingerprint)
-      it.putString("last4", paymentMethod.bacsDebit?.last4)
-      it.putString("sortCode", paymentMethod.bacsDebit?.sortCode)
-    },
-  )
-  pm.putMap(
-    "AuBecsDebit",
-    Arguments.createMap().also {
-      it.putString("bsbNumber", paymentMethod.bacsDebit?.sortCode)
-      it.putString("fingerprint", paymentMethod.bacsDebit?.fingerprint)
-      it.putString("last4", paymentMethod.bacsDebit?.last4)
-    },
-  )
-  pm.putMap(
-    "Ideal",
-    Arguments.createMap().also {
-      it.putString("bankName", paymentMethod.ideal?.bank)
-      it.putString("bankIdentifierCode", paymentMethod.ideal?.bankIdentifierCode)
-    },
-  )
-  pm.putMap(
-    "Fpx",
-    Arguments.createMap().also {
-      it.putString("accountHolderType", paymentMethod.fpx?.accountHolderType)
-      it.putString("bank", paymentMethod.fpx?.bank)
-    },
-  )
-  pm.putMap(
-    "USBankAccount",
-    Arguments.createMap().also {
-      it.putString("routingNumber", paymentMethod.usBankAccount?.routingNumber)
-      it.putString(
-        "accountType",
-        mapFromUSBankAccountType(paymentMethod.usBankAccount?.accountType),
-      )
-      it.putString(
-        "accountHolderType",
-        mapFromUSBankAccountHolderType(paymentMethod.usBankAccount?.accountHolderType),
-      )
-      it.putString("last4", paymentMethod.usBankAccount?.last4)
-      it.putString("bankName", paymentMethod.usBankAccount?.bankName)
-      it.putString("linkedAccount", paymentMethod.usBankAccount?.financialConnectionsAccount)
-      it.putString("fingerprint", paymentMethod.usBankAccount?.fingerprint)
-      it.putString("preferredNetworks", paymentMethod.usBankAccount?.networks?.preferred)
-      it.putArray(
-        "supportedNetworks",
-        mapFromStringList(paymentMethod.usBankAccount?.networks?.supported),
-      )
-    },
-  )
+internal fun mapFromPaymentMethod(
+  paymentMethod: PaymentMethod,
+  fields: FieldProjection? = null,
+): WritableMap = PAYMENT_METHOD_SCHEMA.write(paymentMethod, fields)
 
-  return pm
-}
-
-internal fun mapFromPaymentIntentResult(paymentIntent: PaymentIntent): WritableMap {
-  val map: WritableMap = Arguments.createMap()
-  map.putString("id", paymentIntent.id)
-  map.putString("clientSecret", paymentIntent.clientSecret)
-  map.putBoolean("livemode", paymentIntent.isLiveMode)
-  map.putString("paymentMethodId", paymentIntent.paymentMethodId)
-  map.putMap(
-    "paymentMethod",
-    paymentIntent.paymentMethod?.let { mapFromPaymentMethod(it) } ?: run { null },
-  )
-  map.putString("receiptEmail", paymentIntent.receiptEmail)
-  map.putString("currency", paymentIntent.currency)
-  map.putString("status", mapIntentStatus(paymentIntent.status))
-  map.putString("description", paymentIntent.description)
-  map.putString("receiptEmail", paymentIntent.receiptEmail)
-  map.putString("created", convertToUnixTimestamp(paymentIntent.created))
-  map.putString("captureMethod", mapCaptureMethod(paymentIntent.captureMethod))
-  map.putString("confirmationMethod", mapConfirmationMethod(paymentIntent.confirmationMethod))
-  map.putMap(
-    "nextAction",
-    mapNextAction(paymentIntent.nextActionType, paymentIntent.nextActionData),
-  )
-  map.putNull("lastPaymentError")
-  map.putNull("shipping")
-  map.putNull("amount")
-  map.putNull("canceledAt")
-
-  paymentIntent.lastPaymentError?.let {
-    val paymentError: WritableMap = Arguments.createMap()
-    paymentError.putString("code", it.code)
-    paymentError.putString("message", it.message)
-    paymentError.putString("type", mapFromPaymentIntentLastErrorType(it.type))
-    paymentError.putString("declineCode", it.declineCode)
-    paymentIntent.lastPaymentError?.paymentMethod?.let { paymentMethod ->
-      paymentError.putMap("paymentMethod", mapFromPaymentMethod(paymentMethod))
-    }
-
-    map.putMap("lastPaymentError", paymentError)
-  }
-
-  paymentIntent.shipping?.let { map.putMap("shipping", mapIntentShipping(it)) }
-
-  paymentIntent.amount?.let { map.putDouble("amount", it.toDouble()) }
-  map.putString("canceledAt", convertToUnixTimestamp(paymentIntent.canceledAt))
-  return map
-}
+internal fun mapFromPaymentIntentResult(
+  paymentIntent: PaymentIntent,
+  fields: FieldProjection? = null,
+): WritableMap = PAYMENT_INTENT_SCHEMA.write(paymentIntent, fields)
 
 @SuppressLint("RestrictedApi")
 internal fun mapFromMicrodepositType(type: MicrodepositType): String =
@@ -884,45 +630,10 @@ fun mapToUICustomization(params: ReadableMap): PaymentAuthConfig.Stripe3ds2UiCus
   return uiCustomization.build()
 }
 
-internal fun mapFromSetupIntentResult(setupIntent: SetupIntent): WritableMap {
-  val map: WritableMap = Arguments.createMap()
-  val paymentMethodTypes: WritableArray = Arguments.createArray()
-  map.putString("id", setupIntent.id)
-  map.putString("status", mapIntentStatus(setupIntent.status))
-  map.putString("description", setupIntent.description)
-  map.putBoolean("livemode", setupIntent.isLiveMode)
-  map.putString("clientSecret", setupIntent.clientSecret)
-  map.putString("paymentMethodId", setupIntent.paymentMethodId)
-  map.putMap(
-    "paymentMethod",
-    setupIntent.paymentMethod?.let { mapFromPaymentMethod(it) } ?: run { null },
-  )
-  map.putString("usage", mapSetupIntentUsage(setupIntent.usage))
-  map.putString("created", convertToUnixTimestamp(setupIntent.created))
-  map.putMap("nextAction", mapNextAction(setupIntent.nextActionType, setupIntent.nextActionData))
-
-  setupIntent.lastSetupError?.let {
-    val setupError: WritableMap = Arguments.createMap()
-    setupError.putString("code", it.code)
-    setupError.putString("message", it.message)
-    setupError.putString("type", mapFromSetupIntentLastErrorType(it.type))
-    setupError.putString("declineCode", it.declineCode)
-    setupIntent.lastSetupError?.paymentMethod?.let { paymentMethod ->
-      setupError.putMap("paymentMethod", mapFromPaymentMethod(paymentMethod))
-    }
-    map.putMap("lastSetupError", setupError)
-  }
-
-  for (code in setupIntent.paymentMethodTypes) {
-    PaymentMethod.Type.fromCode(code)?.let {
-      paymentMethodTypes.pushString(mapPaymentMethodType(it))
-    }
-  }
-
-  map.putArray("paymentMethodTypes", paymentMethodTypes)
-
-  return map
-}
+internal fun mapFromSetupIntentResult(
+  setupIntent: SetupIntent,
+  fields: FieldProjection? = null,
+): WritableMap = SETUP_INTENT_SCHEMA.write(setupIntent, fields)
 
 internal fun mapSetupIntentUsage(type: StripeIntent.Usage?): String =
   when (type) {
@@ -1087,57 +798,8 @@ internal fun mapFromCustomPaymentMethod(
     putMap("billingDetails", mapFromBillingDetails(billingDetails))
   }
 
-@SuppressLint("RestrictedApi")
-internal fun mapFromConfirmationToken(confirmationToken: ConfirmationToken): WritableMap {
-  val token: WritableMap = Arguments.createMap()
-
-  token.putString("id", confirmationToken.id)
-  token.putDouble("created", confirmationToken.created.toDouble())
-  token.putDouble("expiresAt", confirmationToken.expiresAt?.toDouble() ?: 0.0)
-  token.putBoolean("liveMode", confirmationToken.liveMode)
-  token.putString("paymentIntentId", confirmationToken.paymentIntentId)
-  token.putString("setupIntentId", confirmationToken.setupIntentId)
-  token.putString("returnURL", confirmationToken.returnUrl)
-  token.putString("setupFutureUsage", mapFromSetupFutureUsage(confirmationToken.setupFutureUsage))
-
-  // PaymentMethodPreview
-  confirmationToken.paymentMethodPreview?.let { preview ->
-    val paymentMethodPreview = Arguments.createMap()
-    paymentMethodPreview.putString("type", mapPaymentMethodType(preview.type))
-    paymentMethodPreview.putMap("billingDetails", mapFromBillingDetails(preview.billingDetails))
-    paymentMethodPreview.putString("allowRedisplay", mapFromAllowRedisplay(preview.allowRedisplay))
-    paymentMethodPreview.putString("customerId", preview.customerId)
-    token.putMap("paymentMethodPreview", paymentMethodPreview)
-  } ?: run {
-    token.putNull("paymentMethodPreview")
-  }
-
-  // Shipping details
-  confirmationToken.shipping?.let { shippingDetails ->
-    val shipping = Arguments.createMap()
-    shipping.putString("name", shippingDetails.name)
-    shipping.putString("phone", shippingDetails.phone)
-
-    shippingDetails.address?.let { address ->
-      val addressMap = Arguments.createMap()
-      addressMap.putString("city", address.city)
-      addressMap.putString("country", address.country)
-      addressMap.putString("line1", address.line1)
-      addressMap.putString("line2", address.line2)
-      addressMap.putString("postalCode", address.postalCode)
-      addressMap.putString("state", address.state)
-      shipping.putMap("address", addressMap)
-    } ?: run {
-      shipping.putMap("address", Arguments.createMap())
-    }
-
-    token.putMap("shipping", shipping)
-  } ?: run {
-    token.putNull("shipping")
-  }
-
-  return token
-}
+internal fun mapFromConfirmationToken(confirmationToken: ConfirmationToken): WritableMap =
+  CONFIRMATION_TOKEN_SCHEMA.write(confirmationToken)
 
 @SuppressLint("RestrictedApi")
 private fun mapFromSetupFutureUsage(setupFutureUsage: ConfirmPaymentIntentParams.SetupFutureUsage?): String? =
@@ -1199,6 +861,245 @@ fun readableArrayOf(vararg elements: Any?): ReadableArray =
     }
   }
 
+// Enum lookup tables. These are declared ahead of the result schemas, which use them while being
+// built.
+
+private val INTENT_STATUSES =
+  enumTable(
+    StripeIntent.Status.Succeeded to "Succeeded",
+    StripeIntent.Status.RequiresPaymentMethod to "RequiresPaymentMethod",
+    StripeIntent.Status.RequiresConfirmation to "RequiresConfirmation",
+    StripeIntent.Status.Canceled to "Canceled",
+    StripeIntent.Status.Processing to "Processing",
+    StripeIntent.Status.RequiresAction to "RequiresAction",
+    StripeIntent.Status.RequiresCapture to "RequiresCapture",
+  )
+
+private val CARD_BRANDS =
+  enumTable(
+    CardBrand.AmericanExpress to "AmericanExpress",
+    CardBrand.DinersClub to "DinersClub",
+    CardBrand.Discover to "Discover",
+    CardBrand.JCB to "JCB",
+    CardBrand.MasterCard to "MasterCard",
+    CardBrand.UnionPay to "UnionPay",
+    CardBrand.Visa to "Visa",
+    CardBrand.Unknown to "Unknown",
+  )
+
+private val PAYMENT_METHOD_TYPES =
+  enumTable(
+    PaymentMethod.Type.AfterpayClearpay to "AfterpayClearpay",
+    PaymentMethod.Type.Alipay to "Alipay",
+    PaymentMethod.Type.Alma to "Alma",
+    PaymentMethod.Type.AuBecsDebit to "AuBecsDebit",
+    PaymentMethod.Type.BacsDebit to "BacsDebit",
+    PaymentMethod.Type.Bancontact to "Bancontact",
+    PaymentMethod.Type.Billie to "Billie",
+    PaymentMethod.Type.Card to "Card",
+    PaymentMethod.Type.CardPresent to "CardPresent",
+    PaymentMethod.Type.Eps to "Eps",
+    PaymentMethod.Type.Fpx to "Fpx",
+    PaymentMethod.Type.GrabPay to "GrabPay",
+    PaymentMethod.Type.Ideal to "Ideal",
+    PaymentMethod.Type.Netbanking to "Netbanking",
+    PaymentMethod.Type.Multibanco to "Multibanco",
+    PaymentMethod.Type.Oxxo to "Oxxo",
+    PaymentMethod.Type.P24 to "P24",
+    PaymentMethod.Type.SepaDebit to "SepaDebit",
+    PaymentMethod.Type.WeChatPay to "WeChatPay",
+    PaymentMethod.Type.Klarna to "Klarna",
+    PaymentMethod.Type.USBankAccount to "USBankAccount",
+    PaymentMethod.Type.PayPal to "PayPal",
+    PaymentMethod.Type.Affirm to "Affirm",
+    PaymentMethod.Type.CashAppPay to "CashApp",
+    PaymentMethod.Type.RevolutPay to "RevolutPay",
+    PaymentMethod.Type.PayByBank to "PayByBank",
+    PaymentMethod.Type.Twint to "Twint",
+    PaymentMethod.Type.Link to "Link",
+  )
+
+private val US_BANK_ACCOUNT_HOLDER_TYPES =
+  enumTable(
+    PaymentMethod.USBankAccount.USBankAccountHolderType.COMPANY to "Company",
+    PaymentMethod.USBankAccount.USBankAccountHolderType.INDIVIDUAL to "Individual",
+  )
+
+private val US_BANK_ACCOUNT_TYPES =
+  enumTable(
+    PaymentMethod.USBankAccount.USBankAccountType.CHECKING to "Checking",
+    PaymentMethod.USBankAccount.USBankAccountType.SAVINGS to "Savings",
+  )
+
+// Result schemas. Nested schemas must be declared before the schemas that use them, since
+// top-level properties are initialized in declaration order.
+
+private val ADDRESS_SCHEMA =
+  mapSchema<Address> {
+    string("country") { it.country }
+    string("city") { it.city }
+    string("line1") { it.line1 }
+    string("line2") { it.line2 }
+    string("postalCode") { it.postalCode }
+    string("state") { it.state }
+  }
+
+private val BILLING_DETAILS_SCHEMA =
+  mapSchema<PaymentMethod.BillingDetails> {
+    string("email") { it.email }
+    string("phone") { it.phone }
+    string("name") { it.name }
+    nested("address", ADDRESS_SCHEMA) { it.address }
+  }
+
+private val PAYMENT_METHOD_SCHEMA =
+  mapSchema<PaymentMethod> {
+    string("id") { it.id }
+    string("paymentMethodType") { mapPaymentMethodType(it.type) }
+    boolean("livemode") { it.liveMode }
+    string("customerId") { it.customerId }
+    nested("billingDetails", BILLING_DETAILS_SCHEMA) { it.billingDetails }
+    nested("Card", value = { it.card }) {
+      string("brand", absent = mapCardBrand(null)) { mapCardBrand(it.brand) }
+      string("country") { it.country }
+      optionalInt("expYear") { it.expiryYear }
+      optionalInt("expMonth") { it.expiryMonth }
+      string("funding") { it.funding }
+      string("last4") { it.last4 }
+      string("fingerprint") { it.fingerprint }
+      string("preferredNetwork") { it.networks?.preferred }
+      stringArray("availableNetworks") { it.networks?.available }
+      nested("threeDSecureUsage", value = { it.threeDSecureUsage }) {
+        boolean("isSupported") { it.isSupported }
+      }
+    }
+    nested("SepaDebit", value = { it.sepaDebit }) {
+      string("bankCode") { it.bankCode }
+      string("country") { it.country }
+      string("fingerprint") { it.fingerprint }
+      string("last4") { it.branchCode }
+    }
+    nested("BacsDebit", value = { it.bacsDebit }) {
+      string("fingerprint") { it.fingerprint }
+      string("last4") { it.last4 }
+      string("sortCode") { it.sortCode }
+    }
+    nested("AuBecsDebit", value = { it.bacsDebit }) {
+      string("bsbNumber") { it.sortCode }
+      string("fingerprint") { it.fingerprint }
+      string("last4") { it.last4 }
+    }
+    nested("Ideal", value = { it.ideal }) {
+      string("bankName") { it.bank }
+      string("bankIdentifierCode") { it.bankIdentifierCode }
+    }
+    nested("Fpx", value = { it.fpx }) {
+      string("accountHolderType") { it.accountHolderType }
+      string("bank") { it.bank }
+    }
+    nested("USBankAccount", value = { it.usBankAccount }) {
+      string("routingNumber") { it.routingNumber }
+      string("accountType", absent = mapFromUSBankAccountType(null)) {
+        mapFromUSBankAccountType(it.accountType)
+      }
+      string("accountHolderType", absent = mapFromUSBankAccountHolderType(null)) {
+        mapFromUSBankAccountHolderType(it.accountHolderType)
+      }
+      string("last4") { it.last4 }
+      string("bankName") { it.bankName }
+      string("linkedAccount") { it.financialConnectionsAccount }
+      string("fingerprint") { it.fingerprint }
+      string("preferredNetworks") { it.networks?.preferred }
+      stringArray("supportedNetworks") { it.networks?.supported }
+    }
+  }
+
+private val PAYMENT_INTENT_SCHEMA =
+  mapSchema<PaymentIntent> {
+    string("id") { it.id }
+    string("clientSecret") { it.clientSecret }
+    boolean("livemode") { it.isLiveMode }
+    string("paymentMethodId") { it.paymentMethodId }
+    nested("paymentMethod", PAYMENT_METHOD_SCHEMA, AbsentValue.Null) { it.paymentMethod }
+    string("receiptEmail") { it.receiptEmail }
+    string("currency") { it.currency }
+    string("status") { mapIntentStatus(it.status) }
+    string("description") { it.description }
+    string("created") { convertToUnixTimestamp(it.created) }
+    string("captureMethod") { mapCaptureMethod(it.captureMethod) }
+    string("confirmationMethod") { mapConfirmationMethod(it.confirmationMethod) }
+    map("nextAction") { mapNextAction(it.nextActionType, it.nextActionData) }
+    nested("lastPaymentError", AbsentValue.Null, { it.lastPaymentError }) {
+      string("code") { it.code }
+      string("message") { it.message }
+      string("type") { mapFromPaymentIntentLastErrorType(it.type) }
+      string("declineCode") { it.declineCode }
+      nested("paymentMethod", PAYMENT_METHOD_SCHEMA, AbsentValue.Omitted) { it.paymentMethod }
+    }
+    map("shipping") { it.shipping?.let(::mapIntentShipping) }
+    double("amount") { it.amount?.toDouble() }
+    string("canceledAt") { convertToUnixTimestamp(it.canceledAt) }
+  }
+
+private val SETUP_INTENT_SCHEMA =
+  mapSchema<SetupIntent> {
+    string("id") { it.id }
+    string("status") { mapIntentStatus(it.status) }
+    string("description") { it.description }
+    boolean("livemode") { it.isLiveMode }
+    string("clientSecret") { it.clientSecret }
+    string("paymentMethodId") { it.paymentMethodId }
+    nested("paymentMethod", PAYMENT_METHOD_SCHEMA, AbsentValue.Null) { it.paymentMethod }
+    string("usage") { mapSetupIntentUsage(it.usage) }
+    string("created") { convertToUnixTimestamp(it.created) }
+    map("nextAction") { mapNextAction(it.nextActionType, it.nextActionData) }
+    nested("lastSetupError", AbsentValue.Omitted, { it.lastSetupError }) {
+      string("code") { it.code }
+      string("message") { it.message }
+      string("type") { mapFromSetupIntentLastErrorType(it.type) }
+      string("declineCode") { it.declineCode }
+      nested("paymentMethod", PAYMENT_METHOD_SCHEMA, AbsentValue.Omitted) { it.paymentMethod }
+    }
+    custom("paymentMethodTypes") { setupIntent, map, _ ->
+      val paymentMethodTypes = Arguments.createArray()
+      setupIntent?.paymentMethodTypes?.forEach { code ->
+        PaymentMethod.Type.fromCode(code)?.let { paymentMethodTypes.pushString(mapPaymentMethodType(it)) }
+      }
+      map.putArray("paymentMethodTypes", paymentMethodTypes)
+    }
+  }
+
+@SuppressLint("RestrictedApi")
+private val CONFIRMATION_TOKEN_SCHEMA =
+  mapSchema<ConfirmationToken> {
+    string("id") { it.id }
+    double("created") { it.created.toDouble() }
+    double("expiresAt") { it.expiresAt?.toDouble() ?: 0.0 }
+    boolean("liveMode") { it.liveMode }
+    string("paymentIntentId") { it.paymentIntentId }
+    string("setupIntentId") { it.setupIntentId }
+    string("returnURL") { it.returnUrl }
+    string("setupFutureUsage") { mapFromSetupFutureUsage(it.setupFutureUsage) }
+    nested("paymentMethodPreview", AbsentValue.Null, { it.paymentMethodPreview }) {
+      string("type") { mapPaymentMethodType(it.type) }
+      nested("billingDetails", BILLING_DETAILS_SCHEMA) { it.billingDetails }
+      string("allowRedisplay") { mapFromAllowRedisplay(it.allowRedisplay) }
+      string("customerId") { it.customerId }
+    }
+    nested("shipping", AbsentValue.Null, { it.shipping }) {
+      string("name") { it.name }
+      string("phone") { it.phone }
+      nested("address", AbsentValue.EmptyMap, { it.address }) {
+        string("city") { it.city }
+        string("country") { it.country }
+        string("line1") { it.line1 }
+        string("line2") { it.line2 }
+        string("postalCode") { it.postalCode }
+        string("state") { it.state }
+      }
+    }
+  }
+
 private const val SECONDS_TO_MILLIS = 1000
 private const val CARD_BRAND_JCB = 0
 private const val CARD_BRAND_AMEX = 1
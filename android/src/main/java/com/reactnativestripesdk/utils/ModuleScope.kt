@@ -0,0 +1,79 @@
+package com.reactnativestripesdk.utils
+
+import kotlinx.coroutines.CoroutineDispatcher
+import kotlinx.coroutines.CoroutineScope
+import kotlinx.coroutines.Dispatchers
+import kotlinx.coroutines.ExperimentalCoroutinesApi
+import kotlinx.coroutines.Job
+import kotlinx.coroutines.SupervisorJob
+import kotlinx.coroutines.cancel
+import kotlinx.coroutines.launch
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.coroutines.CoroutineContext
+import kotlin.coroutines.EmptyCoroutineContext
+
+/**
+ * Coroutine scope owned by a native module, for work started by JS calls.
+ *
+ * Jobs run on an IO dispatcher limited to [parallelism] threads unless another dispatcher is
+ * passed. The limit is on threads, not jobs: a job that suspends gives its thread to the next one.
+ * Jobs share a [SupervisorJob] so one failing job doesn't cancel the others. Call [cancel]
+ * from the module's `invalidate()`, so work started before a reload doesn't keep using the network
+ * or resolve promises for a JS context that no longer exists.
+ */
+class ModuleScope(
+  parallelism: Int = DEFAULT_PARALLELISM,
+) {
+  @OptIn(ExperimentalCoroutinesApi::class)
+  val io: CoroutineDispatcher = Dispatchers.IO.limitedParallelism(parallelism)
+
+  private val scope = CoroutineScope(SupervisorJob() + io)
+  private val notStarted = AtomicInteger()
+  private val inFlight = AtomicInteger()
+
+  /**
+   * Jobs that have started and not finished yet. This includes jobs suspended in a network call or
+   * `await()`, which don't hold a thread while suspended, so it can be higher than [parallelism].
+   */
+  val inFlightJobs: Int
+    get() = inFlight.get()
+
+  /**
+   * Jobs that were launched but haven't been dispatched yet. Only jobs that block a thread for their
+   * whole run make this grow beyond a momentary gap after `launch`.
+   */
+  val notStartedJobs: Int
+    get() = notStarted.get()
+
+  fun launch(
+    context: CoroutineContext = EmptyCoroutineContext,
+    block: suspend CoroutineScope.() -> Unit,
+  ): Job {
+    notStarted.incrementAndGet()
+    val started = AtomicBoolean(false)
+    val job =
+      scope.launch(context) {
+        if (started.compareAndSet(false, true)) notStarted.decrementAndGet()
+        inFlight.incrementAndGet()
+        try {
+          block()
+        } finally {
+          inFlight.decrementAndGet()
+        }
+      }
+    // A job cancelled before it started never runs its block.
+    job.invokeOnCompletion {
+      if (started.compareAndSet(false, true)) notStarted.decrementAndGet()
+    }
+    return job
+  }
+
+  fun cancel() {
+    scope.cancel()
+  }
+
+  private companion object {
+    const val DEFAULT_PARALLELISM = 4
+  }
+}
@@ -0,0 +1,72 @@
+package com.reactnativestripesdk.utils
+
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.TimeoutCancellationException
+import kotlinx.coroutines.withTimeout
+import java.util.concurrent.TimeoutException
+import java.util.concurrent.atomic.AtomicLong
+
+/**
+ * Native calls waiting for JS to send back a result, keyed by request id.
+ *
+ * Each call gets its own id, which is sent to JS with the event asking for the result and passed
+ * back with it, so calls that overlap don't overwrite or complete each other. A result sent back
+ * without an id completes the oldest waiting call, which keeps JS that doesn't pass ids working as
+ * long as it only has one call in flight.
+ */
+internal class PendingCalls<T>(
+  private val timeoutMs: Long = DEFAULT_TIMEOUT_MS,
+) {
+  private val lock = Any()
+  private val calls = LinkedHashMap<String, CompletableDeferred<T>>()
+  private val lastRequestId = AtomicLong()
+
+  /** Calls waiting for a result right now. */
+  val pending: Int
+    get() = synchronized(lock) { calls.size }
+
+  /**
+   * Registers a call, passes its id to [request] so it can be sent to JS, and waits for [complete]
+   * with that id. Waits indefinitely if the timeout isn't positive.
+   *
+   * @throws TimeoutException if no result arrives within the timeout.
+   */
+  suspend fun await(request: (requestId: String) -> Unit): T {
+    val requestId = lastRequestId.incrementAndGet().toString()
+    val call = CompletableDeferred<T>()
+    synchronized(lock) { calls[requestId] = call }
+    try {
+      request(requestId)
+      if (timeoutMs <= 0) {
+        return call.await()
+      }
+      return try {
+        withTimeout(timeoutMs) { call.await() }
+      } catch (_: TimeoutCancellationException) {
+        throw TimeoutException("JS didn't respond to request $requestId within ${timeoutMs}ms")
+      }
+    } finally {
+      synchronized(lock) { calls.remove(requestId) }
+    }
+  }
+
+  /**
+   * Completes the call with [requestId], or the oldest waiting call if it's null. Returns false if
+   * there's no such call, e.g. because it already timed out.
+   */
+  fun complete(
+    requestId: String?,
+    value: T,
+  ): Boolean {
+    val call =
+      synchronized(lock) {
+        val key = requestId ?: calls.keys.firstOrNull() ?: return false
+        calls.remove(key)
+      }
+    return call?.complete(value) ?: false
+  }
+
+  companion object {
+    const val DEFAULT_TIMEOUT_MS = 120_000L
+  }
+}
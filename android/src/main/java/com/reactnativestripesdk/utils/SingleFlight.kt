@@ -0,0 +1,45 @@
+package com.reactnativestripesdk.utils
+
+import kotlinx.coroutines.CompletableDeferred
+
+/**
+ * Shares one in-flight call per key between concurrent callers.
+ *
+ * The first caller for a key runs the block; callers arriving before it finishes wait for and
+ * receive the same result, or the same exception. Nothing is kept once the call finishes, so a
+ * later caller starts a new one. Only use this for reads that are safe to share.
+ */
+internal class SingleFlight<K, V> {
+  private val lock = Any()
+  private val calls = HashMap<K, CompletableDeferred<V>>()
+
+  /** Calls currently running. */
+  val inFlight: Int
+    get() = synchronized(lock) { calls.size }
+
+  suspend fun run(
+    key: K,
+    block: suspend () -> V,
+  ): V {
+    var owner = false
+    val call =
+      synchronized(lock) {
+        calls.getOrPut(key) {
+          owner = true
+          CompletableDeferred()
+        }
+      }
+    if (!owner) {
+      return call.await()
+    }
+
+    try {
+      return block().also { call.complete(it) }
+    } catch (e: Throwable) {
+      call.completeExceptionally(e)
+      throw e
+    } finally {
+      synchronized(lock) { calls.remove(key) }
+    }
+  }
+}
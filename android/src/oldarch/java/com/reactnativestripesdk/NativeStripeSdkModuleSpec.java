@@ -80,11 +80,19 @@ public abstract class NativeStripeSdkModuleSpec extends ReactContextBaseJavaModu
 
   @ReactMethod
   @DoNotStrip
-  public abstract void retrievePaymentIntent(String clientSecret, Promise promise);
+  public abstract void retrievePaymentIntent(String clientSecret, @Nullable ReadableMap options, Promise promise);
 
   @ReactMethod
   @DoNotStrip
-  public abstract void retrieveSetupIntent(String clientSecret, Promise promise);
+  public abstract void retrieveSetupIntent(String clientSecret, @Nullable ReadableMap options, Promise promise);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void waitForPaymentIntentStatus(String clientSecret, @Nullable ReadableMap options, Promise promise);
+
+  @ReactMethod
+  @DoNotStrip
+  public abstract void waitForSetupIntentStatus(String clientSecret, @Nullable ReadableMap options, Promise promise);
 
   @ReactMethod
   @DoNotStrip
@@ -219,27 +227,27 @@ public abstract class NativeStripeSdkModuleSpec extends ReactContextBaseJavaModu
 
   @ReactMethod
   @DoNotStrip
-  public abstract void customerAdapterFetchPaymentMethodsCallback(ReadableArray paymentMethods, Promise promise);
+  public abstract void customerAdapterFetchPaymentMethodsCallback(ReadableArray paymentMethods, @Nullable String requestId, Promise promise);
 
   @ReactMethod
   @DoNotStrip
-  public abstract void customerAdapterAttachPaymentMethodCallback(ReadableMap paymentMethod, Promise promise);
+  public abstract void customerAdapterAttachPaymentMethodCallback(ReadableMap paymentMethod, @Nullable String requestId, Promise promise);
 
   @ReactMethod
   @DoNotStrip
-  public abstract void customerAdapterDetachPaymentMethodCallback(ReadableMap paymentMethod, Promise promise);
+  public abstract void customerAdapterDetachPaymentMethodCallback(ReadableMap paymentMethod, @Nullable String requestId, Promise promise);
 
   @ReactMethod
   @DoNotStrip
-  public abstract void customerAdapterSetSelectedPaymentOptionCallback(Promise promise);
+  public abstract void customerAdapterSetSelectedPaymentOptionCallback(@Nullable String requestId, Promise promise);
 
   @ReactMethod
   @DoNotStrip
-  public abstract void customerAdapterFetchSelectedPaymentOptionCallback(@Nullable String paymentOption, Promise promise);
+  public abstract void customerAdapterFetchSelectedPaymentOptionCallback(@Nullable String paymentOption, @Nullable String requestId, Promise promise);
 
   @ReactMethod
   @DoNotStrip
-  public abstract void customerAdapterSetupIntentClientSecretForCustomerAttachCallback(String clientSecret, Promise promise);
+  public abstract void customerAdapterSetupIntentClientSecretForCustomerAttachCallback(String clientSecret, @Nullable String requestId, Promise promise);
 
   @ReactMethod
   @DoNotStrip
@@ -17,6 +17,8 @@ import com.facebook.react.bridge.ReadableMap
 import com.facebook.react.bridge.WritableNativeMap
 import com.facebook.react.module.annotations.ReactModule
 import com.reactnativestripesdk.utils.ErrorType
+import com.reactnativestripesdk.utils.ModuleScope
+import com.reactnativestripesdk.utils.SingleFlight
 import com.reactnativestripesdk.utils.createCanceledError
 import com.reactnativestripesdk.utils.createEmptyResult
 import com.reactnativestripesdk.utils.createError
@@ -59,13 +61,8 @@ import com.stripe.android.link.PaymentMethodPreviewDetails
 import com.stripe.android.model.CardBrand
 import com.stripe.android.model.DateOfBirth
 import kotlinx.coroutines.CompletableDeferred
-import kotlinx.coroutines.CoroutineScope
 import kotlinx.coroutines.Dispatchers
-import kotlinx.coroutines.SupervisorJob
-import kotlinx.coroutines.cancel
-import kotlinx.coroutines.launch
 import kotlinx.coroutines.withContext
-import kotlinx.coroutines.withTimeout
 import kotlinx.coroutines.withTimeoutOrNull
 
 @SuppressLint("RestrictedApi")
@@ -92,7 +89,13 @@ class OnrampSdkModule(
   private var samsungPayAvailability = CompletableDeferred(false)
 
   private var checkoutClientSecretDeferred: CompletableDeferred<String>? = null
-  private val rnScope = CoroutineScope(SupervisorJob() + Dispatchers.Main.immediate)
+
+  /** Runs every onramp call; cancelled when the module is invalidated. */
+  private val scope = ModuleScope()
+
+  // Reads that a re-rendering screen may repeat while the first call is still running.
+  private val hasLinkAccountCalls = SingleFlight<String, OnrampHasLinkAccountResult>()
+  private val missingIdentifiersCalls = SingleFlight<Unit, OnrampRetrieveMissingIdentifiersResult>()
 
   @ReactMethod
   override fun initialise(
@@ -113,7 +116,7 @@ class OnrampSdkModule(
 
   override fun invalidate() {
     super.invalidate()
-    rnScope.cancel()
+    scope.cancel()
   }
 
   /**
@@ -187,11 +190,11 @@ class OnrampSdkModule(
         .build(application, SavedStateHandle(), onrampCallbacks)
         .also { this.onrampCoordinator = it }
 
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       val configuration = mapConfig(config, publishableKey, onrampAdditionalSdkVersions())
       val configureResult = coordinator.configure(configuration)
 
-      CoroutineScope(Dispatchers.Main).launch {
+      withContext(Dispatchers.Main) {
         when (configureResult) {
           is OnrampConfigurationResult.Completed -> {
             createOnrampPresenter(promise)
@@ -206,7 +209,7 @@ class OnrampSdkModule(
 
   @ReactMethod
   override fun isSamsungPaySupported(promise: Promise) {
-    rnScope.launch {
+    scope.launch(Dispatchers.Main.immediate) {
       val isSupported =
         withTimeoutOrNull(15_000L) {
           samsungPayAvailability.await()
@@ -249,8 +252,8 @@ class OnrampSdkModule(
         promise.resolve(createOnrampNotConfiguredError())
         return
       }
-    CoroutineScope(Dispatchers.IO).launch {
-      when (val result = coordinator.hasLinkAccount(email)) {
+    scope.launch {
+      when (val result = hasLinkAccountCalls.run(email) { coordinator.hasLinkAccount(email) }) {
         is OnrampHasLinkAccountResult.Completed -> {
           promise.resolveBoolean("hasLinkAccount", result.hasLinkAccount)
         }
@@ -271,7 +274,7 @@ class OnrampSdkModule(
         promise.resolve(createOnrampNotConfiguredError())
         return
       }
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       val linkUserInfo =
         LinkUserInfo(
           email = info.getString("email") ?: "",
@@ -303,7 +306,7 @@ class OnrampSdkModule(
         promise.resolve(createOnrampNotConfiguredError())
         return
       }
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       val cryptoNetwork = enumValues<CryptoNetwork>().firstOrNull { it.value == network }
       if (cryptoNetwork == null) {
         promise.resolve(createError(ErrorType.Unknown.toString(), "Invalid network: $network"))
@@ -331,7 +334,7 @@ class OnrampSdkModule(
         promise.resolve(createOnrampNotConfiguredError())
         return
       }
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       when (val result = coordinator.deleteWalletAddress(walletId)) {
         is OnrampDeleteWalletAddressResult.Completed -> {
           promise.resolveVoid()
@@ -354,7 +357,7 @@ class OnrampSdkModule(
         promise.resolve(createOnrampNotConfiguredError())
         return
       }
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       val cryptoNetwork = enumValues<CryptoNetwork>().firstOrNull { it.value == network }
       if (cryptoNetwork == null) {
         promise.resolve(createError(ErrorType.Unknown.toString(), "Invalid network: $network"))
@@ -387,7 +390,7 @@ class OnrampSdkModule(
         promise.resolve(createOnrampNotConfiguredError())
         return
       }
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       when (val result = coordinator.submitWalletOwnershipSignature(challengeId, signature)) {
         is OnrampSubmitWalletOwnershipSignatureResult.Completed -> {
           promise.resolve(
@@ -413,7 +416,7 @@ class OnrampSdkModule(
         promise.resolve(createOnrampNotConfiguredError())
         return
       }
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       val firstName = kycInfo.getString("firstName")
       val lastName = kycInfo.getString("lastName")
       val idNumber = kycInfo.getString("idNumber")
@@ -475,8 +478,8 @@ class OnrampSdkModule(
         return
       }
 
-    CoroutineScope(Dispatchers.IO).launch {
-      when (val result = coordinator.retrieveMissingIdentifiers()) {
+    scope.launch {
+      when (val result = missingIdentifiersCalls.run(Unit) { coordinator.retrieveMissingIdentifiers() }) {
         is OnrampRetrieveMissingIdentifiersResult.Completed -> {
           promise.resolve(mapFromComplianceIdentifierRequirements(result.requirements))
         }
@@ -512,7 +515,7 @@ class OnrampSdkModule(
         return
       }
 
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       when (val result = coordinator.submitIdentifiers(complianceIdentifiers)) {
         is OnrampSubmitIdentifiersResult.Completed -> {
           promise.resolve(mapFromSubmitIdentifiersResult(result.result))
@@ -546,7 +549,7 @@ class OnrampSdkModule(
         promise.resolve(createOnrampNotConfiguredError())
         return
       }
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       when (val result = coordinator.updatePhoneNumber(phone)) {
         is OnrampUpdatePhoneNumberResult.Completed -> {
           promise.resolveVoid()
@@ -621,9 +624,9 @@ class OnrampSdkModule(
         return
       }
 
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       val result = coordinator.createCryptoPaymentToken()
-      CoroutineScope(Dispatchers.Main).launch {
+      withContext(Dispatchers.Main) {
         handleOnrampCreateCryptoPaymentTokenResult(result, promise)
       }
     }
@@ -680,6 +683,7 @@ class OnrampSdkModule(
   ) {
     val context = reactApplicationContext
 
+    var iconKey = ""
     val paymentDetails: PaymentMethodPreview? =
       when {
         token.hasKey("card") -> {
@@ -689,6 +693,7 @@ class OnrampSdkModule(
             val funding = cardMap.getString("funding") ?: ""
             val last4 = cardMap.getString("last4") ?: ""
             val cardBrand = CardBrand.fromCode(brand)
+            iconKey = "onramp-card:$brand:$funding:$last4"
 
             PaymentMethodPreview.create(
               context = context,
@@ -709,6 +714,7 @@ class OnrampSdkModule(
           if (bankMap != null) {
             val bankName = bankMap.getString("bank_name")
             val last4 = bankMap.getString("last4") ?: ""
+            iconKey = "onramp-bank:$bankName:$last4"
             PaymentMethodPreview.create(
               context = context,
               details =
@@ -734,24 +740,12 @@ class OnrampSdkModule(
       )
       return
     }
-    rnScope.launch {
+    scope.launch(Dispatchers.Main.immediate) {
       val iconDataUri: String =
         try {
-          val base64 =
-            withContext(Dispatchers.Default) {
-              val drawable =
-                withTimeout(5_000L) {
-                  withContext(Dispatchers.IO) {
-                    paymentDetails.imageLoader()
-                  }
-                }
-
-              getBitmapFromDrawable(drawable)?.let { bitmap ->
-                getBase64FromBitmap(bitmap)
-              } ?: ""
-            }
+          val base64 = loadCachedIcon(iconKey) { paymentDetails.imageLoader() }
 
-          if (base64.isNotEmpty()) "data:image/png;base64,$base64" else ""
+          if (base64.isNotEmpty()) toIconUri(base64) else ""
         } catch (_: Exception) {
           ""
         }
@@ -779,9 +773,9 @@ class OnrampSdkModule(
         return
       }
 
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       val result = coordinator.logOut()
-      CoroutineScope(Dispatchers.Main).launch {
+      withContext(Dispatchers.Main) {
         handleLogOutResult(result, promise)
       }
     }
@@ -798,7 +792,7 @@ class OnrampSdkModule(
         return
       }
 
-    CoroutineScope(Dispatchers.IO).launch {
+    scope.launch {
       val result = coordinator.authenticateUserWithToken(token)
 
       withContext(Dispatchers.Main) {
@@ -883,24 +877,15 @@ class OnrampSdkModule(
   ) {
     when (result) {
       is OnrampCollectPaymentMethodResult.Completed -> {
-        rnScope.launch {
+        scope.launch(Dispatchers.Main.immediate) {
           val iconDataUri =
             try {
               val base64 =
-                withContext(Dispatchers.Default) {
-                  val drawable =
-                    withTimeout(5_000L) {
-                      withContext(Dispatchers.IO) {
-                        result.displayData.imageLoader()
-                      }
-                    }
-
-                  getBitmapFromDrawable(drawable)?.let { bitmap ->
-                    getBase64FromBitmap(bitmap)
-                  } ?: ""
-                }
-
-              if (base64.isNotEmpty()) "data:image/png;base64,$base64" else ""
+                loadCachedIcon(
+                  "onramp-collect:${result.displayData.type}:${result.displayData.label}:${result.displayData.sublabel}",
+                ) { result.displayData.imageLoader() }
+
+              if (base64.isNotEmpty()) toIconUri(base64) else ""
             } catch (_: Exception) {
               ""
             }
@@ -0,0 +1,72 @@
+package com.reactnativestripesdk
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class CardChangeEventTest {
+  @Test
+  fun visibleToJs_HiddenFieldChanges_CompareEqual() {
+    val before = CardFieldDetails(postalCode = "94", number = "4242", cvc = "12")
+    val after = before.copy(postalCode = "941", number = "42424", cvc = "123")
+
+    assertEquals(before.visibleToJs(false, false), after.visibleToJs(false, false))
+    assertNotEquals(before.visibleToJs(true, false), after.visibleToJs(true, false))
+    assertNotEquals(before.visibleToJs(false, true), after.visibleToJs(false, true))
+  }
+
+  @Test
+  fun getEventData_WritesCardState() {
+    val details =
+      CardFieldDetails(
+        brand = "Visa",
+        last4 = "4242",
+        expiryMonth = 12,
+        postalCode = "94107",
+        validNumber = "Valid",
+        number = "4242 4242",
+        complete = true,
+      )
+
+    val card = CardChangeEvent(1, 2, details, postalCodeEnabled = true, dangerouslyGetFullCardDetails = true).eventData!!.getMap("card")!!
+
+    assertEquals("Visa", card.getString("brand"))
+    assertEquals(12, card.getInt("expiryMonth"))
+    assertTrue(card.isNull("expiryYear"))
+    assertTrue(card.getBoolean("complete"))
+    assertEquals("Valid", card.getString("validNumber"))
+    assertEquals("Unknown", card.getString("validCVC"))
+    assertEquals("94107", card.getString("postalCode"))
+    assertEquals("42424242", card.getString("number"))
+  }
+
+  @Test
+  fun getEventData_HidesPostalCodeAndFullDetailsUnlessEnabled() {
+    val card =
+      CardChangeEvent(1, 2, CardFieldDetails(number = "4242", cvc = "123"), false, false)
+        .eventData!!
+        .getMap("card")!!
+
+    assertFalse(card.hasKey("postalCode"))
+    assertFalse(card.hasKey("number"))
+    assertFalse(card.hasKey("cvc"))
+  }
+
+  @Test
+  fun coalescingKey_SeparatesCompleteAndIncompleteCards() {
+    val incomplete = CardChangeEvent(1, 2, CardFieldDetails(), false, false)
+    val complete = CardChangeEvent(1, 2, CardFieldDetails(complete = true), false, false)
+
+    assertTrue(incomplete.canCoalesce())
+    assertNotEquals(incomplete.coalescingKey, complete.coalescingKey)
+    assertNotEquals(
+      CardFormCompleteEvent(1, 2, null, false, false).coalescingKey,
+      CardFormCompleteEvent(1, 2, null, true, false).coalescingKey,
+    )
+  }
+}
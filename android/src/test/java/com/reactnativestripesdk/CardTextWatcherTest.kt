@@ -0,0 +1,121 @@
+package com.reactnativestripesdk
+
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Assume.assumeTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import java.lang.management.ManagementFactory
+
+@RunWith(RobolectricTestRunner::class)
+class CardTextWatcherTest {
+  @Test
+  fun parseIntOrNull_MatchesToIntOrNull() {
+    val inputs =
+      listOf("", "0", "07", "12", "1a", " 1", "+", "-", "+5", "-5", "2147483647", "2147483648", "-2147483648", "-2147483649")
+    inputs.forEach {
+      assertEquals(it, it.toIntOrNull(), it.parseIntOrNull(0, it.length))
+    }
+  }
+
+  @Test
+  fun withExpiryText_MatchesSplittingOnSlash() {
+    var details = CardFieldDetails()
+    listOf("1", "12", "12/", "12/3", "12/34", "12/3", "12", "1/2/3", "ab/cd", "").forEach { text ->
+      val splitText = text.split("/")
+      val expectedYear = if (splitText.size == 2) splitText[1].toIntOrNull() else details.expiryYear
+      details = details.withExpiryText(StringBuilder(text))
+
+      assertEquals(text, splitText[0].toIntOrNull(), details.expiryMonth)
+      assertEquals(text, expectedYear, details.expiryYear)
+    }
+  }
+
+  @Test
+  fun withNumberText_DropsSpaces() {
+    val details = CardFieldDetails().withNumberText(StringBuilder("4242 4242 4242 4242"))
+
+    assertEquals("4242424242424242", details.number)
+    assertSame(details, details.withNumberText(StringBuilder("42424242 42424242")))
+    assertTrue(StringBuilder(" 4 2 ").contentEqualsIgnoringSpaces("42"))
+    assertFalse(StringBuilder("42").contentEqualsIgnoringSpaces("424"))
+    assertFalse(StringBuilder("").contentEqualsIgnoringSpaces(null))
+  }
+
+  @Test
+  fun unchangedText_ReturnsSameInstance() {
+    val details =
+      CardFieldDetails()
+        .withExpiryText("12/34")
+        .withPostalCodeText("94107")
+        .withNumberText("4242 4242")
+        .withCvcText("123")
+
+    assertSame(details, details.withExpiryText(StringBuilder("12/34")))
+    assertSame(details, details.withPostalCodeText(StringBuilder("94107")))
+    assertSame(details, details.withNumberText(StringBuilder("4242 4242")))
+    assertSame(details, details.withCvcText(StringBuilder("123")))
+  }
+
+  @Test
+  fun keystrokes_AllocateLessThanSplittingStrings() {
+    val threads = ManagementFactory.getThreadMXBean() as? com.sun.management.ThreadMXBean
+    assumeTrue(threads != null && threads.isThreadAllocatedMemorySupported)
+    threads!!.isThreadAllocatedMemoryEnabled = true
+    val threadId = Thread.currentThread().id
+
+    // The field text is edited in place, like an Editable, and re-read on every keystroke.
+    val text = StringBuilder()
+    var details = CardFieldDetails()
+    var legacyDetails = CardFieldDetails()
+
+    fun allocatedBytesPerKeystroke(keystroke: () -> Unit): Long {
+      repeat(KEYSTROKES) { keystroke() }
+      val before = threads.getThreadAllocatedBytes(threadId)
+      repeat(KEYSTROKES) { keystroke() }
+      return (threads.getThreadAllocatedBytes(threadId) - before) / KEYSTROKES
+    }
+
+    // Typing an expiry, then clearing the field to type it again.
+    var step = 0
+
+    fun typeNextStep() {
+      text.setLength(0)
+      text.append(TYPED_EXPIRY[step])
+      step = (step + 1) % TYPED_EXPIRY.size
+    }
+
+    val typed =
+      allocatedBytesPerKeystroke {
+        typeNextStep()
+        details = details.withExpiryText(text)
+      }
+    val legacy =
+      allocatedBytesPerKeystroke {
+        typeNextStep()
+        // What the expiry watcher did before it read the text in place.
+        val splitText = text.toString().split("/")
+        legacyDetails =
+          legacyDetails.copy(
+            expiryMonth = splitText[0].toIntOrNull(),
+            expiryYear = if (splitText.size == 2) splitText[1].toIntOrNull() else legacyDetails.expiryYear,
+          )
+      }
+    val unchanged =
+      allocatedBytesPerKeystroke {
+        details = details.withExpiryText(text)
+      }
+
+    assertEquals(legacyDetails, details)
+    assertTrue("typing allocated $typed bytes per keystroke, splitting $legacy", typed < legacy)
+    assertEquals(0L, unchanged)
+  }
+
+  private companion object {
+    const val KEYSTROKES = 10_000
+    val TYPED_EXPIRY = arrayOf("1", "12", "12/", "12/3", "")
+  }
+}
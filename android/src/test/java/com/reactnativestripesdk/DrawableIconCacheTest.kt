@@ -0,0 +1,189 @@
+package com.reactnativestripesdk
+
+import android.graphics.Canvas
+import android.graphics.Color
+import android.graphics.ColorFilter
+import android.graphics.Paint
+import android.graphics.PixelFormat
+import android.graphics.drawable.ColorDrawable
+import android.graphics.drawable.Drawable
+import kotlinx.coroutines.test.runTest
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.annotation.GraphicsMode
+
+@RunWith(RobolectricTestRunner::class)
+@GraphicsMode(GraphicsMode.Mode.NATIVE)
+class DrawableIconCacheTest {
+  @Before
+  fun setUp() {
+    DrawableIconCache.clear()
+    DrawableIconCache.setMaxPixels(0)
+    IconBitmapPool.clear()
+  }
+
+  @Test
+  fun `repeated conversions of the same drawable hit the cache`() =
+    runTest {
+      val drawable =
+        ColorDrawable(Color.BLUE).apply {
+          setBounds(0, 0, 147, 105)
+        }
+
+      val first = convertDrawableToBase64(drawable)
+      val before = DrawableIconCache.stats()
+      val second = convertDrawableToBase64(drawable)
+      val after = DrawableIconCache.stats()
+
+      assertEquals(first, second)
+      assertEquals(before.hits + 1, after.hits)
+      assertEquals(before.misses, after.misses)
+    }
+
+  @Test
+  fun `a new drawable with the same pixels hits the cache`() =
+    runTest {
+      // stripe-android returns a new drawable with no constant state for every payment option.
+      val first = convertDrawableToIcon(OptionIconDrawable(Color.BLUE))
+      val before = DrawableIconCache.stats()
+      val second = convertDrawableToIcon(OptionIconDrawable(Color.BLUE))
+      val after = DrawableIconCache.stats()
+
+      assertEquals(first, second)
+      assertEquals(before.hits + 1, after.hits)
+      assertEquals(before.misses, after.misses)
+    }
+
+  @Test
+  fun `icons with different pixels are cached separately`() {
+    val blue = getCachedBase64FromDrawable(OptionIconDrawable(Color.BLUE))
+    val red = getCachedBase64FromDrawable(OptionIconDrawable(Color.RED))
+
+    assertNotEquals(blue, red)
+    assertEquals(2, DrawableIconCache.stats().misses)
+  }
+
+  @Test
+  fun `cached result matches uncached encoding`() {
+    val drawable =
+      ColorDrawable(Color.RED).apply {
+        setBounds(0, 0, 100, 100)
+      }
+
+    val cached = getCachedBase64FromDrawable(drawable)
+    val uncached = getBase64FromBitmap(getBitmapFromDrawable(drawable))
+
+    assertEquals(uncached, cached)
+  }
+
+  @Test
+  fun `different sizes are cached separately`() {
+    val drawable =
+      ColorDrawable(Color.GREEN).apply {
+        setBounds(0, 0, 50, 50)
+      }
+    val small = getCachedBase64FromDrawable(drawable)
+
+    drawable.setBounds(0, 0, 100, 100)
+    val large = getCachedBase64FromDrawable(drawable)
+
+    assertNotEquals(small, large)
+  }
+
+  @Test
+  fun `keys are unchanged after keying a larger icon`() {
+    val small = getBitmapFromDrawable(OptionIconDrawable(Color.BLUE))!!
+    val large =
+      getBitmapFromDrawable(
+        ColorDrawable(Color.RED).apply {
+          setBounds(0, 0, 400, 200)
+        },
+      )!!
+
+    val before = DrawableIconCache.keyFor(small)
+    DrawableIconCache.keyFor(large)
+    val after = DrawableIconCache.keyFor(small)
+
+    assertEquals(before, after)
+    assertNotEquals(before, DrawableIconCache.keyFor(large))
+  }
+
+  @Test
+  fun `zero-size drawables are not cached`() {
+    val result = getCachedBase64FromDrawable(ColorDrawable(Color.RED))
+
+    assertNull(result)
+    assertEquals(0, DrawableIconCache.stats().sizeChars)
+  }
+
+  @Test
+  fun `released bitmaps are reused for the same dimensions`() {
+    val drawable =
+      ColorDrawable(Color.RED).apply {
+        setBounds(0, 0, 120, 80)
+      }
+
+    val first = getBitmapFromDrawable(drawable)
+    IconBitmapPool.release(first)
+    val second = getBitmapFromDrawable(drawable)
+
+    assertSame(first, second)
+  }
+
+  @Test
+  fun `large drawables are downsampled to maxPixels`() {
+    val drawable =
+      ColorDrawable(Color.RED).apply {
+        setBounds(0, 0, 400, 200)
+      }
+
+    val bitmap = getBitmapFromDrawable(drawable, maxPixels = 20_000)
+
+    assertEquals(200, bitmap!!.width)
+    assertEquals(100, bitmap.height)
+  }
+
+  @Test
+  fun `changing maxPixels invalidates cached icons`() {
+    val drawable =
+      ColorDrawable(Color.RED).apply {
+        setBounds(0, 0, 400, 200)
+      }
+    val full = getCachedBase64FromDrawable(drawable)
+
+    DrawableIconCache.setMaxPixels(20_000)
+    val downsampled = getCachedBase64FromDrawable(drawable)
+
+    assertNotEquals(full, downsampled)
+  }
+
+  private class OptionIconDrawable(
+    color: Int,
+  ) : Drawable() {
+    private val paint = Paint().apply { this.color = color }
+
+    override fun getIntrinsicWidth(): Int = 48
+
+    override fun getIntrinsicHeight(): Int = 32
+
+    override fun draw(canvas: Canvas) {
+      canvas.drawRect(bounds, paint)
+    }
+
+    override fun setAlpha(alpha: Int) {
+      paint.alpha = alpha
+    }
+
+    override fun setColorFilter(colorFilter: ColorFilter?) {
+      paint.colorFilter = colorFilter
+    }
+
+    override fun getOpacity(): Int = PixelFormat.OPAQUE
+  }
+}
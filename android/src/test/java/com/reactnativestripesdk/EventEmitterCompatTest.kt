@@ -0,0 +1,118 @@
+package com.reactnativestripesdk
+
+import android.os.Looper
+import com.facebook.react.bridge.ReactApplicationContext
+import com.facebook.react.modules.core.DeviceEventManagerModule
+import com.reactnativestripesdk.utils.readableMapOf
+import org.junit.Assert.assertEquals
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.times
+import org.mockito.Mockito.verify
+import org.mockito.Mockito.`when`
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import java.time.Duration
+
+@RunWith(RobolectricTestRunner::class)
+class EventEmitterCompatTest {
+  private val emitted = mutableListOf<Pair<String, Any?>>()
+  private val context = mock(ReactApplicationContext::class.java)
+  private lateinit var eventEmitter: EventEmitterCompat
+
+  @Before
+  fun setUp() {
+    `when`(context.getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter::class.java)).thenReturn(
+      object : DeviceEventManagerModule.RCTDeviceEventEmitter {
+        override fun emit(
+          eventName: String,
+          data: Any?,
+        ) {
+          emitted.add(eventName to data)
+        }
+      },
+    )
+    eventEmitter = EventEmitterCompat(context)
+  }
+
+  private fun runFrame() {
+    shadowOf(Looper.getMainLooper()).idleFor(Duration.ofMillis(100))
+  }
+
+  @Test
+  fun heightUpdates_AreCoalescedUntilNextFrame() {
+    eventEmitter.isInstrumentationEnabled = true
+    val last = readableMapOf("height" to 30.0)
+
+    eventEmitter.emitEmbeddedPaymentElementDidUpdateHeight(readableMapOf("height" to 10.0))
+    eventEmitter.emitEmbeddedPaymentElementDidUpdateHeight(readableMapOf("height" to 20.0))
+    eventEmitter.emitEmbeddedPaymentElementDidUpdateHeight(last)
+    assertEquals(emptyList<Pair<String, Any?>>(), emitted)
+
+    runFrame()
+
+    assertEquals(listOf("embeddedPaymentElementDidUpdateHeight" to last), emitted)
+    val stats = eventEmitter.debugStats().getValue("embeddedPaymentElementDidUpdateHeight")
+    assertEquals(1, stats.emitted)
+    assertEquals(2, stats.coalesced)
+    assertEquals(1L, stats.payloadValues)
+  }
+
+  @Test
+  fun checkoutStateUpdates_AreCoalescedPerSession() {
+    val firstSession = readableMapOf("sessionKey" to "first", "state" to readableMapOf("status" to "open"))
+    val secondSession = readableMapOf("sessionKey" to "second", "state" to readableMapOf("status" to "open"))
+    val firstSessionLatest = readableMapOf("sessionKey" to "first", "state" to readableMapOf("status" to "complete"))
+
+    eventEmitter.emitCheckoutSessionDidChangeState(firstSession)
+    eventEmitter.emitCheckoutSessionDidChangeState(secondSession)
+    eventEmitter.emitCheckoutSessionDidChangeState(firstSessionLatest)
+    runFrame()
+
+    assertEquals(
+      listOf(
+        "checkoutSessionDidChangeState" to secondSession,
+        "checkoutSessionDidChangeState" to firstSessionLatest,
+      ),
+      emitted,
+    )
+  }
+
+  @Test
+  fun immediateEvent_FlushesQueuedEventsFirst() {
+    eventEmitter.emitEmbeddedPaymentElementDidUpdateHeight(readableMapOf("height" to 10.0))
+    eventEmitter.emitOnFinancialConnectionsEvent(readableMapOf("name" to "open"))
+    eventEmitter.emitEmbeddedPaymentElementUpdateComplete(null)
+
+    assertEquals(
+      listOf(
+        "embeddedPaymentElementDidUpdateHeight",
+        "onFinancialConnectionsEvent",
+        "embeddedPaymentElementUpdateComplete",
+      ),
+      emitted.map { it.first },
+    )
+  }
+
+  @Test
+  fun financialConnectionsEvents_AreBatchedButNeverDropped() {
+    eventEmitter.emitOnFinancialConnectionsEvent(readableMapOf("name" to "open"))
+    eventEmitter.emitOnFinancialConnectionsEvent(readableMapOf("name" to "search"))
+    assertEquals(0, emitted.size)
+
+    runFrame()
+
+    assertEquals(listOf("onFinancialConnectionsEvent", "onFinancialConnectionsEvent"), emitted.map { it.first })
+  }
+
+  @Test
+  fun emitterModule_IsLookedUpOnce() {
+    eventEmitter.emitOnCustomerAdapterFetchPaymentMethodsCallback()
+    eventEmitter.emitOnCustomerAdapterFetchSelectedPaymentOptionCallback()
+
+    verify(context, times(1)).getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter::class.java)
+    assertEquals(2, emitted.size)
+  }
+}
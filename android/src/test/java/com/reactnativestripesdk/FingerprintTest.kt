@@ -0,0 +1,62 @@
+package com.reactnativestripesdk
+
+import com.reactnativestripesdk.utils.fingerprint
+import com.reactnativestripesdk.utils.readableArrayOf
+import com.reactnativestripesdk.utils.readableMapOf
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class FingerprintTest {
+  @Test
+  fun fingerprint_IgnoresKeyOrder() {
+    val first =
+      readableMapOf(
+        "merchantDisplayName" to "Example, Inc.",
+        "appearance" to readableMapOf("font" to readableMapOf("scale" to 1.1), "shapes" to readableMapOf()),
+      )
+    val second =
+      readableMapOf(
+        "appearance" to readableMapOf("shapes" to readableMapOf(), "font" to readableMapOf("scale" to 1.1)),
+        "merchantDisplayName" to "Example, Inc.",
+      )
+
+    assertEquals(first.fingerprint(), second.fingerprint())
+  }
+
+  @Test
+  fun fingerprint_ChangesWithNestedValues() {
+    val base = readableMapOf("intentConfiguration" to readableMapOf("mode" to readableMapOf("amount" to 1099.0)))
+    val changed = readableMapOf("intentConfiguration" to readableMapOf("mode" to readableMapOf("amount" to 1100.0)))
+
+    assertNotEquals(base.fingerprint(), changed.fingerprint())
+  }
+
+  @Test
+  fun fingerprint_DistinguishesTypesAndStructure() {
+    val fingerprints =
+      listOf(
+        readableMapOf("a" to "1"),
+        readableMapOf("a" to 1.0),
+        readableMapOf("a" to true),
+        readableMapOf("a" to null),
+        readableMapOf("a" to readableArrayOf("1")),
+        readableMapOf("a" to readableArrayOf("1", "")),
+        readableMapOf("a" to readableMapOf("1" to "")),
+        readableMapOf("ab" to ""),
+      ).map { it.fingerprint() }
+
+    assertEquals(fingerprints.size, fingerprints.toSet().size)
+  }
+
+  @Test
+  fun fingerprint_ArrayOrderMatters() {
+    assertNotEquals(
+      readableMapOf("paymentMethodOrder" to readableArrayOf("card", "klarna")).fingerprint(),
+      readableMapOf("paymentMethodOrder" to readableArrayOf("klarna", "card")).fingerprint(),
+    )
+  }
+}
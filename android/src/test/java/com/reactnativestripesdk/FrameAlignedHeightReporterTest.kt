@@ -0,0 +1,83 @@
+package com.reactnativestripesdk
+
+import android.view.Choreographer
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class FrameAlignedHeightReporterTest {
+  private val frameCallbacks = mutableListOf<Choreographer.FrameCallback>()
+  private val emitted = mutableListOf<Float>()
+
+  private fun reporter(minDelta: Float = 0f) =
+    FrameAlignedHeightReporter(
+      minDelta = minDelta,
+      postFrameCallback = { frameCallbacks.add(it) },
+      removeFrameCallback = { frameCallbacks.remove(it) },
+      emit = { emitted.add(it) },
+    )
+
+  private fun runFrame() {
+    val callbacks = frameCallbacks.toList()
+    frameCallbacks.clear()
+    callbacks.forEach { it.doFrame(0L) }
+  }
+
+  @Test
+  fun report_ManyHeightsInOneFrame_EmitsOnlyLatest() {
+    val reporter = reporter()
+
+    reporter.report(10f)
+    reporter.report(20f)
+    reporter.report(30f)
+    assertEquals(emptyList<Float>(), emitted)
+
+    runFrame()
+    runFrame()
+
+    assertEquals(listOf(30f), emitted)
+    assertEquals(2, reporter.suppressedCount)
+    assertEquals(emptyList<Choreographer.FrameCallback>(), frameCallbacks)
+  }
+
+  @Test
+  fun report_ChangeBelowMinDelta_IsEmittedOnceSettled() {
+    val reporter = reporter(minDelta = 5f)
+
+    reporter.report(100f)
+    runFrame()
+    reporter.report(102f)
+    runFrame()
+    assertEquals(listOf(100f), emitted)
+
+    runFrame()
+
+    assertEquals(listOf(100f, 102f), emitted)
+    assertEquals(1, reporter.suppressedCount)
+  }
+
+  @Test
+  fun reportNow_EmitsImmediatelyAndDropsQueuedHeight() {
+    val reporter = reporter()
+
+    reporter.report(50f)
+    reporter.reportNow(1f)
+    runFrame()
+
+    assertEquals(listOf(1f), emitted)
+    assertEquals(1, reporter.suppressedCount)
+  }
+
+  @Test
+  fun cancel_DropsQueuedHeight() {
+    val reporter = reporter()
+
+    reporter.report(50f)
+    reporter.cancel()
+    runFrame()
+
+    assertEquals(emptyList<Float>(), emitted)
+  }
+}
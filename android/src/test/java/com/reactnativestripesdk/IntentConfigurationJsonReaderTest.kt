@@ -0,0 +1,81 @@
+package com.reactnativestripesdk
+
+import com.reactnativestripesdk.utils.PaymentSheetException
+import com.stripe.android.paymentelement.PaymentMethodOptionsSetupFutureUsagePreview
+import com.stripe.android.paymentsheet.PaymentSheet
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+@OptIn(PaymentMethodOptionsSetupFutureUsagePreview::class)
+class IntentConfigurationJsonReaderTest {
+  @Test
+  fun parseIntentConfigurationJson_PaymentMode_ReadsAllFields() {
+    val result =
+      parseIntentConfigurationJson(
+        """
+        {
+          "mode": {
+            "amount": 1099,
+            "currencyCode": "usd",
+            "setupFutureUsage": "OffSession",
+            "captureMethod": "Manual",
+            "paymentMethodOptions": {
+              "setupFutureUsageValues": { "card": "OnSession", "not_a_type": "OffSession" }
+            }
+          },
+          "paymentMethodTypes": ["card", 1, "klarna"],
+          "onBehalfOf": "acct_123",
+          "unknownKey": { "nested": [1, 2, 3] }
+        }
+        """,
+      )
+
+    val mode = result.mode as PaymentSheet.IntentConfiguration.Mode.Payment
+    assertEquals(1099L, mode.amount)
+    assertEquals("usd", mode.currency)
+    assertEquals(PaymentSheet.IntentConfiguration.SetupFutureUse.OffSession, mode.setupFutureUse)
+    assertEquals(PaymentSheet.IntentConfiguration.CaptureMethod.Manual, mode.captureMethod)
+    assertNotNull(mode.paymentMethodOptions)
+    assertEquals(listOf("card", "klarna"), result.paymentMethodTypes)
+    assertEquals("acct_123", result.onBehalfOf)
+  }
+
+  @Test
+  fun parseIntentConfigurationJson_SetupMode_Success() {
+    val result = parseIntentConfigurationJson("""{"mode":{"currencyCode":null,"setupFutureUsage":"OnSession"}}""")
+
+    val mode = result.mode as PaymentSheet.IntentConfiguration.Mode.Setup
+    assertNull(mode.currency)
+    assertEquals(PaymentSheet.IntentConfiguration.SetupFutureUse.OnSession, mode.setupFutureUse)
+    assertEquals(emptyList<String>(), result.paymentMethodTypes)
+  }
+
+  @Test
+  fun parseIntentConfigurationJson_NullAmount_IsPaymentModeWithZeroAmount() {
+    val result = parseIntentConfigurationJson("""{"mode":{"amount":null,"currencyCode":"eur"}}""")
+
+    val mode = result.mode as PaymentSheet.IntentConfiguration.Mode.Payment
+    assertEquals(0L, mode.amount)
+    assertNull(mode.paymentMethodOptions)
+  }
+
+  @Test(expected = PaymentSheetException::class)
+  fun parseIntentConfigurationJson_MissingMode_ThrowsException() {
+    parseIntentConfigurationJson("""{"paymentMethodTypes":["card"]}""")
+  }
+
+  @Test(expected = PaymentSheetException::class)
+  fun parseIntentConfigurationJson_PaymentMode_MissingCurrency_ThrowsException() {
+    parseIntentConfigurationJson("""{"mode":{"amount":1000}}""")
+  }
+
+  @Test(expected = PaymentSheetException::class)
+  fun parseIntentConfigurationJson_SetupMode_MissingSetupFutureUsage_ThrowsException() {
+    parseIntentConfigurationJson("""{"mode":{"currencyCode":"usd"}}""")
+  }
+}
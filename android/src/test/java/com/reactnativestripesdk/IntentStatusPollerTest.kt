@@ -0,0 +1,98 @@
+package com.reactnativestripesdk
+
+import com.stripe.android.model.PaymentIntent
+import com.stripe.android.model.StripeIntent
+import com.stripe.android.model.parsers.PaymentIntentJsonParser
+import kotlinx.coroutines.runBlocking
+import org.json.JSONObject
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import kotlin.random.Random
+
+@RunWith(RobolectricTestRunner::class)
+class IntentStatusPollerTest {
+  private var now = 0L
+  private val sleeps = mutableListOf<Long>()
+
+  private fun poller(
+    timeoutMs: Long = 60_000,
+    initialIntervalMs: Long = 1_000,
+    maxIntervalMs: Long = 4_000,
+  ) = IntentStatusPoller(
+    timeoutMs = timeoutMs,
+    initialIntervalMs = initialIntervalMs,
+    maxIntervalMs = maxIntervalMs,
+    random = Random(42),
+    clock = { now },
+    sleep = {
+      sleeps += it
+      now += it
+    },
+  )
+
+  @Test
+  fun poll_ReturnsFirstIntentThatIsNoLongerPending() =
+    runBlocking {
+      val statuses = ArrayDeque(listOf("processing", "requires_action", "succeeded"))
+      var retrievals = 0
+
+      val result =
+        poller().poll {
+          retrievals++
+          paymentIntent(statuses.removeFirst())
+        }
+
+      assertEquals(StripeIntent.Status.Succeeded, result.status)
+      assertEquals(3, retrievals)
+      assertEquals(2, sleeps.size)
+    }
+
+  @Test
+  fun poll_BacksOffWithJitterUpToMaxInterval() =
+    runBlocking {
+      var retrievals = 0
+
+      poller().poll {
+        paymentIntent(if (++retrievals <= 5) "processing" else "succeeded")
+      }
+
+      val intervals = listOf(1_000L, 2_000L, 4_000L, 4_000L, 4_000L)
+      assertEquals(intervals.size, sleeps.size)
+      sleeps.zip(intervals).forEach { (sleep, interval) ->
+        assertTrue("$sleep not within $interval", sleep in interval / 2..interval)
+      }
+    }
+
+  @Test
+  fun poll_AfterTimeout_ReturnsLastPendingIntent() =
+    runBlocking {
+      val result = poller(timeoutMs = 2_500).poll { paymentIntent("processing") }
+
+      assertEquals(StripeIntent.Status.Processing, result.status)
+      assertEquals(2_500L, now)
+      assertEquals(2_500L, sleeps.sum())
+    }
+
+  private fun paymentIntent(status: String): PaymentIntent =
+    PaymentIntentJsonParser().parse(JSONObject(PAYMENT_INTENT_JSON).put("status", status))!!
+
+  private companion object {
+    const val PAYMENT_INTENT_JSON =
+      """
+      {
+        "id": "pi_123",
+        "object": "payment_intent",
+        "amount": 1099,
+        "client_secret": "pi_123_secret_abc",
+        "created": 1700000000,
+        "currency": "usd",
+        "livemode": false,
+        "payment_method_types": ["card"],
+        "status": "processing"
+      }
+      """
+  }
+}
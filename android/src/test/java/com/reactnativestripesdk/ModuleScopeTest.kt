@@ -0,0 +1,82 @@
+package com.reactnativestripesdk
+
+import com.reactnativestripesdk.utils.ModuleScope
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.withTimeout
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+class ModuleScopeTest {
+  @Test
+  fun launch_BlockingJobsBeyondParallelism_WaitForAThread() =
+    runBlocking {
+      val scope = ModuleScope(parallelism = 2)
+      val release = CountDownLatch(1)
+      val jobs = List(5) { scope.launch { release.await(5, TimeUnit.SECONDS) } }
+
+      awaitCondition { scope.inFlightJobs == 2 }
+      assertEquals(3, scope.notStartedJobs)
+
+      release.countDown()
+      jobs.forEach { it.join() }
+      assertEquals(0, scope.inFlightJobs)
+      assertEquals(0, scope.notStartedJobs)
+    }
+
+  @Test
+  fun launch_SuspendedJobs_DoNotHoldAThread() =
+    runBlocking {
+      val scope = ModuleScope(parallelism = 1)
+      val release = CompletableDeferred<Unit>()
+      val jobs = List(3) { scope.launch { release.await() } }
+
+      awaitCondition { scope.inFlightJobs == 3 }
+      assertEquals(0, scope.notStartedJobs)
+
+      release.complete(Unit)
+      jobs.forEach { it.join() }
+      assertEquals(0, scope.inFlightJobs)
+    }
+
+  @Test
+  fun cancel_CancelsRunningAndNotStartedJobs() =
+    runBlocking {
+      val scope = ModuleScope(parallelism = 1)
+      val started = CountDownLatch(1)
+      val release = CountDownLatch(1)
+      val queuedRan = AtomicBoolean(false)
+      val running =
+        scope.launch {
+          started.countDown()
+          release.await(5, TimeUnit.SECONDS)
+        }
+      val queued = scope.launch { queuedRan.set(true) }
+      assertTrue(started.await(5, TimeUnit.SECONDS))
+      assertEquals(1, scope.notStartedJobs)
+
+      scope.cancel()
+      release.countDown()
+      running.join()
+      queued.join()
+
+      assertTrue(running.isCancelled)
+      assertTrue(queued.isCancelled)
+      assertFalse(queuedRan.get())
+      assertEquals(0, scope.inFlightJobs)
+      assertEquals(0, scope.notStartedJobs)
+      assertFalse(scope.launch { }.isActive)
+    }
+
+  private suspend fun awaitCondition(condition: () -> Boolean) {
+    withTimeout(5_000) {
+      while (!condition()) delay(5)
+    }
+  }
+}
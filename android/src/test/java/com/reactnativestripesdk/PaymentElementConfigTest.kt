@@ -8,6 +8,7 @@ import com.stripe.android.paymentelement.PaymentMethodOptionsSetupFutureUsagePre
 import com.stripe.android.paymentsheet.CardFundingFilteringPrivatePreview
 import com.stripe.android.paymentsheet.PaymentSheet
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
 import org.junit.Assert.assertNotNull
 import org.junit.Assert.assertNull
 import org.junit.Assert.assertTrue
@@ -367,6 +368,40 @@ class PaymentElementConfigTest {
     buildIntentConfiguration(params)
   }
 
+  // ============================================
+  // intentConfigurationsMatch Tests
+  // ============================================
+
+  @Test
+  fun intentConfigurationsMatch_SeparatelyBuiltEqualConfigs_ReturnsTrue() {
+    val params =
+      readableMapOf(
+        "mode" to readableMapOf("amount" to 1000, "currencyCode" to "usd", "captureMethod" to "Manual"),
+        "paymentMethodTypes" to readableArrayOf("card", "klarna"),
+        "onBehalfOf" to "acct_123",
+      )
+
+    assertTrue(intentConfigurationsMatch(buildIntentConfiguration(params), buildIntentConfiguration(params)))
+  }
+
+  @Test
+  fun intentConfigurationsMatch_DifferentAmount_ReturnsFalse() {
+    val first = buildIntentConfiguration(readableMapOf("mode" to readableMapOf("amount" to 1000, "currencyCode" to "usd")))
+    val second = buildIntentConfiguration(readableMapOf("mode" to readableMapOf("amount" to 2000, "currencyCode" to "usd")))
+
+    assertFalse(intentConfigurationsMatch(first, second))
+  }
+
+  @Test
+  fun intentConfigurationsMatch_PaymentAndSetupMode_ReturnsFalse() {
+    val payment = buildIntentConfiguration(readableMapOf("mode" to readableMapOf("amount" to 1000, "currencyCode" to "usd")))
+    val setup =
+      buildIntentConfiguration(readableMapOf("mode" to readableMapOf("currencyCode" to "usd", "setupFutureUsage" to "OffSession")))
+
+    assertFalse(intentConfigurationsMatch(payment, setup))
+    assertFalse(intentConfigurationsMatch(payment, null))
+  }
+
   // ============================================
   // buildLinkConfig Tests
   // ============================================
@@ -8,9 +8,12 @@ import com.facebook.react.bridge.ReadableMap
 import com.stripe.android.paymentsheet.PaymentSheet
 import org.json.JSONObject
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertSame
 import org.junit.Test
 import org.junit.runner.RunWith
 import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
 
 @RunWith(RobolectricTestRunner::class)
 class PaymentSheetAppearanceTest {
@@ -678,6 +681,47 @@ class PaymentSheetAppearanceTest {
     assertEquals(expectedAppearance, appearanceFromJson)
   }
 
+  @Test
+  fun testSameParams_ReuseParsedAppearance() {
+    val json =
+      """
+      {
+        "colors": { "primary": "#654321" },
+        "shapes": { "borderRadius": 7.0 }
+      }
+      """.trimIndent()
+
+    val first = buildPaymentSheetAppearance(jsonToMap(json), context)
+    val second = buildPaymentSheetAppearance(jsonToMap(json), context)
+
+    assertSame(first, second)
+  }
+
+  @Test
+  fun testDarkMode_ParsesAppearanceAgain() {
+    val json =
+      """
+      {
+        "embeddedPaymentElement": {
+          "row": {
+            "style": "flatWithRadio",
+            "flat": {
+              "radio": {
+                "selectedColor": { "light": "#111111", "dark": "#eeeeee" }
+              }
+            }
+          }
+        }
+      }
+      """.trimIndent()
+
+    val light = buildPaymentSheetAppearance(jsonToMap(json), context)
+    RuntimeEnvironment.setQualifiers("+night")
+    val dark = buildPaymentSheetAppearance(jsonToMap(json), context)
+
+    assertNotEquals(light, dark)
+  }
+
   private fun jsonToMap(json: String): ReadableMap {
     val jsonObject = JSONObject(json)
     return jsonObjectToMap(jsonObject)
@@ -0,0 +1,244 @@
+package com.reactnativestripesdk
+
+import android.os.Looper
+import androidx.fragment.app.FragmentActivity
+import androidx.test.core.app.ApplicationProvider
+import com.facebook.react.bridge.BridgeReactContext
+import com.facebook.react.bridge.Promise
+import com.facebook.react.bridge.ReadableMap
+import com.facebook.react.bridge.WritableMap
+import com.reactnativestripesdk.utils.PaymentSheetAppearanceException
+import com.reactnativestripesdk.utils.readableArrayOf
+import com.reactnativestripesdk.utils.readableMapOf
+import com.stripe.android.core.reactnative.ReactNativeSdkInternal
+import com.stripe.android.paymentsheet.PaymentSheetResult
+import kotlinx.coroutines.asCoroutineDispatcher
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.ArgumentCaptor
+import org.mockito.ArgumentMatchers.any
+import org.mockito.Mockito.mock
+import org.mockito.Mockito.never
+import org.mockito.Mockito.verify
+import org.robolectric.Robolectric
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.Shadows.shadowOf
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import kotlin.system.measureNanoTime
+
+@RunWith(RobolectricTestRunner::class)
+@OptIn(ReactNativeSdkInternal::class)
+class PaymentSheetSettingsTest {
+  private val context = BridgeReactContext(ApplicationProvider.getApplicationContext())
+  private val parseExecutor = Executors.newSingleThreadExecutor()
+  private val activity = Robolectric.buildActivity(FragmentActivity::class.java).setup().get()
+
+  @After
+  fun tearDown() {
+    parseExecutor.shutdownNow()
+  }
+
+  @Test
+  fun parse_ReadsIntentAndFlowSettings() {
+    val settings =
+      PaymentSheetSettings.parse(
+        readableMapOf(
+          "paymentIntentClientSecret" to "pi_123_secret_abc",
+          "customFlow" to true,
+          "primaryButtonLabel" to "Pay now",
+        ),
+        "Example, Inc.",
+        context,
+      )
+
+    assertEquals("pi_123_secret_abc", settings.paymentIntentClientSecret)
+    assertEquals("", settings.setupIntentClientSecret)
+    assertNull(settings.intentConfiguration)
+    assertTrue(settings.customFlow)
+    assertEquals("Example, Inc.", settings.configuration.merchantDisplayName)
+    assertEquals("Pay now", settings.configuration.primaryButtonLabel)
+  }
+
+  @Test(expected = PaymentSheetAppearanceException::class)
+  fun parse_InvalidFont_Throws() {
+    PaymentSheetSettings.parse(
+      readableMapOf("appearance" to readableMapOf("font" to readableMapOf("family" to "Not-A-Font"))),
+      "Example, Inc.",
+      context,
+    )
+  }
+
+  @Test
+  fun configure_KeepsMainThreadPortionUnderBudget() {
+    context.onHostResume(activity)
+
+    // The first configure loads the classes involved, so only time the ones after it. Each run uses
+    // a new manager, so every one of them binds a new PaymentSheet to the activity.
+    repeat(WARM_UP_RUNS) { configureAndApply() }
+    val mainThreadNanos = List(MEASURED_RUNS) { configureAndApply() }.sorted()
+
+    val medianMs = TimeUnit.NANOSECONDS.toMillis(mainThreadNanos[MEASURED_RUNS / 2])
+    assertTrue("Main thread took ${medianMs}ms to configure", medianMs < MAIN_THREAD_BUDGET_MS)
+  }
+
+  /** Configures a new manager and returns the time configure spent on the main thread. */
+  private fun configureAndApply(): Long {
+    val manager =
+      PaymentSheetManager(
+        context,
+        readableMapOf(),
+        mock(Promise::class.java),
+        parseExecutor.asCoroutineDispatcher(),
+      )
+    val promise = mock(Promise::class.java)
+    var mainThreadNanos = measureNanoTime { manager.configure(heavyParams(), promise) }
+    // Configure alternates between the executor and the main thread twice: fingerprint, then check
+    // it against the applied one, then parse, then apply.
+    repeat(2) { mainThreadNanos += runConfigureStage() }
+    assertResolvedWithoutError(promise)
+
+    manager.destroy()
+    shadowOf(Looper.getMainLooper()).idle()
+    return mainThreadNanos
+  }
+
+  @Test
+  fun configure_CalledAgainBeforeApplying_ResolvesFirstCallAsCanceled() {
+    context.onHostResume(activity)
+    val manager =
+      PaymentSheetManager(
+        context,
+        readableMapOf(),
+        mock(Promise::class.java),
+        parseExecutor.asCoroutineDispatcher(),
+      )
+    val first = mock(Promise::class.java)
+    val second = mock(Promise::class.java)
+
+    manager.configure(heavyParams(), first)
+    manager.configure(heavyParams(), second)
+    repeat(2) { runConfigureStage() }
+
+    val captor = ArgumentCaptor.forClass(WritableMap::class.java)
+    verify(first).resolve(captor.capture())
+    assertEquals("Canceled", captor.value.getMap("error")?.getString("code"))
+    verify(second).resolve(any())
+  }
+
+  @Test
+  fun configure_SameParamsAgain_ResolvesWithoutParsingOrApplying() {
+    context.onHostResume(activity)
+    val manager = configuredManager()
+    val promise = mock(Promise::class.java)
+
+    manager.configure(heavyParams(), promise)
+    // Parsing and applying would take a second round trip through the executor and main thread.
+    runConfigureStage()
+
+    assertResolvedWithoutError(promise)
+  }
+
+  @Test
+  fun configure_AfterCompletedPayment_AppliesParamsAgain() {
+    assertAppliesParamsAgainAfter(PaymentSheetResult.Completed)
+  }
+
+  @Test
+  fun configure_AfterFailedPayment_AppliesParamsAgain() {
+    assertAppliesParamsAgainAfter(PaymentSheetResult.Failed(IllegalStateException("declined")))
+  }
+
+  private fun assertAppliesParamsAgainAfter(result: PaymentSheetResult) {
+    context.onHostResume(activity)
+    val manager = configuredManager()
+    val promise = mock(Promise::class.java)
+
+    manager.onPaymentSheetResult(result)
+    manager.configure(heavyParams(), promise)
+    runConfigureStage()
+    verify(promise, never()).resolve(any())
+    runConfigureStage()
+
+    assertResolvedWithoutError(promise)
+  }
+
+  /** Returns a manager that has already applied [heavyParams]. */
+  private fun configuredManager(): PaymentSheetManager {
+    val manager =
+      PaymentSheetManager(
+        context,
+        readableMapOf(),
+        mock(Promise::class.java),
+        parseExecutor.asCoroutineDispatcher(),
+      )
+    val promise = mock(Promise::class.java)
+    manager.configure(heavyParams(), promise)
+    repeat(2) { runConfigureStage() }
+    assertResolvedWithoutError(promise)
+    return manager
+  }
+
+  private fun assertResolvedWithoutError(promise: Promise) {
+    val captor = ArgumentCaptor.forClass(WritableMap::class.java)
+    verify(promise).resolve(captor.capture())
+    assertFalse("Configure failed: ${captor.value}", captor.value.hasKey("error"))
+  }
+
+  /** Runs whatever is queued on the executor, then on the main thread. Returns the main thread's time. */
+  private fun runConfigureStage(): Long {
+    // A task queued after the executor's current work only runs once that work is done.
+    parseExecutor.submit {}.get(5, TimeUnit.SECONDS)
+    return measureNanoTime { shadowOf(Looper.getMainLooper()).idle() }
+  }
+
+  private fun heavyParams(): ReadableMap {
+    val colors =
+      readableMapOf(
+        "primary" to "#123456",
+        "background" to "#fafafa",
+        "componentBackground" to "#ffffff",
+        "componentBorder" to "#e0e0e0",
+        "componentDivider" to "#e0e0e0",
+        "componentText" to "#111111",
+        "primaryText" to "#111111",
+        "secondaryText" to "#666666",
+        "placeholderText" to "#999999",
+        "icon" to "#123456",
+        "error" to "#ff0000",
+      )
+    return readableMapOf(
+      "merchantDisplayName" to "Example, Inc.",
+      "paymentIntentClientSecret" to "pi_123_secret_abc",
+      "paymentMethodOrder" to readableArrayOf("card", "klarna", "afterpay_clearpay"),
+      "appearance" to
+        readableMapOf(
+          "colors" to readableMapOf("light" to colors, "dark" to colors),
+          "shapes" to readableMapOf("borderRadius" to 12.0, "borderWidth" to 1.0),
+          "font" to readableMapOf("scale" to 1.1),
+          "primaryButton" to
+            readableMapOf(
+              "colors" to
+                readableMapOf(
+                  "light" to readableMapOf("background" to "#123456", "text" to "#ffffff"),
+                  "dark" to readableMapOf("background" to "#654321", "text" to "#000000"),
+                ),
+              "shapes" to readableMapOf("borderRadius" to 8.0, "height" to 48.0),
+            ),
+          "formInsetValues" to readableMapOf("left" to 16.0, "top" to 8.0, "right" to 16.0, "bottom" to 8.0),
+        ),
+    )
+  }
+
+  private companion object {
+    const val WARM_UP_RUNS = 3
+    const val MEASURED_RUNS = 9
+    // One frame at 60Hz.
+    const val MAIN_THREAD_BUDGET_MS = 16L
+  }
+}
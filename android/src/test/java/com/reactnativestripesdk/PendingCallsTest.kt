@@ -0,0 +1,69 @@
+package com.reactnativestripesdk
+
+import com.reactnativestripesdk.utils.PendingCalls
+import kotlinx.coroutines.async
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.yield
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import java.util.concurrent.TimeoutException
+
+class PendingCallsTest {
+  @Test
+  fun complete_OverlappingCalls_EachGetTheirOwnResult() =
+    runBlocking {
+      val calls = PendingCalls<String>()
+      val requestIds = mutableListOf<String>()
+
+      val first = async { calls.await { requestIds.add(it) } }
+      val second = async { calls.await { requestIds.add(it) } }
+      yield()
+      assertEquals(2, calls.pending)
+      assertNotEquals(requestIds[0], requestIds[1])
+
+      calls.complete(requestIds[1], "second")
+      calls.complete(requestIds[0], "first")
+
+      assertEquals("first", first.await())
+      assertEquals("second", second.await())
+      assertEquals(0, calls.pending)
+    }
+
+  @Test
+  fun complete_WithoutRequestId_CompletesOldestCall() =
+    runBlocking {
+      val calls = PendingCalls<String>()
+
+      val first = async { calls.await {} }
+      val second = async { calls.await {} }
+      yield()
+
+      assertTrue(calls.complete(null, "first"))
+      assertTrue(calls.complete(null, "second"))
+
+      assertEquals("first", first.await())
+      assertEquals("second", second.await())
+    }
+
+  @Test
+  fun complete_UnknownRequestId_ReturnsFalse() {
+    assertFalse(PendingCalls<String>().complete("42", "result"))
+    assertFalse(PendingCalls<String>().complete(null, "result"))
+  }
+
+  @Test
+  fun await_NoResultWithinTimeout_Throws() =
+    runBlocking {
+      val calls = PendingCalls<String>(timeoutMs = 10)
+      var requestId: String? = null
+
+      val failure = runCatching { calls.await { requestId = it } }
+
+      assertTrue(failure.exceptionOrNull() is TimeoutException)
+      assertEquals(0, calls.pending)
+      assertFalse(calls.complete(requestId, "late"))
+    }
+}
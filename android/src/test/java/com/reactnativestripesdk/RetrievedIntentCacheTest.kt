@@ -0,0 +1,141 @@
+package com.reactnativestripesdk
+
+import com.stripe.android.model.PaymentIntent
+import com.stripe.android.model.parsers.PaymentIntentJsonParser
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.yield
+import org.json.JSONObject
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertSame
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class RetrievedIntentCacheTest {
+  private var now = 0L
+  private val cache = RetrievedIntentCache(clock = { now })
+  private val paymentIntent: PaymentIntent = PaymentIntentJsonParser().parse(JSONObject(PAYMENT_INTENT_JSON))!!
+  private var retrievals = 0
+
+  private suspend fun retrieve(maxAgeMs: Long): PaymentIntent =
+    cache.get(CLIENT_SECRET, maxAgeMs) {
+      retrievals++
+      paymentIntent
+    }
+
+  @Test
+  fun get_WithinMaxAge_ReturnsStoredIntent() =
+    runBlocking {
+      retrieve(maxAgeMs = 1_000)
+      now = 1_000
+      assertSame(paymentIntent, retrieve(maxAgeMs = 1_000))
+      now = 1_001
+      retrieve(maxAgeMs = 1_000)
+
+      assertEquals(2, retrievals)
+      assertEquals(RetrievedIntentCache.Stats(hits = 1, misses = 2), cache.stats)
+    }
+
+  @Test
+  fun get_WithoutMaxAge_AlwaysRetrieves() =
+    runBlocking {
+      retrieve(maxAgeMs = 0)
+      retrieve(maxAgeMs = 0)
+
+      assertEquals(2, retrievals)
+      assertEquals(0.0, cache.stats.hitRate, 0.0)
+    }
+
+  @Test
+  fun invalidate_DropsStoredIntent() =
+    runBlocking {
+      retrieve(maxAgeMs = 1_000)
+      cache.invalidate(CLIENT_SECRET)
+      retrieve(maxAgeMs = 1_000)
+
+      assertEquals(2, retrievals)
+    }
+
+  @Test
+  fun get_ConcurrentCalls_ShareOneRetrieval() =
+    runBlocking {
+      val release = CompletableDeferred<Unit>()
+      val first =
+        async {
+          cache.get(CLIENT_SECRET, 0) {
+            retrievals++
+            release.await()
+            paymentIntent
+          }
+        }
+      val second = async { retrieve(maxAgeMs = 0) }
+      yield()
+      release.complete(Unit)
+
+      assertSame(first.await(), second.await())
+      assertEquals(1, retrievals)
+    }
+
+  @Test
+  fun invalidate_DuringRetrieval_DoesNotStoreResult() =
+    runBlocking {
+      val release = CompletableDeferred<Unit>()
+      val inFlight =
+        async {
+          cache.get(CLIENT_SECRET, 1_000) {
+            retrievals++
+            release.await()
+            paymentIntent
+          }
+        }
+      yield()
+      cache.invalidate(CLIENT_SECRET)
+      release.complete(Unit)
+      inFlight.await()
+
+      retrieve(maxAgeMs = 1_000)
+      assertEquals(2, retrievals)
+    }
+
+  @Test
+  fun invalidate_OtherClientSecretDuringRetrieval_StillStoresResult() =
+    runBlocking {
+      val release = CompletableDeferred<Unit>()
+      val inFlight =
+        async {
+          cache.get(CLIENT_SECRET, 1_000) {
+            retrievals++
+            release.await()
+            paymentIntent
+          }
+        }
+      yield()
+      cache.invalidate("seti_456_secret_def")
+      release.complete(Unit)
+      inFlight.await()
+
+      retrieve(maxAgeMs = 1_000)
+      assertEquals(1, retrievals)
+    }
+
+  private companion object {
+    const val CLIENT_SECRET = "pi_123_secret_abc"
+    const val PAYMENT_INTENT_JSON =
+      """
+      {
+        "id": "pi_123",
+        "object": "payment_intent",
+        "amount": 1099,
+        "client_secret": "pi_123_secret_abc",
+        "created": 1700000000,
+        "currency": "usd",
+        "livemode": false,
+        "payment_method_types": ["card"],
+        "status": "requires_payment_method"
+      }
+      """
+  }
+}
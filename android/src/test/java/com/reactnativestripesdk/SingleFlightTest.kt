@@ -0,0 +1,63 @@
+package com.reactnativestripesdk
+
+import com.reactnativestripesdk.utils.SingleFlight
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.awaitAll
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.yield
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class SingleFlightTest {
+  @Test
+  fun run_ConcurrentCallsForSameKey_ShareOneCall() =
+    runBlocking {
+      val calls = SingleFlight<String, Int>()
+      val release = CompletableDeferred<Unit>()
+      var invocations = 0
+
+      val results =
+        List(3) {
+          async {
+            calls.run("a@example.com") {
+              invocations++
+              release.await()
+              42
+            }
+          }
+        }
+      yield()
+      assertEquals(1, calls.inFlight)
+
+      release.complete(Unit)
+
+      assertEquals(listOf(42, 42, 42), results.awaitAll())
+      assertEquals(1, invocations)
+      assertEquals(0, calls.inFlight)
+    }
+
+  @Test
+  fun run_AfterCallFinishes_StartsNewCall() =
+    runBlocking {
+      val calls = SingleFlight<Unit, Int>()
+      var invocations = 0
+
+      calls.run(Unit) { ++invocations }
+      val second = calls.run(Unit) { ++invocations }
+
+      assertEquals(2, second)
+    }
+
+  @Test
+  fun run_Failure_IsSharedAndNotKept() =
+    runBlocking {
+      val calls = SingleFlight<String, Int>()
+
+      val failure = runCatching { calls.run("key") { throw IllegalStateException("boom") } }
+
+      assertTrue(failure.exceptionOrNull() is IllegalStateException)
+      assertEquals(1, calls.run("key") { 1 })
+    }
+}
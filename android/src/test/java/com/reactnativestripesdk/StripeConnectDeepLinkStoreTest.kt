@@ -0,0 +1,42 @@
+package com.reactnativestripesdk
+
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class StripeConnectDeepLinkStoreTest {
+  @After
+  fun tearDown() {
+    StripeSdkModule.retrieveAndClearPendingUrls()
+  }
+
+  @Test
+  fun retrieveAndClearPendingUrls_ReturnsStoredUrlsInOrderAndClears() {
+    StripeSdkModule.storeStripeConnectDeepLink("stripe-connect://a")
+    StripeSdkModule.storeStripeConnectDeepLink("stripe-connect://b")
+
+    assertEquals(
+      listOf("stripe-connect://a", "stripe-connect://b"),
+      StripeSdkModule.retrieveAndClearPendingUrls(),
+    )
+    assertTrue(StripeSdkModule.retrieveAndClearPendingUrls().isEmpty())
+  }
+
+  @Test
+  fun storeStripeConnectDeepLink_FromManyThreads_KeepsEveryUrl() {
+    val threads =
+      List(4) { thread ->
+        Thread {
+          repeat(250) { StripeSdkModule.storeStripeConnectDeepLink("stripe-connect://$thread/$it") }
+        }
+      }
+    threads.forEach { it.start() }
+    threads.forEach { it.join() }
+
+    assertEquals(1_000, StripeSdkModule.retrieveAndClearPendingUrls().toSet().size)
+  }
+}
@@ -0,0 +1,143 @@
+package com.reactnativestripesdk.customersheet
+
+import com.stripe.android.model.PaymentMethod
+import com.stripe.android.model.parsers.PaymentMethodJsonParser
+import kotlinx.coroutines.CompletableDeferred
+import kotlinx.coroutines.async
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.yield
+import org.json.JSONObject
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class CustomerPaymentMethodsCacheTest {
+  private var now = 0L
+  private val cache = CustomerPaymentMethodsCache(clock = { now })
+  private val paymentMethods: List<PaymentMethod> =
+    listOf(PaymentMethodJsonParser().parse(JSONObject(PAYMENT_METHOD_JSON)))
+  private var fetches = 0
+
+  private suspend fun fetch(): List<PaymentMethod> {
+    fetches++
+    return paymentMethods
+  }
+
+  @Test
+  fun get_WithinMaxAge_ReturnsFreshList() =
+    runBlocking {
+      cache.refresh(CUSTOMER_ID, ::fetch)
+      now = 1_000
+
+      val lookup = cache.get(CUSTOMER_ID, maxAgeMs = 1_000, allowStale = false)
+
+      assertSame(paymentMethods, lookup?.paymentMethods)
+      assertFalse(lookup!!.isStale)
+    }
+
+  @Test
+  fun get_PastMaxAge_OnlyReturnsListIfStaleAllowed() =
+    runBlocking {
+      cache.refresh(CUSTOMER_ID, ::fetch)
+      now = 1_001
+
+      assertNull(cache.get(CUSTOMER_ID, maxAgeMs = 1_000, allowStale = false))
+      val lookup = cache.get(CUSTOMER_ID, maxAgeMs = 1_000, allowStale = true)
+      assertSame(paymentMethods, lookup?.paymentMethods)
+      assertTrue(lookup!!.isStale)
+    }
+
+  @Test
+  fun invalidate_DropsStoredList() =
+    runBlocking {
+      cache.refresh(CUSTOMER_ID, ::fetch)
+      cache.invalidate(CUSTOMER_ID)
+
+      assertNull(cache.get(CUSTOMER_ID, maxAgeMs = 1_000, allowStale = true))
+    }
+
+  @Test
+  fun refresh_ConcurrentCalls_ShareOneFetch() =
+    runBlocking {
+      val release = CompletableDeferred<Unit>()
+      val first =
+        async {
+          cache.refresh(CUSTOMER_ID) {
+            fetches++
+            release.await()
+            paymentMethods
+          }
+        }
+      val second = async { cache.refresh(CUSTOMER_ID, ::fetch) }
+      yield()
+      release.complete(Unit)
+
+      assertSame(first.await(), second.await())
+      assertEquals(1, fetches)
+    }
+
+  @Test
+  fun invalidate_DuringFetch_DoesNotStoreResult() =
+    runBlocking {
+      val release = CompletableDeferred<Unit>()
+      val inFlight =
+        async {
+          cache.refresh(CUSTOMER_ID) {
+            release.await()
+            paymentMethods
+          }
+        }
+      yield()
+      cache.invalidate(CUSTOMER_ID)
+      release.complete(Unit)
+      inFlight.await()
+
+      assertNull(cache.get(CUSTOMER_ID, maxAgeMs = 1_000, allowStale = true))
+    }
+
+  @Test
+  fun invalidate_OtherCustomerDuringFetch_StillStoresResult() =
+    runBlocking {
+      val release = CompletableDeferred<Unit>()
+      val inFlight =
+        async {
+          cache.refresh(CUSTOMER_ID) {
+            release.await()
+            paymentMethods
+          }
+        }
+      yield()
+      cache.invalidate("cus_456")
+      release.complete(Unit)
+      inFlight.await()
+
+      assertSame(paymentMethods, cache.get(CUSTOMER_ID, maxAgeMs = 1_000, allowStale = false)?.paymentMethods)
+    }
+
+  private companion object {
+    const val CUSTOMER_ID = "cus_123"
+    const val PAYMENT_METHOD_JSON =
+      """
+      {
+        "id": "pm_123",
+        "object": "payment_method",
+        "created": 1700000000,
+        "customer": "cus_123",
+        "livemode": false,
+        "type": "card",
+        "card": {
+          "brand": "visa",
+          "exp_month": 8,
+          "exp_year": 2030,
+          "last4": "4242"
+        }
+      }
+      """
+  }
+}
@@ -0,0 +1,127 @@
+package com.reactnativestripesdk.customersheet
+
+import com.facebook.react.bridge.ReactApplicationContext
+import com.reactnativestripesdk.ReactNativeCustomerAdapter
+import com.reactnativestripesdk.utils.ModuleScope
+import com.stripe.android.customersheet.CustomerAdapter
+import com.stripe.android.model.PaymentMethod
+import com.stripe.android.model.PaymentMethodUpdateParams
+import com.stripe.android.model.parsers.PaymentMethodJsonParser
+import kotlinx.coroutines.async
+import kotlinx.coroutines.coroutineScope
+import kotlinx.coroutines.runBlocking
+import kotlinx.coroutines.yield
+import org.json.JSONObject
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.mockito.Mockito.mock
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class ReactNativeCustomerAdapterTest {
+  private val scope = ModuleScope()
+  private val cache = CustomerPaymentMethodsCache.shared
+  private val storedList: List<PaymentMethod> = listOf(paymentMethod("pm_123"))
+  private val adapter =
+    ReactNativeCustomerAdapter(
+      context = mock(ReactApplicationContext::class.java),
+      adapter = mock(CustomerAdapter::class.java),
+      overridesFetchPaymentMethods = true,
+      overridesAttachPaymentMethod = false,
+      overridesDetachPaymentMethod = false,
+      overridesSetSelectedPaymentOption = false,
+      overridesFetchSelectedPaymentOption = false,
+      overridesSetupIntentClientSecretForCustomerAttach = true,
+      customerId = CUSTOMER_ID,
+      scope = scope,
+      paymentMethodsCacheMaxAgeMs = 60_000,
+    )
+
+  @After
+  fun tearDown() {
+    scope.cancel()
+    cache.invalidate(CUSTOMER_ID)
+  }
+
+  @Test
+  fun retrievePaymentMethods_WithinMaxAge_DoesNotCallJavascript() =
+    runBlocking {
+      loadFromJavascript(storedList)
+
+      adapter.retrievePaymentMethods()
+
+      assertEquals(0, adapter.fetchPaymentMethodsCalls.pending)
+    }
+
+  @Test
+  fun setupIntentClientSecretForCustomerAttach_DropsStoredListAndFetchesAfterwards() =
+    runBlocking {
+      loadFromJavascript(storedList)
+
+      val clientSecret = async { adapter.setupIntentClientSecretForCustomerAttach() }
+      yield()
+      adapter.setupIntentClientSecretForCustomerAttachCalls.complete(null, "seti_123_secret_abc")
+      clientSecret.await()
+      assertNull(cache.get(CUSTOMER_ID, maxAgeMs = 60_000, allowStale = true))
+
+      // CustomerSheet confirms the SetupIntent itself, so a list stored after this can't be
+      // trusted. Later loads go to JS, and the list they fetch is the one stored.
+      val withNewCard = listOf(paymentMethod("pm_123"), paymentMethod("pm_456"))
+      loadFromJavascript(storedList)
+      loadFromJavascript(withNewCard)
+      assertSame(withNewCard, cache.get(CUSTOMER_ID, maxAgeMs = 60_000, allowStale = true)?.paymentMethods)
+    }
+
+  @Test
+  fun updatePaymentMethod_DropsStoredList() =
+    runBlocking {
+      loadFromJavascript(storedList)
+
+      adapter.updatePaymentMethod(
+        "pm_123",
+        PaymentMethodUpdateParams.createCard(expiryMonth = 12, expiryYear = 2031),
+      )
+
+      assertNull(cache.get(CUSTOMER_ID, maxAgeMs = 60_000, allowStale = true))
+    }
+
+  /** Loads the payment methods and checks the load went to JS, which sends back [paymentMethods]. */
+  private suspend fun loadFromJavascript(paymentMethods: List<PaymentMethod>) =
+    coroutineScope {
+      val load = async { adapter.retrievePaymentMethods() }
+      yield()
+      assertEquals(1, adapter.fetchPaymentMethodsCalls.pending)
+      adapter.fetchPaymentMethodsCalls.complete(null, paymentMethods)
+      load.await()
+    }
+
+  private fun paymentMethod(id: String): PaymentMethod =
+    PaymentMethodJsonParser().parse(
+      JSONObject(
+        """
+        {
+          "id": "$id",
+          "object": "payment_method",
+          "created": 1700000000,
+          "customer": "$CUSTOMER_ID",
+          "livemode": false,
+          "type": "card",
+          "card": {
+            "brand": "visa",
+            "exp_month": 8,
+            "exp_year": 2030,
+            "last4": "4242"
+          }
+        }
+        """,
+      ),
+    )
+
+  private companion object {
+    const val CUSTOMER_ID = "cus_adapter_test"
+  }
+}
@@ -0,0 +1,188 @@
+package com.reactnativestripesdk.mappers
+
+import com.reactnativestripesdk.utils.enumTable
+import com.reactnativestripesdk.utils.mapCardBrand
+import com.reactnativestripesdk.utils.mapFromUSBankAccountHolderType
+import com.reactnativestripesdk.utils.mapFromUSBankAccountType
+import com.reactnativestripesdk.utils.mapIntentStatus
+import com.reactnativestripesdk.utils.mapPaymentMethodType
+import com.reactnativestripesdk.utils.mapToPaymentMethodType
+import com.reactnativestripesdk.utils.mapToUSBankAccountHolderType
+import com.reactnativestripesdk.utils.mapToUSBankAccountType
+import com.stripe.android.model.CardBrand
+import com.stripe.android.model.PaymentMethod
+import com.stripe.android.model.StripeIntent
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNull
+import org.junit.Test
+
+/**
+ * Checks the table-driven enum mappers against the `when` chains they replaced, which are kept
+ * verbatim at the bottom of this file, for every value of each enum.
+ */
+class EnumTableTest {
+  @Test
+  fun enumTable_FirstValueWinsForDuplicateNames() {
+    val table = enumTable(CardBrand.Visa to "Card", CardBrand.MasterCard to "Card")
+
+    assertEquals(CardBrand.Visa, table.valueOf("Card"))
+    assertEquals("Card", table.nameOf(CardBrand.MasterCard))
+    assertNull(table.valueOf(null))
+    assertNull(table.nameOf(CardBrand.JCB))
+  }
+
+  @Test
+  fun mapPaymentMethodType_MatchesLegacyMapper() {
+    assertEquals(legacyMapPaymentMethodType(null), mapPaymentMethodType(null))
+    PaymentMethod.Type.values().forEach {
+      assertEquals(it.name, legacyMapPaymentMethodType(it), mapPaymentMethodType(it))
+    }
+  }
+
+  @Test
+  fun mapToPaymentMethodType_MatchesLegacyMapper() {
+    val names = PaymentMethod.Type.values().map { legacyMapPaymentMethodType(it) } + listOf(null, "", "card", "CashAppPay")
+    names.forEach {
+      assertEquals(it, legacyMapToPaymentMethodType(it), mapToPaymentMethodType(it))
+    }
+  }
+
+  @Test
+  fun paymentMethodType_RoundTrips() {
+    PaymentMethod.Type.values()
+      .filter { mapPaymentMethodType(it) != "Unknown" }
+      .forEach { assertEquals(it, mapToPaymentMethodType(mapPaymentMethodType(it))) }
+  }
+
+  @Test
+  fun mapCardBrand_MatchesLegacyMapper() {
+    assertEquals(legacyMapCardBrand(null), mapCardBrand(null))
+    CardBrand.values().forEach {
+      assertEquals(it.name, legacyMapCardBrand(it), mapCardBrand(it))
+    }
+  }
+
+  @Test
+  fun mapIntentStatus_MatchesLegacyMapper() {
+    assertEquals(legacyMapIntentStatus(null), mapIntentStatus(null))
+    StripeIntent.Status.values().forEach {
+      assertEquals(it.name, legacyMapIntentStatus(it), mapIntentStatus(it))
+    }
+  }
+
+  @Test
+  fun usBankAccountHolderType_RoundTripsAndDefaults() {
+    PaymentMethod.USBankAccount.USBankAccountHolderType.values()
+      .filter { mapFromUSBankAccountHolderType(it) != "Unknown" }
+      .forEach { assertEquals(it, mapToUSBankAccountHolderType(mapFromUSBankAccountHolderType(it))) }
+    assertEquals("Unknown", mapFromUSBankAccountHolderType(null))
+    assertEquals(
+      PaymentMethod.USBankAccount.USBankAccountHolderType.INDIVIDUAL,
+      mapToUSBankAccountHolderType("Unknown"),
+    )
+  }
+
+  @Test
+  fun usBankAccountType_RoundTripsAndDefaults() {
+    PaymentMethod.USBankAccount.USBankAccountType.values()
+      .filter { mapFromUSBankAccountType(it) != "Unknown" }
+      .forEach { assertEquals(it, mapToUSBankAccountType(mapFromUSBankAccountType(it))) }
+    assertEquals("Unknown", mapFromUSBankAccountType(null))
+    assertEquals(PaymentMethod.USBankAccount.USBankAccountType.CHECKING, mapToUSBankAccountType(null))
+  }
+
+  // region Legacy mappers, kept verbatim for comparison
+
+  private fun legacyMapIntentStatus(status: StripeIntent.Status?): String =
+    when (status) {
+      StripeIntent.Status.Succeeded -> "Succeeded"
+      StripeIntent.Status.RequiresPaymentMethod -> "RequiresPaymentMethod"
+      StripeIntent.Status.RequiresConfirmation -> "RequiresConfirmation"
+      StripeIntent.Status.Canceled -> "Canceled"
+      StripeIntent.Status.Processing -> "Processing"
+      StripeIntent.Status.RequiresAction -> "RequiresAction"
+      StripeIntent.Status.RequiresCapture -> "RequiresCapture"
+      else -> "Unknown"
+    }
+
+  private fun legacyMapCardBrand(brand: CardBrand?): String =
+    when (brand) {
+      CardBrand.AmericanExpress -> "AmericanExpress"
+      CardBrand.DinersClub -> "DinersClub"
+      CardBrand.Discover -> "Discover"
+      CardBrand.JCB -> "JCB"
+      CardBrand.MasterCard -> "MasterCard"
+      CardBrand.UnionPay -> "UnionPay"
+      CardBrand.Visa -> "Visa"
+      CardBrand.Unknown -> "Unknown"
+      else -> "Unknown"
+    }
+
+  private fun legacyMapPaymentMethodType(type: PaymentMethod.Type?): String =
+    when (type) {
+      PaymentMethod.Type.AfterpayClearpay -> "AfterpayClearpay"
+      PaymentMethod.Type.Alipay -> "Alipay"
+      PaymentMethod.Type.Alma -> "Alma"
+      PaymentMethod.Type.AuBecsDebit -> "AuBecsDebit"
+      PaymentMethod.Type.BacsDebit -> "BacsDebit"
+      PaymentMethod.Type.Bancontact -> "Bancontact"
+      PaymentMethod.Type.Billie -> "Billie"
+      PaymentMethod.Type.Card -> "Card"
+      PaymentMethod.Type.CardPresent -> "CardPresent"
+      PaymentMethod.Type.Eps -> "Eps"
+      PaymentMethod.Type.Fpx -> "Fpx"
+      PaymentMethod.Type.GrabPay -> "GrabPay"
+      PaymentMethod.Type.Ideal -> "Ideal"
+      PaymentMethod.Type.Netbanking -> "Netbanking"
+      PaymentMethod.Type.Multibanco -> "Multibanco"
+      PaymentMethod.Type.Oxxo -> "Oxxo"
+      PaymentMethod.Type.P24 -> "P24"
+      PaymentMethod.Type.SepaDebit -> "SepaDebit"
+      PaymentMethod.Type.WeChatPay -> "WeChatPay"
+      PaymentMethod.Type.Klarna -> "Klarna"
+      PaymentMethod.Type.USBankAccount -> "USBankAccount"
+      PaymentMethod.Type.PayPal -> "PayPal"
+      PaymentMethod.Type.Affirm -> "Affirm"
+      PaymentMethod.Type.CashAppPay -> "CashApp"
+      PaymentMethod.Type.RevolutPay -> "RevolutPay"
+      PaymentMethod.Type.PayByBank -> "PayByBank"
+      PaymentMethod.Type.Twint -> "Twint"
+      PaymentMethod.Type.Link -> "Link"
+      else -> "Unknown"
+    }
+
+  private fun legacyMapToPaymentMethodType(type: String?): PaymentMethod.Type? =
+    when (type) {
+      "Card" -> PaymentMethod.Type.Card
+      "Ideal" -> PaymentMethod.Type.Ideal
+      "Alipay" -> PaymentMethod.Type.Alipay
+      "Alma" -> PaymentMethod.Type.Alma
+      "AuBecsDebit" -> PaymentMethod.Type.AuBecsDebit
+      "BacsDebit" -> PaymentMethod.Type.BacsDebit
+      "Bancontact" -> PaymentMethod.Type.Bancontact
+      "Billie" -> PaymentMethod.Type.Billie
+      "AfterpayClearpay" -> PaymentMethod.Type.AfterpayClearpay
+      "CardPresent" -> PaymentMethod.Type.CardPresent
+      "Eps" -> PaymentMethod.Type.Eps
+      "Fpx" -> PaymentMethod.Type.Fpx
+      "GrabPay" -> PaymentMethod.Type.GrabPay
+      "Netbanking" -> PaymentMethod.Type.Netbanking
+      "Multibanco" -> PaymentMethod.Type.Multibanco
+      "Oxxo" -> PaymentMethod.Type.Oxxo
+      "P24" -> PaymentMethod.Type.P24
+      "SepaDebit" -> PaymentMethod.Type.SepaDebit
+      "WeChatPay" -> PaymentMethod.Type.WeChatPay
+      "Klarna" -> PaymentMethod.Type.Klarna
+      "USBankAccount" -> PaymentMethod.Type.USBankAccount
+      "PayPal" -> PaymentMethod.Type.PayPal
+      "Affirm" -> PaymentMethod.Type.Affirm
+      "CashApp" -> PaymentMethod.Type.CashAppPay
+      "RevolutPay" -> PaymentMethod.Type.RevolutPay
+      "PayByBank" -> PaymentMethod.Type.PayByBank
+      "Twint" -> PaymentMethod.Type.Twint
+      "Link" -> PaymentMethod.Type.Link
+      else -> null
+    }
+
+  // endregion
+}
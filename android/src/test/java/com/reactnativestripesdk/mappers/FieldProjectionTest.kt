@@ -0,0 +1,123 @@
+package com.reactnativestripesdk.mappers
+
+import com.facebook.react.bridge.JavaOnlyArray
+import com.facebook.react.bridge.JavaOnlyMap
+import com.reactnativestripesdk.utils.FieldProjection
+import com.reactnativestripesdk.utils.mapFromPaymentIntentResult
+import com.reactnativestripesdk.utils.mapFromSetupIntentResult
+import com.stripe.android.model.parsers.PaymentIntentJsonParser
+import com.stripe.android.model.parsers.SetupIntentJsonParser
+import org.json.JSONObject
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+@RunWith(RobolectricTestRunner::class)
+class FieldProjectionTest {
+  @Test
+  fun paymentIntent_Projection_OnlyWritesRequestedPaths() {
+    val paymentIntent = PaymentIntentJsonParser().parse(JSONObject(PAYMENT_INTENT_JSON))!!
+
+    val result =
+      mapFromPaymentIntentResult(
+        paymentIntent,
+        FieldProjection.of(listOf("id", "status", "paymentMethod.Card.last4")),
+      )
+
+    assertEquals(
+      JavaOnlyMap.of(
+        "id",
+        "pi_123",
+        "status",
+        "Succeeded",
+        "paymentMethod",
+        JavaOnlyMap.of("Card", JavaOnlyMap.of("last4", "4242")),
+      ),
+      result,
+    )
+  }
+
+  @Test
+  fun paymentIntent_ParentPath_SelectsWholeSubtree() {
+    val paymentIntent = PaymentIntentJsonParser().parse(JSONObject(PAYMENT_INTENT_JSON))!!
+
+    val full = mapFromPaymentIntentResult(paymentIntent)
+    val projected =
+      mapFromPaymentIntentResult(
+        paymentIntent,
+        FieldProjection.of(listOf("paymentMethod.Card", "paymentMethod.Card.last4")),
+      )
+
+    assertEquals(
+      full.getMap("paymentMethod")!!.getMap("Card"),
+      projected.getMap("paymentMethod")!!.getMap("Card"),
+    )
+  }
+
+  @Test
+  fun setupIntent_UnknownPaths_AreIgnored() {
+    val setupIntent = SetupIntentJsonParser().parse(JSONObject(SETUP_INTENT_JSON))!!
+
+    val result = mapFromSetupIntentResult(setupIntent, FieldProjection.of(listOf("status", "notAField.child")))
+
+    assertEquals(JavaOnlyMap.of("status", "Succeeded"), result)
+  }
+
+  @Test
+  fun fromOptions_MissingOrEmptyFields_ReturnsNull() {
+    assertNull(FieldProjection.fromOptions(null))
+    assertNull(FieldProjection.fromOptions(JavaOnlyMap()))
+    assertNull(FieldProjection.fromOptions(JavaOnlyMap.of("fields", JavaOnlyArray())))
+    assertNull(FieldProjection.fromOptions(JavaOnlyMap.of("fields", JavaOnlyArray.of(""))))
+  }
+
+  @Test
+  fun fromOptions_ReadsFieldsArray() {
+    val projection = FieldProjection.fromOptions(JavaOnlyMap.of("fields", JavaOnlyArray.of("id", "paymentMethod.id")))!!
+
+    assertNull(projection.child("id"))
+    assertFalse(projection.includes("status"))
+    assertFalse(projection.child("paymentMethod")!!.includes("Card"))
+  }
+
+  private companion object {
+    const val PAYMENT_INTENT_JSON =
+      """
+      {
+        "id": "pi_123",
+        "object": "payment_intent",
+        "amount": 1099,
+        "client_secret": "pi_123_secret_abc",
+        "created": 1700000000,
+        "currency": "usd",
+        "livemode": false,
+        "payment_method_types": ["card"],
+        "status": "succeeded",
+        "payment_method": {
+          "id": "pm_card_123",
+          "object": "payment_method",
+          "type": "card",
+          "created": 1700000000,
+          "livemode": false,
+          "card": { "brand": "visa", "country": "US", "exp_month": 12, "exp_year": 2030, "last4": "4242" }
+        }
+      }
+      """
+
+    const val SETUP_INTENT_JSON =
+      """
+      {
+        "id": "seti_123",
+        "object": "setup_intent",
+        "client_secret": "seti_123_secret_abc",
+        "created": 1700000000,
+        "livemode": false,
+        "payment_method_types": ["card"],
+        "status": "succeeded"
+      }
+      """
+  }
+}
@@ -0,0 +1,469 @@
+package com.reactnativestripesdk.mappers
+
+import android.annotation.SuppressLint
+import com.facebook.react.bridge.Arguments
+import com.facebook.react.bridge.WritableArray
+import com.facebook.react.bridge.WritableMap
+import com.reactnativestripesdk.utils.mapCaptureMethod
+import com.reactnativestripesdk.utils.mapCardBrand
+import com.reactnativestripesdk.utils.mapConfirmationMethod
+import com.reactnativestripesdk.utils.mapFromBillingDetails
+import com.reactnativestripesdk.utils.mapFromPaymentIntentLastErrorType
+import com.reactnativestripesdk.utils.mapFromPaymentIntentResult
+import com.reactnativestripesdk.utils.mapFromPaymentMethod
+import com.reactnativestripesdk.utils.mapFromSetupIntentLastErrorType
+import com.reactnativestripesdk.utils.mapFromSetupIntentResult
+import com.reactnativestripesdk.utils.mapFromUSBankAccountHolderType
+import com.reactnativestripesdk.utils.mapFromUSBankAccountType
+import com.reactnativestripesdk.utils.mapIntentShipping
+import com.reactnativestripesdk.utils.mapIntentStatus
+import com.reactnativestripesdk.utils.mapNextAction
+import com.reactnativestripesdk.utils.mapPaymentMethodType
+import com.reactnativestripesdk.utils.mapSetupIntentUsage
+import com.stripe.android.model.CardBrand
+import com.stripe.android.model.PaymentIntent
+import com.stripe.android.model.PaymentMethod
+import com.stripe.android.model.SetupIntent
+import com.stripe.android.model.parsers.PaymentIntentJsonParser
+import com.stripe.android.model.parsers.PaymentMethodJsonParser
+import com.stripe.android.model.parsers.SetupIntentJsonParser
+import org.json.JSONObject
+import org.junit.Assert.assertEquals
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+
+/**
+ * Asserts that the schema-driven mappers produce exactly the same maps as the hand-built mappers
+ * they replaced. The legacy implementations are kept verbatim at the bottom of this file.
+ */
+@SuppressLint("RestrictedApi")
+@RunWith(RobolectricTestRunner::class)
+class MapSchemaParityTest {
+  @Test
+  fun paymentMethod_Card_MatchesLegacyMapper() {
+    val paymentMethod = PaymentMethodJsonParser().parse(JSONObject(CARD_PAYMENT_METHOD_JSON))
+
+    assertEquals(legacyMapFromPaymentMethod(paymentMethod), mapFromPaymentMethod(paymentMethod))
+  }
+
+  @Test
+  fun paymentMethod_SepaDebit_MatchesLegacyMapper() {
+    val paymentMethod = PaymentMethodJsonParser().parse(JSONObject(SEPA_PAYMENT_METHOD_JSON))
+
+    assertEquals(legacyMapFromPaymentMethod(paymentMethod), mapFromPaymentMethod(paymentMethod))
+  }
+
+  @Test
+  fun paymentMethod_USBankAccount_MatchesLegacyMapper() {
+    val paymentMethod =
+      PaymentMethod
+        .Builder()
+        .setId("pm_test123")
+        .setType(PaymentMethod.Type.USBankAccount)
+        .setUSBankAccount(
+          PaymentMethod.USBankAccount(
+            accountHolderType = PaymentMethod.USBankAccount.USBankAccountHolderType.COMPANY,
+            accountType = PaymentMethod.USBankAccount.USBankAccountType.SAVINGS,
+            bankName = "STRIPE TEST BANK",
+            fingerprint = "fp_123",
+            last4 = "6789",
+            financialConnectionsAccount = "fca_123",
+            networks =
+              PaymentMethod.USBankAccount.USBankNetworks(
+                preferred = "ach",
+                supported = listOf("ach", "us_domestic_wire"),
+              ),
+            routingNumber = "110000000",
+          ),
+        ).build()
+
+    assertEquals(legacyMapFromPaymentMethod(paymentMethod), mapFromPaymentMethod(paymentMethod))
+  }
+
+  @Test
+  fun paymentMethod_Minimal_MatchesLegacyMapper() {
+    val paymentMethod =
+      PaymentMethod
+        .Builder()
+        .setId("pm_minimal")
+        .setType(PaymentMethod.Type.Card)
+        .setCard(PaymentMethod.Card(brand = CardBrand.Visa))
+        .build()
+
+    assertEquals(legacyMapFromPaymentMethod(paymentMethod), mapFromPaymentMethod(paymentMethod))
+  }
+
+  @Test
+  fun billingDetails_Null_MatchesLegacyMapper() {
+    assertEquals(legacyMapFromBillingDetails(null), mapFromBillingDetails(null))
+  }
+
+  @Test
+  fun paymentIntent_Full_MatchesLegacyMapper() {
+    val paymentIntent = PaymentIntentJsonParser().parse(JSONObject(FULL_PAYMENT_INTENT_JSON))!!
+
+    assertEquals(legacyMapFromPaymentIntentResult(paymentIntent), mapFromPaymentIntentResult(paymentIntent))
+  }
+
+  @Test
+  fun paymentIntent_Minimal_MatchesLegacyMapper() {
+    val paymentIntent = PaymentIntentJsonParser().parse(JSONObject(MINIMAL_PAYMENT_INTENT_JSON))!!
+
+    assertEquals(legacyMapFromPaymentIntentResult(paymentIntent), mapFromPaymentIntentResult(paymentIntent))
+  }
+
+  @Test
+  fun setupIntent_WithError_MatchesLegacyMapper() {
+    val setupIntent = SetupIntentJsonParser().parse(JSONObject(SETUP_INTENT_WITH_ERROR_JSON))!!
+
+    assertEquals(legacyMapFromSetupIntentResult(setupIntent), mapFromSetupIntentResult(setupIntent))
+  }
+
+  @Test
+  fun setupIntent_Minimal_MatchesLegacyMapper() {
+    val setupIntent = SetupIntentJsonParser().parse(JSONObject(MINIMAL_SETUP_INTENT_JSON))!!
+
+    assertEquals(legacyMapFromSetupIntentResult(setupIntent), mapFromSetupIntentResult(setupIntent))
+  }
+
+  private companion object {
+    const val CARD_PAYMENT_METHOD_JSON =
+      """
+      {
+        "id": "pm_card_123",
+        "object": "payment_method",
+        "type": "card",
+        "created": 1700000000,
+        "livemode": false,
+        "customer": "cus_123",
+        "billing_details": {
+          "address": { "city": "San Francisco", "country": "US", "line1": "1 Main St", "postal_code": "94111", "state": "CA" },
+          "email": "jenny@example.com",
+          "name": "Jenny Rosen",
+          "phone": null
+        },
+        "card": {
+          "brand": "visa",
+          "country": "US",
+          "exp_month": 12,
+          "exp_year": 2030,
+          "fingerprint": "fp_abc",
+          "funding": "credit",
+          "last4": "4242",
+          "networks": { "available": ["visa", "cartes_bancaires"], "preferred": "cartes_bancaires" },
+          "three_d_secure_usage": { "supported": true }
+        }
+      }
+      """
+
+    const val SEPA_PAYMENT_METHOD_JSON =
+      """
+      {
+        "id": "pm_sepa_123",
+        "object": "payment_method",
+        "type": "sepa_debit",
+        "created": 1700000000,
+        "livemode": true,
+        "billing_details": { "name": "Jenny Rosen" },
+        "sepa_debit": { "bank_code": "37040044", "branch_code": "", "country": "DE", "fingerprint": "fp_sepa", "last4": "3000" }
+      }
+      """
+
+    const val FULL_PAYMENT_INTENT_JSON =
+      """
+      {
+        "id": "pi_123",
+        "object": "payment_intent",
+        "amount": 1099,
+        "canceled_at": 0,
+        "capture_method": "manual",
+        "client_secret": "pi_123_secret_abc",
+        "confirmation_method": "automatic",
+        "created": 1700000000,
+        "currency": "usd",
+        "description": "Order #1",
+        "livemode": false,
+        "payment_method_types": ["card"],
+        "receipt_email": "jenny@example.com",
+        "status": "requires_action",
+        "next_action": {
+          "type": "redirect_to_url",
+          "redirect_to_url": { "url": "https://hooks.stripe.com/redirect", "return_url": "myapp://safepay" }
+        },
+        "last_payment_error": {
+          "code": "card_declined",
+          "decline_code": "generic_decline",
+          "message": "Your card was declined.",
+          "type": "card_error"
+        },
+        "shipping": {
+          "address": { "city": "San Francisco", "country": "US", "line1": "1 Main St", "postal_code": "94111", "state": "CA" },
+          "carrier": "UPS",
+          "name": "Jenny Rosen",
+          "tracking_number": "1Z999"
+        },
+        "payment_method": $CARD_PAYMENT_METHOD_JSON
+      }
+      """
+
+    const val MINIMAL_PAYMENT_INTENT_JSON =
+      """
+      {
+        "id": "pi_456",
+        "object": "payment_intent",
+        "client_secret": "pi_456_secret_def",
+        "created": 1700000000,
+        "livemode": true,
+        "payment_method_types": [],
+        "status": "succeeded"
+      }
+      """
+
+    const val SETUP_INTENT_WITH_ERROR_JSON =
+      """
+      {
+        "id": "seti_123",
+        "object": "setup_intent",
+        "client_secret": "seti_123_secret_abc",
+        "created": 1700000000,
+        "description": "Save card",
+        "livemode": false,
+        "payment_method_types": ["card", "sepa_debit", "not_a_real_type"],
+        "status": "requires_payment_method",
+        "usage": "off_session",
+        "last_setup_error": {
+          "code": "setup_intent_authentication_failure",
+          "message": "Authentication failed.",
+          "type": "invalid_request_error",
+          "payment_method": $SEPA_PAYMENT_METHOD_JSON
+        }
+      }
+      """
+
+    const val MINIMAL_SETUP_INTENT_JSON =
+      """
+      {
+        "id": "seti_456",
+        "object": "setup_intent",
+        "client_secret": "seti_456_secret_def",
+        "created": 1700000000,
+        "livemode": true,
+        "payment_method_types": [],
+        "status": "succeeded"
+      }
+      """
+  }
+}
+
+// Legacy mappers, as they were before the schema-driven implementation.
+
+private fun legacyTimestamp(timestamp: Long): String = (timestamp * 1000).toString()
+
+private fun legacyMapFromBillingDetails(billingDatails: PaymentMethod.BillingDetails?): WritableMap {
+  val details: WritableMap = Arguments.createMap()
+  val address: WritableMap = Arguments.createMap()
+
+  address.putString("country", billingDatails?.address?.country)
+  address.putString("city", billingDatails?.address?.city)
+  address.putString("line1", billingDatails?.address?.line1)
+  address.putString("line2", billingDatails?.address?.line2)
+  address.putString("postalCode", billingDatails?.address?.postalCode)
+  address.putString("state", billingDatails?.address?.state)
+
+  details.putString("email", billingDatails?.email)
+  details.putString("phone", billingDatails?.phone)
+  details.putString("name", billingDatails?.name)
+  details.putMap("address", address)
+
+  return details
+}
+
+private fun legacyMapFromStringList(list: Collection<String>?): WritableArray? =
+  list?.let { networks ->
+    Arguments.createArray().also { arr -> networks.forEach { arr.pushString(it) } }
+  }
+
+private fun legacyMapFromPaymentMethod(paymentMethod: PaymentMethod): WritableMap {
+  val pm: WritableMap = Arguments.createMap()
+
+  pm.putString("id", paymentMethod.id)
+  pm.putString("paymentMethodType", mapPaymentMethodType(paymentMethod.type))
+  pm.putBoolean("livemode", paymentMethod.liveMode)
+  pm.putString("customerId", paymentMethod.customerId)
+  pm.putMap("billingDetails", legacyMapFromBillingDetails(paymentMethod.billingDetails))
+  pm.putMap(
+    "Card",
+    Arguments.createMap().also {
+      it.putString("brand", mapCardBrand(paymentMethod.card?.brand))
+      it.putString("country", paymentMethod.card?.country)
+      paymentMethod.card?.expiryYear?.let { year -> it.putInt("expYear", year) }
+      paymentMethod.card?.expiryMonth?.let { month -> it.putInt("expMonth", month) }
+      it.putString("funding", paymentMethod.card?.funding)
+      it.putString("last4", paymentMethod.card?.last4)
+      it.putString("fingerprint", paymentMethod.card?.fingerprint)
+      it.putString("preferredNetwork", paymentMethod.card?.networks?.preferred)
+      it.putArray("availableNetworks", legacyMapFromStringList(paymentMethod.card?.networks?.available))
+      it.putMap(
+        "threeDSecureUsage",
+        Arguments.createMap().also { threeDSecureUsageMap ->
+          threeDSecureUsageMap.putBoolean(
+            "isSupported",
+            paymentMethod.card?.threeDSecureUsage?.isSupported ?: false,
+          )
+        },
+      )
+    },
+  )
+  pm.putMap(
+    "SepaDebit",
+    Arguments.createMap().also {
+      it.putString("bankCode", paymentMethod.sepaDebit?.bankCode)
+      it.putString("country", paymentMethod.sepaDebit?.country)
+      it.putString("fingerprint", paymentMethod.sepaDebit?.fingerprint)
+      it.putString("last4", paymentMethod.sepaDebit?.branchCode)
+    },
+  )
+  pm.putMap(
+    "BacsDebit",
+    Arguments.createMap().also {
+      it.putString("fingerprint", paymentMethod.bacsDebit?.fingerprint)
+      it.putString("last4", paymentMethod.bacsDebit?.last4)
+      it.putString("sortCode", paymentMethod.bacsDebit?.sortCode)
+    },
+  )
+  pm.putMap(
+    "AuBecsDebit",
+    Arguments.createMap().also {
+      it.putString("bsbNumber", paymentMethod.bacsDebit?.sortCode)
+      it.putString("fingerprint", paymentMethod.bacsDebit?.fingerprint)
+      it.putString("last4", paymentMethod.bacsDebit?.last4)
+    },
+  )
+  pm.putMap(
+    "Ideal",
+    Arguments.createMap().also {
+      it.putString("bankName", paymentMethod.ideal?.bank)
+      it.putString("bankIdentifierCode", paymentMethod.ideal?.bankIdentifierCode)
+    },
+  )
+  pm.putMap(
+    "Fpx",
+    Arguments.createMap().also {
+      it.putString("accountHolderType", paymentMethod.fpx?.accountHolderType)
+      it.putString("bank", paymentMethod.fpx?.bank)
+    },
+  )
+  pm.putMap(
+    "USBankAccount",
+    Arguments.createMap().also {
+      it.putString("routingNumber", paymentMethod.usBankAccount?.routingNumber)
+      it.putString(
+        "accountType",
+        mapFromUSBankAccountType(paymentMethod.usBankAccount?.accountType),
+      )
+      it.putString(
+        "accountHolderType",
+        mapFromUSBankAccountHolderType(paymentMethod.usBankAccount?.accountHolderType),
+      )
+      it.putString("last4", paymentMethod.usBankAccount?.last4)
+      it.putString("bankName", paymentMethod.usBankAccount?.bankName)
+      it.putString("linkedAccount", paymentMethod.usBankAccount?.financialConnectionsAccount)
+      it.putString("fingerprint", paymentMethod.usBankAccount?.fingerprint)
+      it.putString("preferredNetworks", paymentMethod.usBankAccount?.networks?.preferred)
+      it.putArray(
+        "supportedNetworks",
+        legacyMapFromStringList(paymentMethod.usBankAccount?.networks?.supported),
+      )
+    },
+  )
+
+  return pm
+}
+
+private fun legacyMapFromPaymentIntentResult(paymentIntent: PaymentIntent): WritableMap {
+  val map: WritableMap = Arguments.createMap()
+  map.putString("id", paymentIntent.id)
+  map.putString("clientSecret", paymentIntent.clientSecret)
+  map.putBoolean("livemode", paymentIntent.isLiveMode)
+  map.putString("paymentMethodId", paymentIntent.paymentMethodId)
+  map.putMap(
+    "paymentMethod",
+    paymentIntent.paymentMethod?.let { legacyMapFromPaymentMethod(it) } ?: run { null },
+  )
+  map.putString("receiptEmail", paymentIntent.receiptEmail)
+  map.putString("currency", paymentIntent.currency)
+  map.putString("status", mapIntentStatus(paymentIntent.status))
+  map.putString("description", paymentIntent.description)
+  map.putString("receiptEmail", paymentIntent.receiptEmail)
+  map.putString("created", legacyTimestamp(paymentIntent.created))
+  map.putString("captureMethod", mapCaptureMethod(paymentIntent.captureMethod))
+  map.putString("confirmationMethod", mapConfirmationMethod(paymentIntent.confirmationMethod))
+  map.putMap(
+    "nextAction",
+    mapNextAction(paymentIntent.nextActionType, paymentIntent.nextActionData),
+  )
+  map.putNull("lastPaymentError")
+  map.putNull("shipping")
+  map.putNull("amount")
+  map.putNull("canceledAt")
+
+  paymentIntent.lastPaymentError?.let {
+    val paymentError: WritableMap = Arguments.createMap()
+    paymentError.putString("code", it.code)
+    paymentError.putString("message", it.message)
+    paymentError.putString("type", mapFromPaymentIntentLastErrorType(it.type))
+    paymentError.putString("declineCode", it.declineCode)
+    paymentIntent.lastPaymentError?.paymentMethod?.let { paymentMethod ->
+      paymentError.putMap("paymentMethod", legacyMapFromPaymentMethod(paymentMethod))
+    }
+
+    map.putMap("lastPaymentError", paymentError)
+  }
+
+  paymentIntent.shipping?.let { map.putMap("shipping", mapIntentShipping(it)) }
+
+  paymentIntent.amount?.let { map.putDouble("amount", it.toDouble()) }
+  map.putString("canceledAt", legacyTimestamp(paymentIntent.canceledAt))
+  return map
+}
+
+private fun legacyMapFromSetupIntentResult(setupIntent: SetupIntent): WritableMap {
+  val map: WritableMap = Arguments.createMap()
+  val paymentMethodTypes: WritableArray = Arguments.createArray()
+  map.putString("id", setupIntent.id)
+  map.putString("status", mapIntentStatus(setupIntent.status))
+  map.putString("description", setupIntent.description)
+  map.putBoolean("livemode", setupIntent.isLiveMode)
+  map.putString("clientSecret", setupIntent.clientSecret)
+  map.putString("paymentMethodId", setupIntent.paymentMethodId)
+  map.putMap(
+    "paymentMethod",
+    setupIntent.paymentMethod?.let { legacyMapFromPaymentMethod(it) } ?: run { null },
+  )
+  map.putString("usage", mapSetupIntentUsage(setupIntent.usage))
+  map.putString("created", legacyTimestamp(setupIntent.created))
+  map.putMap("nextAction", mapNextAction(setupIntent.nextActionType, setupIntent.nextActionData))
+
+  setupIntent.lastSetupError?.let {
+    val setupError: WritableMap = Arguments.createMap()
+    setupError.putString("code", it.code)
+    setupError.putString("message", it.message)
+    setupError.putString("type", mapFromSetupIntentLastErrorType(it.type))
+    setupError.putString("declineCode", it.declineCode)
+    setupIntent.lastSetupError?.paymentMethod?.let { paymentMethod ->
+      setupError.putMap("paymentMethod", legacyMapFromPaymentMethod(paymentMethod))
+    }
+    map.putMap("lastSetupError", setupError)
+  }
+
+  for (code in setupIntent.paymentMethodTypes) {
+    PaymentMethod.Type.fromCode(code)?.let {
+      paymentMethodTypes.pushString(mapPaymentMethodType(it))
+    }
+  }
+
+  map.putArray("paymentMethodTypes", paymentMethodTypes)
+
+  return map
+}
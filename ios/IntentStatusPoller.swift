@@ -0,0 +1,68 @@
+//
+//  IntentStatusPoller.swift
+//  stripe-react-native
+//
+
+import Foundation
+import Stripe
+
+/// Paces retrievals of an intent that's waiting to leave `processing` or `requiresAction`.
+///
+/// The wait between retrievals starts at `initialInterval` and doubles up to `maxInterval`. Each
+/// wait is jittered to between half and all of the current interval, and none runs past `timeout`.
+/// `cancelAll()` stops every poller started before it, so waits don't outlive the module.
+class IntentStatusPoller {
+    private static let lock = NSLock()
+    private static var generation = 0
+
+    private let deadline: Date
+    private let maxInterval: TimeInterval
+    private var interval: TimeInterval
+    private let startGeneration: Int
+
+    /// Stops every poller created before this call. Called when the module is invalidated, e.g. on
+    /// a reload, so waits don't keep retrieving intents for a JS context that no longer exists.
+    static func cancelAll() {
+        lock.lock()
+        generation += 1
+        lock.unlock()
+    }
+
+    /// Whether `cancelAll()` was called since this poller was created. A cancelled wait stops
+    /// without resolving its promise.
+    var isCancelled: Bool {
+        IntentStatusPoller.lock.lock()
+        defer { IntentStatusPoller.lock.unlock() }
+        return IntentStatusPoller.generation != startGeneration
+    }
+
+    init(options: NSDictionary) {
+        IntentStatusPoller.lock.lock()
+        startGeneration = IntentStatusPoller.generation
+        IntentStatusPoller.lock.unlock()
+        deadline = Date().addingTimeInterval(IntentStatusPoller.seconds(options["timeout"], defaultMs: 60_000))
+        maxInterval = IntentStatusPoller.seconds(options["maxInterval"], defaultMs: 10_000)
+        interval = max(IntentStatusPoller.seconds(options["initialInterval"], defaultMs: 1_000), 0.001)
+    }
+
+    /// How long to wait before retrieving the intent again, or nil once the timeout has passed.
+    func nextDelay() -> TimeInterval? {
+        let remaining = deadline.timeIntervalSinceNow
+        guard remaining > 0 else { return nil }
+        let delay = min(interval / 2 + Double.random(in: 0...(interval / 2)), remaining)
+        interval = min(interval * 2, max(maxInterval, interval))
+        return delay
+    }
+
+    static func isPending(_ status: STPPaymentIntentStatus) -> Bool {
+        return status == .processing || status == .requiresAction
+    }
+
+    static func isPending(_ status: STPSetupIntentStatus) -> Bool {
+        return status == .processing || status == .requiresAction
+    }
+
+    private static func seconds(_ value: Any?, defaultMs: Double) -> TimeInterval {
+        return ((value as? NSNumber)?.doubleValue ?? defaultMs) / 1000
+    }
+}
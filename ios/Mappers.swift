@@ -16,6 +16,30 @@ class Mappers {
         return result
     }
 
+    /// Keeps only the dotted key paths in `fields` (e.g. `paymentMethod.Card.last4`) of `value`.
+    /// Selecting a key keeps everything below it. Returns `value` unchanged when `fields` is empty.
+    class func project(_ value: NSDictionary?, fields: [String]?) -> NSDictionary? {
+        let paths = (fields ?? []).filter { !$0.isEmpty }.map { $0.split(separator: ".").map(String.init) }
+        guard let value = value, !paths.isEmpty else {
+            return value
+        }
+        return project(value, paths: paths)
+    }
+
+    private class func project(_ value: NSDictionary, paths: [[String]]) -> NSDictionary {
+        let result = NSMutableDictionary()
+        for (key, group) in Dictionary(grouping: paths, by: { $0[0] }) {
+            guard let child = value[key] else { continue }
+            let rest = group.map { Array($0.dropFirst()) }
+            if let nested = child as? NSDictionary, !rest.contains(where: { $0.isEmpty }) {
+                result[key] = project(nested, paths: rest)
+            } else {
+                result[key] = child
+            }
+        }
+        return result
+    }
+
     class func mapToPKContactField(field: String) -> PKContactField {
         switch field {
         case "emailAddress": return PKContactField.emailAddress
@@ -1,7 +1,8 @@
 #import "StripeSdk.h"
 #import "StripeSwiftInterop.h"
+#import <React/RCTInvalidating.h>
 
-@interface StripeSdk () <StripeSdkEmitter>
+@interface StripeSdk () <StripeSdkEmitter, RCTInvalidating>
 @end
 
 @implementation StripeSdk
@@ -34,6 +35,11 @@ RCT_EXPORT_MODULE()
   return self;
 }
 
+- (void)invalidate
+{
+  [StripeSdkImpl.shared invalidate];
+}
+
 // Clang format is really bad at fromatting method with macros.
 /* clang-format off */
 
@@ -169,7 +175,10 @@ RCT_EXPORT_METHOD(createTokenForCVCUpdate:(nonnull NSString *)cvc
   [StripeSdkImpl.shared createTokenForCVCUpdate:cvc resolver:resolve rejecter:reject];
 }
 
+// The CustomerAdapter events sent from iOS don't carry a request id, so `requestId` is always
+// null here. It's part of the signature for the Android implementation.
 RCT_EXPORT_METHOD(customerAdapterAttachPaymentMethodCallback:(nonnull NSDictionary *)paymentMethod
+                                                   requestId:(NSString *_Nullable)requestId
                                                      resolve:(nonnull RCTPromiseResolveBlock)resolve
                                                       reject:(nonnull RCTPromiseRejectBlock)reject)
 {
@@ -177,6 +186,7 @@ RCT_EXPORT_METHOD(customerAdapterAttachPaymentMethodCallback:(nonnull NSDictiona
 }
 
 RCT_EXPORT_METHOD(customerAdapterDetachPaymentMethodCallback:(nonnull NSDictionary *)paymentMethod
+                                                   requestId:(NSString *_Nullable)requestId
                                                      resolve:(nonnull RCTPromiseResolveBlock)resolve
                                                       reject:(nonnull RCTPromiseRejectBlock)reject)
 {
@@ -184,6 +194,7 @@ RCT_EXPORT_METHOD(customerAdapterDetachPaymentMethodCallback:(nonnull NSDictiona
 }
 
 RCT_EXPORT_METHOD(customerAdapterFetchPaymentMethodsCallback:(nonnull NSArray *)paymentMethods
+                                                   requestId:(NSString *_Nullable)requestId
                                                      resolve:(nonnull RCTPromiseResolveBlock)resolve
                                                       reject:(nonnull RCTPromiseRejectBlock)reject)
 {
@@ -191,6 +202,7 @@ RCT_EXPORT_METHOD(customerAdapterFetchPaymentMethodsCallback:(nonnull NSArray *)
 }
 
 RCT_EXPORT_METHOD(customerAdapterFetchSelectedPaymentOptionCallback:(NSString *_Nullable)paymentOption
+                                                          requestId:(NSString *_Nullable)requestId
                                                             resolve:(nonnull RCTPromiseResolveBlock)resolve
                                                              reject:(nonnull RCTPromiseRejectBlock)reject)
 {
@@ -199,13 +211,15 @@ RCT_EXPORT_METHOD(customerAdapterFetchSelectedPaymentOptionCallback:(NSString *_
                                                                  rejecter:reject];
 }
 
-RCT_EXPORT_METHOD(customerAdapterSetSelectedPaymentOptionCallback:(nonnull RCTPromiseResolveBlock)resolve
+RCT_EXPORT_METHOD(customerAdapterSetSelectedPaymentOptionCallback:(NSString *_Nullable)requestId
+                                                          resolve:(nonnull RCTPromiseResolveBlock)resolve
                                                            reject:(nonnull RCTPromiseRejectBlock)reject)
 {
   [StripeSdkImpl.shared customerAdapterSetSelectedPaymentOptionCallback:resolve rejecter:reject];
 }
 
 RCT_EXPORT_METHOD(customerAdapterSetupIntentClientSecretForCustomerAttachCallback:(nonnull NSString *)clientSecret
+                                                                        requestId:(NSString *_Nullable)requestId
                                                                           resolve:(nonnull RCTPromiseResolveBlock)resolve
                                                                            reject:(nonnull RCTPromiseRejectBlock)reject)
 {
@@ -439,17 +453,35 @@ RCT_EXPORT_METHOD(retrieveCustomerSheetPaymentOptionSelection:(nonnull RCTPromis
 }
 
 RCT_EXPORT_METHOD(retrievePaymentIntent:(nonnull NSString *)clientSecret
-                                resolve:(nonnull RCTPromiseResolveBlock)resolve
-                                 reject:(nonnull RCTPromiseRejectBlock)reject)
+                                 options:(nullable NSDictionary *)options
+                                 resolve:(nonnull RCTPromiseResolveBlock)resolve
+                                  reject:(nonnull RCTPromiseRejectBlock)reject)
 {
-  [StripeSdkImpl.shared retrievePaymentIntent:clientSecret resolver:resolve rejecter:reject];
+  [StripeSdkImpl.shared retrievePaymentIntent:clientSecret options:options resolver:resolve rejecter:reject];
 }
 
 RCT_EXPORT_METHOD(retrieveSetupIntent:(nonnull NSString *)clientSecret
-                              resolve:(nonnull RCTPromiseResolveBlock)resolve
-                               reject:(nonnull RCTPromiseRejectBlock)reject)
+                               options:(nullable NSDictionary *)options
+                               resolve:(nonnull RCTPromiseResolveBlock)resolve
+                                reject:(nonnull RCTPromiseRejectBlock)reject)
+{
+  [StripeSdkImpl.shared retrieveSetupIntent:clientSecret options:options resolver:resolve rejecter:reject];
+}
+
+RCT_EXPORT_METHOD(waitForPaymentIntentStatus:(nonnull NSString *)clientSecret
+                                      options:(nullable NSDictionary *)options
+                                      resolve:(nonnull RCTPromiseResolveBlock)resolve
+                                       reject:(nonnull RCTPromiseRejectBlock)reject)
+{
+  [StripeSdkImpl.shared waitForPaymentIntentStatus:clientSecret options:options resolver:resolve rejecter:reject];
+}
+
+RCT_EXPORT_METHOD(waitForSetupIntentStatus:(nonnull NSString *)clientSecret
+                                    options:(nullable NSDictionary *)options
+                                    resolve:(nonnull RCTPromiseResolveBlock)resolve
+                                     reject:(nonnull RCTPromiseRejectBlock)reject)
 {
-  [StripeSdkImpl.shared retrieveSetupIntent:clientSecret resolver:resolve rejecter:reject];
+  [StripeSdkImpl.shared waitForSetupIntentStatus:clientSecret options:options resolver:resolve rejecter:reject];
 }
 
 RCT_EXPORT_METHOD(updatePlatformPaySheet:(nonnull NSArray *)summaryItems
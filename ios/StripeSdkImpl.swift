@@ -83,6 +83,7 @@ public class StripeSdkImpl: NSObject, UIAdaptivePresentationControllerDelegate {
     var applePaymentMethodFlowCanBeCanceled = false
 
     var confirmPaymentClientSecret: String?
+    var confirmPaymentFields: [String]?
 
     var shippingMethodUpdateCompletion: ((PKPaymentRequestShippingMethodUpdate) -> Void)?
     var shippingContactUpdateCompletion: ((PKPaymentRequestShippingContactUpdate) -> Void)?
@@ -426,7 +427,7 @@ public class StripeSdkImpl: NSObject, UIAdaptivePresentationControllerDelegate {
                 }
             case .succeeded:
                 let intent = Mappers.mapFromSetupIntent(setupIntent: setupIntent!)
-                resolve(Mappers.createResult("setupIntent", intent))
+                resolve(Mappers.createResult("setupIntent", Mappers.project(intent, fields: options["fields"] as? [String])))
             @unknown default:
                 resolve(Errors.createError(ErrorType.Unknown, error))
             }
@@ -636,8 +637,9 @@ public class StripeSdkImpl: NSObject, UIAdaptivePresentationControllerDelegate {
                 if let createError = error {
                     resolve(Errors.createError(ErrorType.Failed, createError as NSError))
                 } else {
+                    let paymentMethod = Mappers.mapFromPaymentMethod(paymentMethod)
                     resolve(
-                        Mappers.createResult("paymentMethod", Mappers.mapFromPaymentMethod(paymentMethod))
+                        Mappers.createResult("paymentMethod", Mappers.project(paymentMethod, fields: options["fields"] as? [String]))
                     )
                 }
             }
@@ -920,6 +922,7 @@ public class StripeSdkImpl: NSObject, UIAdaptivePresentationControllerDelegate {
     ) {
         self.confirmPaymentResolver = resolve
         self.confirmPaymentClientSecret = paymentIntentClientSecret
+        self.confirmPaymentFields = options["fields"] as? [String]
 
         let paymentMethodData = params?["paymentMethodData"] as? NSDictionary
         let (missingPaymentMethodError, paymentMethodType) = getPaymentMethodType(params: params)
@@ -1001,51 +1004,128 @@ public class StripeSdkImpl: NSObject, UIAdaptivePresentationControllerDelegate {
         return (err, paymentIntentParams)
     }
 
-    @objc(retrievePaymentIntent:resolver:rejecter:)
+    @objc(retrievePaymentIntent:options:resolver:rejecter:)
     public func retrievePaymentIntent(
         clientSecret: String,
+        options: NSDictionary?,
         resolver resolve: @escaping RCTPromiseResolveBlock,
         rejecter reject: @escaping RCTPromiseRejectBlock
     ) {
+        let options = options ?? [:]
         STPAPIClient.shared.retrievePaymentIntent(withClientSecret: clientSecret) { (paymentIntent, error) in
-            guard error == nil else {
-                if let lastPaymentError = paymentIntent?.lastPaymentError {
-                    resolve(Errors.createError(ErrorType.Unknown, lastPaymentError))
-                } else {
-                    resolve(Errors.createError(ErrorType.Unknown, error as? NSError))
+            self.resolveRetrievedPaymentIntent(paymentIntent, error: error, options: options, resolver: resolve)
+        }
+    }
+
+    /// Stops work started for the current JS context. Called from the module's `invalidate`.
+    @objc public func invalidate() {
+        IntentStatusPoller.cancelAll()
+    }
+
+    @objc(waitForPaymentIntentStatus:options:resolver:rejecter:)
+    public func waitForPaymentIntentStatus(
+        clientSecret: String,
+        options: NSDictionary?,
+        resolver resolve: @escaping RCTPromiseResolveBlock,
+        rejecter reject: @escaping RCTPromiseRejectBlock
+    ) {
+        let options = options ?? [:]
+        let poller = IntentStatusPoller(options: options)
+        func poll() {
+            guard !poller.isCancelled else { return }
+            STPAPIClient.shared.retrievePaymentIntent(withClientSecret: clientSecret) { (paymentIntent, error) in
+                guard !poller.isCancelled else { return }
+                if error == nil, let status = paymentIntent?.status, IntentStatusPoller.isPending(status),
+                   let delay = poller.nextDelay() {
+                    DispatchQueue.main.asyncAfter(deadline: .now() + delay, execute: poll)
+                    return
                 }
-                return
+                self.resolveRetrievedPaymentIntent(paymentIntent, error: error, options: options, resolver: resolve)
             }
+        }
+        poll()
+    }
 
-            if let paymentIntent = paymentIntent {
-                resolve(Mappers.createResult("paymentIntent", Mappers.mapFromPaymentIntent(paymentIntent: paymentIntent)))
+    private func resolveRetrievedPaymentIntent(
+        _ paymentIntent: STPPaymentIntent?,
+        error: Error?,
+        options: NSDictionary,
+        resolver resolve: @escaping RCTPromiseResolveBlock
+    ) {
+        guard error == nil else {
+            if let lastPaymentError = paymentIntent?.lastPaymentError {
+                resolve(Errors.createError(ErrorType.Unknown, lastPaymentError))
             } else {
-                resolve(Errors.createError(ErrorType.Unknown, "Failed to retrieve the PaymentIntent"))
+                resolve(Errors.createError(ErrorType.Unknown, error as? NSError))
             }
+            return
+        }
+
+        if let paymentIntent = paymentIntent {
+            let intent = Mappers.mapFromPaymentIntent(paymentIntent: paymentIntent)
+            resolve(Mappers.createResult("paymentIntent", Mappers.project(intent, fields: options["fields"] as? [String])))
+        } else {
+            resolve(Errors.createError(ErrorType.Unknown, "Failed to retrieve the PaymentIntent"))
         }
     }
 
-    @objc(retrieveSetupIntent:resolver:rejecter:)
+    @objc(retrieveSetupIntent:options:resolver:rejecter:)
     public func retrieveSetupIntent(
         clientSecret: String,
+        options: NSDictionary?,
         resolver resolve: @escaping RCTPromiseResolveBlock,
         rejecter reject: @escaping RCTPromiseRejectBlock
     ) {
+        let options = options ?? [:]
         STPAPIClient.shared.retrieveSetupIntent(withClientSecret: clientSecret) { (setupIntent, error) in
-            guard error == nil else {
-                if let lastSetupError = setupIntent?.lastSetupError {
-                    resolve(Errors.createError(ErrorType.Unknown, lastSetupError))
-                } else {
-                    resolve(Errors.createError(ErrorType.Unknown, error as? NSError))
+            self.resolveRetrievedSetupIntent(setupIntent, error: error, options: options, resolver: resolve)
+        }
+    }
+
+    @objc(waitForSetupIntentStatus:options:resolver:rejecter:)
+    public func waitForSetupIntentStatus(
+        clientSecret: String,
+        options: NSDictionary?,
+        resolver resolve: @escaping RCTPromiseResolveBlock,
+        rejecter reject: @escaping RCTPromiseRejectBlock
+    ) {
+        let options = options ?? [:]
+        let poller = IntentStatusPoller(options: options)
+        func poll() {
+            guard !poller.isCancelled else { return }
+            STPAPIClient.shared.retrieveSetupIntent(withClientSecret: clientSecret) { (setupIntent, error) in
+                guard !poller.isCancelled else { return }
+                if error == nil, let status = setupIntent?.status, IntentStatusPoller.isPending(status),
+                   let delay = poller.nextDelay() {
+                    DispatchQueue.main.asyncAfter(deadline: .now() + delay, execute: poll)
+                    return
                 }
-                return
+                self.resolveRetrievedSetupIntent(setupIntent, error: error, options: options, resolver: resolve)
             }
+        }
+        poll()
+    }
 
-            if let setupIntent = setupIntent {
-                resolve(Mappers.createResult("setupIntent", Mappers.mapFromSetupIntent(setupIntent: setupIntent)))
+    private func resolveRetrievedSetupIntent(
+        _ setupIntent: STPSetupIntent?,
+        error: Error?,
+        options: NSDictionary,
+        resolver resolve: @escaping RCTPromiseResolveBlock
+    ) {
+        guard error == nil else {
+            if let lastSetupError = setupIntent?.lastSetupError {
+                resolve(Errors.createError(ErrorType.Unknown, lastSetupError))
             } else {
-                resolve(Errors.createError(ErrorType.Unknown, "Failed to retrieve the SetupIntent"))
+                resolve(Errors.createError(ErrorType.Unknown, error as? NSError))
             }
+            return
+        }
+
+        if let setupIntent = setupIntent {
+            let intent = Mappers.mapFromSetupIntent(setupIntent: setupIntent)
+            resolve(Mappers.createResult("setupIntent", Mappers.project(intent, fields: options["fields"] as? [String])))
+        } else {
+            resolve(Errors.createError(ErrorType.Unknown, "Failed to retrieve the SetupIntent"))
         }
     }
 
@@ -2186,7 +2266,7 @@ public class StripeSdkImpl: NSObject, UIAdaptivePresentationControllerDelegate {
         case .succeeded:
             if let paymentIntent = paymentIntent {
                 let intent = Mappers.mapFromPaymentIntent(paymentIntent: paymentIntent)
-                confirmPaymentResolver?(Mappers.createResult("paymentIntent", intent))
+                confirmPaymentResolver?(Mappers.createResult("paymentIntent", Mappers.project(intent, fields: confirmPaymentFields)))
             }
         @unknown default:
             confirmPaymentResolver?(Errors.createError(ErrorType.Unknown, "Cannot complete the payment"))
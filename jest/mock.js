@@ -20,6 +20,14 @@ const mockFunctions = {
     setupIntent: {},
     error: null,
   })),
+  waitForPaymentIntentStatus: jest.fn(async () => ({
+    paymentIntent: {},
+    error: null,
+  })),
+  waitForSetupIntentStatus: jest.fn(async () => ({
+    setupIntent: {},
+    error: null,
+  })),
   confirmPayment: jest.fn(async () => ({
     paymentMethod: {},
     error: null,
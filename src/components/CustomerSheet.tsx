@@ -64,11 +64,12 @@ const configureCustomerAdapterEventListeners = (
     fetchPaymentMethodsCallback?.remove();
     fetchPaymentMethodsCallback = addListener(
       'onCustomerAdapterFetchPaymentMethodsCallback',
-      async () => {
+      async (event) => {
         if (customerAdapter.fetchPaymentMethods) {
           const paymentMethods = await customerAdapter.fetchPaymentMethods();
           await NativeStripeSdk.customerAdapterFetchPaymentMethodsCallback(
-            paymentMethods
+            paymentMethods,
+            event?.requestId ?? null
           );
         } else {
           throw new Error(
@@ -83,12 +84,13 @@ const configureCustomerAdapterEventListeners = (
     attachPaymentMethodCallback?.remove();
     attachPaymentMethodCallback = addListener(
       'onCustomerAdapterAttachPaymentMethodCallback',
-      async ({ paymentMethodId }) => {
+      async ({ paymentMethodId, requestId }) => {
         if (customerAdapter.attachPaymentMethod) {
           const paymentMethod =
             await customerAdapter.attachPaymentMethod(paymentMethodId);
           await NativeStripeSdk.customerAdapterAttachPaymentMethodCallback(
-            paymentMethod
+            paymentMethod,
+            requestId ?? null
           );
         } else {
           throw new Error(
@@ -103,12 +105,13 @@ const configureCustomerAdapterEventListeners = (
     detachPaymentMethodCallback?.remove();
     detachPaymentMethodCallback = addListener(
       'onCustomerAdapterDetachPaymentMethodCallback',
-      async ({ paymentMethodId }) => {
+      async ({ paymentMethodId, requestId }) => {
         if (customerAdapter.detachPaymentMethod) {
           const paymentMethod =
             await customerAdapter.detachPaymentMethod(paymentMethodId);
           await NativeStripeSdk.customerAdapterDetachPaymentMethodCallback(
-            paymentMethod
+            paymentMethod,
+            requestId ?? null
           );
         } else {
           throw new Error(
@@ -123,10 +126,12 @@ const configureCustomerAdapterEventListeners = (
     setSelectedPaymentOptionCallback?.remove();
     setSelectedPaymentOptionCallback = addListener(
       'onCustomerAdapterSetSelectedPaymentOptionCallback',
-      async ({ paymentOption }) => {
+      async ({ paymentOption, requestId }) => {
         if (customerAdapter.setSelectedPaymentOption) {
           await customerAdapter.setSelectedPaymentOption(paymentOption);
-          await NativeStripeSdk.customerAdapterSetSelectedPaymentOptionCallback();
+          await NativeStripeSdk.customerAdapterSetSelectedPaymentOptionCallback(
+            requestId ?? null
+          );
         } else {
           throw new Error(
             '[@stripe/stripe-react-native] Tried to call `setSelectedPaymentOption` on your CustomerAdapter, but no matching method was found.'
@@ -140,12 +145,13 @@ const configureCustomerAdapterEventListeners = (
     fetchSelectedPaymentOptionCallback?.remove();
     fetchSelectedPaymentOptionCallback = addListener(
       'onCustomerAdapterFetchSelectedPaymentOptionCallback',
-      async () => {
+      async (event) => {
         if (customerAdapter.fetchSelectedPaymentOption) {
           const paymentOption =
             await customerAdapter.fetchSelectedPaymentOption();
           await NativeStripeSdk.customerAdapterFetchSelectedPaymentOptionCallback(
-            paymentOption
+            paymentOption,
+            event?.requestId ?? null
           );
         } else {
           throw new Error(
@@ -160,12 +166,13 @@ const configureCustomerAdapterEventListeners = (
     setupIntentClientSecretForCustomerAttachCallback?.remove();
     setupIntentClientSecretForCustomerAttachCallback = addListener(
       'onCustomerAdapterSetupIntentClientSecretForCustomerAttachCallback',
-      async () => {
+      async (event) => {
         if (customerAdapter.setupIntentClientSecretForCustomerAttach) {
           const clientSecret =
             await customerAdapter.setupIntentClientSecretForCustomerAttach();
           await NativeStripeSdk.customerAdapterSetupIntentClientSecretForCustomerAttachCallback(
-            clientSecret
+            clientSecret,
+            event?.requestId ?? null
           );
         } else {
           throw new Error(
@@ -84,6 +84,7 @@ export function StripeProvider({
   stripeAccountId,
   urlScheme,
   setReturnUrlSchemeOnAndroid,
+  androidIconOptions,
 }: Props) {
   useEffect(() => {
     if (!publishableKey) {
@@ -97,6 +98,7 @@ export function StripeProvider({
           threeDSecureParams,
           urlScheme,
           setReturnUrlSchemeOnAndroid,
+          androidIconOptions,
         });
       } else {
         await initStripe({
@@ -117,6 +119,7 @@ export function StripeProvider({
     threeDSecureParams,
     urlScheme,
     setReturnUrlSchemeOnAndroid,
+    androidIconOptions,
   ]);
 
   return <>{children}</>;
@@ -40,9 +40,8 @@ const BASE_URL = DEVELOPMENT_MODE ? DEVELOPMENT_URL : PRODUCTION_URL;
 
 const sdkVersion = pjson.version;
 
-// Android deep link polling configuration
-// These constants control the polling mechanism that prevents Expo Router from dismissing screens
-const POLLING_INTERVAL_MS = 500; // How often to check for pending deep links
+// Android deep link configuration
+// These constants control the mechanism that prevents Expo Router from dismissing screens
 const URL_DEDUPLICATION_TIMEOUT_MS = 1000; // How long to remember handled URLs
 const DEEP_LINK_GRACE_PERIOD_MS = 500; // Time to wait for deep link after app resumes
 
@@ -196,15 +195,17 @@ export function EmbeddedComponent(props: EmbeddedComponentProps) {
 
   const appState = useRef<AppStateStatus>(AppState.currentState);
 
-  // Android deep link polling mechanism (Android-only)
+  // Android deep link delivery mechanism (Android-only)
   //
   // PROBLEM: On Android, completing auth in Custom Tabs causes a stripe-connect:// deep link
   // that gets broadcast to React Native's Linking module, which triggers Expo Router and
   // dismisses the current screen.
   //
-  // SOLUTION: This polling mechanism intercepts the deep link before Expo Router receives it:
-  // 1. MainActivity.onNewIntent() captures stripe-connect:// URLs and stores them
-  // 2. This effect polls for pending URLs while auth is active
+  // SOLUTION: The deep link is intercepted before Expo Router receives it:
+  // 1. StripeConnectDeepLinkInterceptorActivity captures stripe-connect:// URLs and stores them
+  // 2. Native sends onStripeConnectDeepLinkReceived, and this effect collects the pending URLs
+  //    while auth is active. They're also collected when the app returns to the foreground, in
+  //    case a URL arrived while no auth was pending.
   // 3. URLs are processed directly and never broadcast to Expo Router
   // 4. Deduplication prevents the same URL from being processed twice
   //
@@ -212,7 +213,7 @@ export function EmbeddedComponent(props: EmbeddedComponentProps) {
   useEffect(() => {
     if (Platform.OS !== 'android') return;
 
-    const pollInterval = setInterval(async () => {
+    const collectPendingUrls = async () => {
       if (pendingAuthWebViewPromises.current.size === 0) {
         return;
       }
@@ -262,12 +263,26 @@ export function EmbeddedComponent(props: EmbeddedComponentProps) {
           });
         }
       } catch (_error) {
-        // Intentionally silent - polling will retry on next interval
+        // Intentionally silent - pending URLs are collected again on the next event
       }
-    }, POLLING_INTERVAL_MS);
+    };
+
+    const deepLinkSubscription = addListener(
+      'onStripeConnectDeepLinkReceived',
+      collectPendingUrls
+    );
+    const appStateSubscription = AppState.addEventListener(
+      'change',
+      (nextAppState) => {
+        if (nextAppState === 'active') {
+          collectPendingUrls();
+        }
+      }
+    );
 
     return () => {
-      clearInterval(pollInterval);
+      deepLinkSubscription.remove();
+      appStateSubscription.remove();
     };
   }, []);
 
@@ -32,26 +32,39 @@ type Events = {
   onConfirmHandlerCallback: EventEmitter<{
     paymentMethod: UnsafeObject<PaymentMethod.Result>;
     shouldSavePaymentMethod: boolean;
+    requestId?: string;
   }>;
   onConfirmationTokenHandlerCallback: EventEmitter<{
     confirmationToken: UnsafeObject<ConfirmationTokenResult>;
+    requestId?: string;
   }>;
   onFinancialConnectionsEvent: EventEmitter<
     UnsafeObject<FinancialConnectionsEvent>
   >;
   onOrderTrackingCallback: EventEmitter<void>;
-  onCustomerAdapterFetchPaymentMethodsCallback: EventEmitter<void>;
+  // Events that native answers through a JS callback carry a `requestId` on Android, which is
+  // passed back with the answer. iOS doesn't send one.
+  onCustomerAdapterFetchPaymentMethodsCallback: EventEmitter<
+    { requestId?: string } | undefined
+  >;
   onCustomerAdapterAttachPaymentMethodCallback: EventEmitter<{
     paymentMethodId: string;
+    requestId?: string;
   }>;
   onCustomerAdapterDetachPaymentMethodCallback: EventEmitter<{
     paymentMethodId: string;
+    requestId?: string;
   }>;
   onCustomerAdapterSetSelectedPaymentOptionCallback: EventEmitter<{
     paymentOption: string;
+    requestId?: string;
   }>;
-  onCustomerAdapterFetchSelectedPaymentOptionCallback: EventEmitter<void>;
-  onCustomerAdapterSetupIntentClientSecretForCustomerAttachCallback: EventEmitter<void>;
+  onCustomerAdapterFetchSelectedPaymentOptionCallback: EventEmitter<
+    { requestId?: string } | undefined
+  >;
+  onCustomerAdapterSetupIntentClientSecretForCustomerAttachCallback: EventEmitter<
+    { requestId?: string } | undefined
+  >;
   onCustomerSessionProviderSetupIntentClientSecret: EventEmitter<void>;
   onCustomerSessionProviderCustomerSessionClientSecret: EventEmitter<void>;
   embeddedPaymentElementDidUpdateHeight: EventEmitter<UnsafeObject<any>>;
@@ -77,6 +90,11 @@ type Events = {
     sessionKey: string;
     state: UnsafeObject<any>;
   }>;
+  /**
+   * Android only. Fired when a stripe-connect:// deep link has been stored, so it can be collected
+   * with `pollAndClearPendingStripeConnectUrls`.
+   */
+  onStripeConnectDeepLinkReceived: EventEmitter<void>;
 };
 
 export function addListener<EventT extends keyof Events>(
@@ -1,4 +1,4 @@
-import { createError } from './helpers';
+import { createError, withRequestId } from './helpers';
 import { MissingRoutingNumber } from './types/Errors';
 import NativeStripeSdk from './specs/NativeStripeSdkModule';
 import type {
@@ -39,10 +39,12 @@ import type { CollectFinancialConnectionsAccountsParams } from './types/Financia
 import type { CollectBankAccountTokenParams } from './types/PaymentMethod';
 import { addListener } from './events';
 
-export const createPaymentMethod = async (
+export const createPaymentMethod = async <
+  Options extends PaymentMethod.CreateOptions = {}
+>(
   params: PaymentMethod.CreateParams,
-  options: PaymentMethod.CreateOptions = {}
-): Promise<CreatePaymentMethodResult> => {
+  options: Options = {} as Options
+): Promise<CreatePaymentMethodResult<Options>> => {
   try {
     const { paymentMethod, error } = await NativeStripeSdk.createPaymentMethod(
       params,
@@ -55,7 +57,7 @@ export const createPaymentMethod = async (
     }
     return {
       paymentMethod: paymentMethod!,
-    };
+    } as CreatePaymentMethodResult<Options>;
   } catch (error: any) {
     return {
       error,
@@ -94,12 +96,15 @@ export const createToken = async (
   }
 };
 
-export const retrievePaymentIntent = async (
-  clientSecret: string
-): Promise<RetrievePaymentIntentResult> => {
+export const retrievePaymentIntent = async <
+  Options extends PaymentIntent.RetrieveOptions = {}
+>(
+  clientSecret: string,
+  options: Options = {} as Options
+): Promise<RetrievePaymentIntentResult<Options>> => {
   try {
     const { paymentIntent, error } =
-      await NativeStripeSdk.retrievePaymentIntent(clientSecret);
+      await NativeStripeSdk.retrievePaymentIntent(clientSecret, options);
     if (error) {
       return {
         error,
@@ -107,7 +112,33 @@ export const retrievePaymentIntent = async (
     }
     return {
       paymentIntent: paymentIntent!,
+    } as RetrievePaymentIntentResult<Options>;
+  } catch (error: any) {
+    return {
+      error,
     };
+  }
+};
+
+export const retrieveSetupIntent = async <
+  Options extends SetupIntent.RetrieveOptions = {}
+>(
+  clientSecret: string,
+  options: Options = {} as Options
+): Promise<RetrieveSetupIntentResult<Options>> => {
+  try {
+    const { setupIntent, error } = await NativeStripeSdk.retrieveSetupIntent(
+      clientSecret,
+      options
+    );
+    if (error) {
+      return {
+        error,
+      };
+    }
+    return {
+      setupIntent: setupIntent!,
+    } as RetrieveSetupIntentResult<Options>;
   } catch (error: any) {
     return {
       error,
@@ -115,12 +146,53 @@ export const retrievePaymentIntent = async (
   }
 };
 
-export const retrieveSetupIntent = async (
-  clientSecret: string
-): Promise<RetrieveSetupIntentResult> => {
+/**
+ * Retrieves the payment intent until it's no longer `Processing` or `RequiresAction`, backing off
+ * between retrievals. Resolves with the intent as last retrieved if `timeout` passes first, so check
+ * its status before relying on it.
+ *
+ * The wait stops without resolving if the app reloads, e.g. during development.
+ */
+export const waitForPaymentIntentStatus = async <
+  Options extends PaymentIntent.WaitForStatusOptions = {}
+>(
+  clientSecret: string,
+  options: Options = {} as Options
+): Promise<RetrievePaymentIntentResult<Options>> => {
+  try {
+    const { paymentIntent, error } =
+      await NativeStripeSdk.waitForPaymentIntentStatus(clientSecret, options);
+    if (error) {
+      return {
+        error,
+      };
+    }
+    return {
+      paymentIntent: paymentIntent!,
+    } as RetrievePaymentIntentResult<Options>;
+  } catch (error: any) {
+    return {
+      error,
+    };
+  }
+};
+
+/**
+ * Retrieves the setup intent until it's no longer `Processing` or `RequiresAction`, backing off
+ * between retrievals. Resolves with the intent as last retrieved if `timeout` passes first, so check
+ * its status before relying on it.
+ *
+ * The wait stops without resolving if the app reloads, e.g. during development.
+ */
+export const waitForSetupIntentStatus = async <
+  Options extends SetupIntent.WaitForStatusOptions = {}
+>(
+  clientSecret: string,
+  options: Options = {} as Options
+): Promise<RetrieveSetupIntentResult<Options>> => {
   try {
     const { setupIntent, error } =
-      await NativeStripeSdk.retrieveSetupIntent(clientSecret);
+      await NativeStripeSdk.waitForSetupIntentStatus(clientSecret, options);
     if (error) {
       return {
         error,
@@ -128,7 +200,7 @@ export const retrieveSetupIntent = async (
     }
     return {
       setupIntent: setupIntent!,
-    };
+    } as RetrieveSetupIntentResult<Options>;
   } catch (error: any) {
     return {
       error,
@@ -144,11 +216,13 @@ export const retrieveSetupIntent = async (
  * @param {object=} options An optional object that contains options for this payment method.
  * @returns A promise that resolves to an object containing either a `paymentIntent` field, or an `error` field.
  */
-export const confirmPayment = async (
+export const confirmPayment = async <
+  Options extends PaymentIntent.ConfirmOptions = {}
+>(
   paymentIntentClientSecret: string,
   params?: PaymentIntent.ConfirmParams,
-  options: PaymentIntent.ConfirmOptions = {}
-): Promise<ConfirmPaymentResult> => {
+  options: Options = {} as Options
+): Promise<ConfirmPaymentResult<Options>> => {
   try {
     const { paymentIntent, error } = await NativeStripeSdk.confirmPayment(
       paymentIntentClientSecret,
@@ -162,7 +236,7 @@ export const confirmPayment = async (
     }
     return {
       paymentIntent: paymentIntent!,
-    };
+    } as ConfirmPaymentResult<Options>;
   } catch (error: any) {
     return {
       error,
@@ -231,11 +305,13 @@ export const handleNextActionForSetup = async (
   }
 };
 
-export const confirmSetupIntent = async (
+export const confirmSetupIntent = async <
+  Options extends SetupIntent.ConfirmOptions = {}
+>(
   paymentIntentClientSecret: string,
   params: SetupIntent.ConfirmParams,
-  options: SetupIntent.ConfirmOptions = {}
-): Promise<ConfirmSetupIntentResult> => {
+  options: Options = {} as Options
+): Promise<ConfirmSetupIntentResult<Options>> => {
   try {
     const { setupIntent, error } = await NativeStripeSdk.confirmSetupIntent(
       paymentIntentClientSecret,
@@ -249,7 +325,7 @@ export const confirmSetupIntent = async (
     }
     return {
       setupIntent: setupIntent!,
-    };
+    } as ConfirmSetupIntentResult<Options>;
   } catch (error: any) {
     return {
       error,
@@ -387,11 +463,11 @@ export const initPaymentSheet = async (
     confirmHandlerCallback?.remove();
     confirmHandlerCallback = addListener(
       'onConfirmHandlerCallback',
-      ({ paymentMethod, shouldSavePaymentMethod }) => {
-        confirmHandler(
-          paymentMethod,
-          shouldSavePaymentMethod,
-          NativeStripeSdk.intentCreationCallback
+      ({ paymentMethod, shouldSavePaymentMethod, requestId }) => {
+        confirmHandler(paymentMethod, shouldSavePaymentMethod, (result) =>
+          NativeStripeSdk.intentCreationCallback(
+            withRequestId(result, requestId)
+          )
         );
       }
     );
@@ -403,10 +479,11 @@ export const initPaymentSheet = async (
     confirmationTokenHandlerCallback?.remove();
     confirmationTokenHandlerCallback = addListener(
       'onConfirmationTokenHandlerCallback',
-      ({ confirmationToken }) => {
-        confirmationTokenHandler(
-          confirmationToken,
-          NativeStripeSdk.confirmationTokenCreationCallback
+      ({ confirmationToken, requestId }) => {
+        confirmationTokenHandler(confirmationToken, (result) =>
+          NativeStripeSdk.confirmationTokenCreationCallback(
+            withRequestId(result, requestId)
+          )
         );
       }
     );
@@ -424,9 +501,11 @@ export const initPaymentSheet = async (
         ({
           customPaymentMethod,
           billingDetails,
+          requestId,
         }: {
           customPaymentMethod: PaymentSheet.CustomPaymentMethod;
           billingDetails: import('./types').BillingDetails | null;
+          requestId?: string;
         }) => {
           // Call the user's handler with a result handler callback
           customPaymentMethodHandler(
@@ -434,7 +513,9 @@ export const initPaymentSheet = async (
             billingDetails,
             (cpmResult: PaymentSheet.CustomPaymentMethodResult) => {
               // Send the result back to the native side
-              NativeStripeSdk.customPaymentMethodResultCallback(cpmResult);
+              NativeStripeSdk.customPaymentMethodResultCallback(
+                withRequestId(cpmResult, requestId)
+              );
             }
           );
         }
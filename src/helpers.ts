@@ -32,6 +32,18 @@ export function createError<T>(error: StripeError<T>) {
   };
 }
 
+/**
+ * Adds the `requestId` that native sent with a callback event to the result passed back for it,
+ * so native can match the result to the call that asked for it. Results for events without an id
+ * are passed back unchanged.
+ */
+export function withRequestId<T extends object>(
+  result: T,
+  requestId: string | undefined
+): T & { requestId?: string } {
+  return requestId === undefined ? result : { ...result, requestId };
+}
+
 export const unsupportedMethodMessage = (field: string) =>
   `${field} method is not supported. Consider to upgrade react-native version to 0.63.x or higher`;
 
@@ -10,10 +10,10 @@ export function useConfirmPayment() {
   const { confirmPayment } = useStripe();
 
   const _confirmPayment = useCallback(
-    async (
+    async <Options extends PaymentIntent.ConfirmOptions = {}>(
       paymentIntentClientSecret: string,
       data?: PaymentIntent.ConfirmParams,
-      options: PaymentIntent.ConfirmOptions = {}
+      options: Options = {} as Options
     ) => {
       setLoading(true);
 
@@ -10,10 +10,10 @@ export function useConfirmSetupIntent() {
   const { confirmSetupIntent: confirmSetupIntent } = useStripe();
 
   const _confirmSetupIntent = useCallback(
-    async (
+    async <Options extends SetupIntent.ConfirmOptions = {}>(
       paymentIntentClientSecret: string,
       data: SetupIntent.ConfirmParams,
-      options: SetupIntent.ConfirmOptions = {}
+      options: Options = {} as Options
     ) => {
       setLoading(true);
 
@@ -35,6 +35,8 @@ import {
   createPaymentMethod,
   retrievePaymentIntent,
   retrieveSetupIntent,
+  waitForPaymentIntentStatus,
+  waitForSetupIntentStatus,
   confirmSetupIntent,
   createTokenForCVCUpdate,
   handleNextAction,
@@ -70,10 +72,10 @@ import type { CollectFinancialConnectionsAccountsParams } from '../types/Financi
  */
 export function useStripe() {
   const _createPaymentMethod = useCallback(
-    async (
+    async <Options extends PaymentMethod.CreateOptions = {}>(
       data: PaymentMethod.CreateParams,
-      options: PaymentMethod.CreateOptions = {}
-    ): Promise<CreatePaymentMethodResult> => {
+      options: Options = {} as Options
+    ): Promise<CreatePaymentMethodResult<Options>> => {
       return createPaymentMethod(data, options);
     },
     []
@@ -87,25 +89,51 @@ export function useStripe() {
   );
 
   const _retrievePaymentIntent = useCallback(
-    async (clientSecret: string): Promise<RetrievePaymentIntentResult> => {
-      return retrievePaymentIntent(clientSecret);
+    async <Options extends PaymentIntent.RetrieveOptions = {}>(
+      clientSecret: string,
+      options: Options = {} as Options
+    ): Promise<RetrievePaymentIntentResult<Options>> => {
+      return retrievePaymentIntent(clientSecret, options);
     },
     []
   );
 
   const _retrieveSetupIntent = useCallback(
-    async (clientSecret: string): Promise<RetrieveSetupIntentResult> => {
-      return retrieveSetupIntent(clientSecret);
+    async <Options extends SetupIntent.RetrieveOptions = {}>(
+      clientSecret: string,
+      options: Options = {} as Options
+    ): Promise<RetrieveSetupIntentResult<Options>> => {
+      return retrieveSetupIntent(clientSecret, options);
+    },
+    []
+  );
+
+  const _waitForPaymentIntentStatus = useCallback(
+    async <Options extends PaymentIntent.WaitForStatusOptions = {}>(
+      clientSecret: string,
+      options: Options = {} as Options
+    ): Promise<RetrievePaymentIntentResult<Options>> => {
+      return waitForPaymentIntentStatus(clientSecret, options);
+    },
+    []
+  );
+
+  const _waitForSetupIntentStatus = useCallback(
+    async <Options extends SetupIntent.WaitForStatusOptions = {}>(
+      clientSecret: string,
+      options: Options = {} as Options
+    ): Promise<RetrieveSetupIntentResult<Options>> => {
+      return waitForSetupIntentStatus(clientSecret, options);
     },
     []
   );
 
   const _confirmPayment = useCallback(
-    async (
+    async <Options extends PaymentIntent.ConfirmOptions = {}>(
       paymentIntentClientSecret: string,
       data?: PaymentIntent.ConfirmParams,
-      options: PaymentIntent.ConfirmOptions = {}
-    ): Promise<ConfirmPaymentResult> => {
+      options: Options = {} as Options
+    ): Promise<ConfirmPaymentResult<Options>> => {
       return confirmPayment(paymentIntentClientSecret, data, options);
     },
     []
@@ -132,11 +160,11 @@ export function useStripe() {
   );
 
   const _confirmSetupIntent = useCallback(
-    async (
+    async <Options extends SetupIntent.ConfirmOptions = {}>(
       paymentIntentClientSecret: string,
       data: SetupIntent.ConfirmParams,
-      options: SetupIntent.ConfirmOptions = {}
-    ): Promise<ConfirmSetupIntentResult> => {
+      options: Options = {} as Options
+    ): Promise<ConfirmSetupIntentResult<Options>> => {
       return confirmSetupIntent(paymentIntentClientSecret, data, options);
     },
     []
@@ -330,6 +358,8 @@ export function useStripe() {
   return {
     retrievePaymentIntent: _retrievePaymentIntent,
     retrieveSetupIntent: _retrieveSetupIntent,
+    waitForPaymentIntentStatus: _waitForPaymentIntentStatus,
+    waitForSetupIntentStatus: _waitForSetupIntentStatus,
     confirmPayment: _confirmPayment,
     createPaymentMethod: _createPaymentMethod,
     handleNextAction: _handleNextAction,
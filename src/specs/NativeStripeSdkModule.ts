@@ -74,20 +74,38 @@ export interface Spec extends TurboModule {
     options: UnsafeObject<SetupIntent.ConfirmOptions>
   ): Promise<ConfirmSetupIntentResult>;
   retrievePaymentIntent(
-    clientSecret: string
+    clientSecret: string,
+    options?: UnsafeObject<PaymentIntent.RetrieveOptions>
   ): Promise<RetrievePaymentIntentResult>;
-  retrieveSetupIntent(clientSecret: string): Promise<RetrieveSetupIntentResult>;
+  retrieveSetupIntent(
+    clientSecret: string,
+    options?: UnsafeObject<SetupIntent.RetrieveOptions>
+  ): Promise<RetrieveSetupIntentResult>;
+  waitForPaymentIntentStatus(
+    clientSecret: string,
+    options?: UnsafeObject<PaymentIntent.WaitForStatusOptions>
+  ): Promise<RetrievePaymentIntentResult>;
+  waitForSetupIntentStatus(
+    clientSecret: string,
+    options?: UnsafeObject<SetupIntent.WaitForStatusOptions>
+  ): Promise<RetrieveSetupIntentResult>;
   initPaymentSheet(
     params: UnsafeObject<PaymentSheet.SetupParams>
   ): Promise<InitPaymentSheetResult>;
   intentCreationCallback(
-    result: UnsafeObject<PaymentSheet.IntentCreationCallbackParams>
+    result: UnsafeObject<
+      PaymentSheet.IntentCreationCallbackParams & { requestId?: string }
+    >
   ): Promise<void>;
   confirmationTokenCreationCallback(
-    result: UnsafeObject<PaymentSheet.IntentCreationCallbackParams>
+    result: UnsafeObject<
+      PaymentSheet.IntentCreationCallbackParams & { requestId?: string }
+    >
   ): Promise<void>;
   customPaymentMethodResultCallback(
-    result: UnsafeObject<PaymentSheet.CustomPaymentMethodResult>
+    result: UnsafeObject<
+      PaymentSheet.CustomPaymentMethodResult & { requestId?: string }
+    >
   ): Promise<void>;
   presentPaymentSheet(
     options: UnsafeObject<PaymentSheet.PresentOptions>
@@ -175,20 +193,27 @@ export interface Spec extends TurboModule {
   ): Promise<CustomerSheetResult>;
   retrieveCustomerSheetPaymentOptionSelection(): Promise<CustomerSheetResult>;
   customerAdapterFetchPaymentMethodsCallback(
-    paymentMethods: ReadonlyArray<Object>
+    paymentMethods: ReadonlyArray<Object>,
+    requestId: string | null
   ): Promise<void>;
   customerAdapterAttachPaymentMethodCallback(
-    paymentMethod: Object
+    paymentMethod: Object,
+    requestId: string | null
   ): Promise<void>;
   customerAdapterDetachPaymentMethodCallback(
-    paymentMethod: Object
+    paymentMethod: Object,
+    requestId: string | null
+  ): Promise<void>;
+  customerAdapterSetSelectedPaymentOptionCallback(
+    requestId: string | null
   ): Promise<void>;
-  customerAdapterSetSelectedPaymentOptionCallback(): Promise<void>;
   customerAdapterFetchSelectedPaymentOptionCallback(
-    paymentOption: string | null
+    paymentOption: string | null,
+    requestId: string | null
   ): Promise<void>;
   customerAdapterSetupIntentClientSecretForCustomerAttachCallback(
-    clientSecret: string
+    clientSecret: string,
+    requestId: string | null
   ): Promise<void>;
   clientSecretProviderSetupIntentClientSecretCallback(
     setupIntentClientSecret: string
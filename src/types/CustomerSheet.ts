@@ -65,6 +65,15 @@ type CustomerAdapterInitParams = {
    * WARNING: When implementing your own CustomerAdapter, ensure your application complies with all applicable laws and regulations, including data privacy and consumer protection.
    */
   customerAdapter?: CustomerAdapter;
+  /** Android only. Keeps the payment methods returned by your CustomerAdapter's `fetchPaymentMethods` on the device, so CustomerSheet can show them without calling it on every load.
+   * The kept list is dropped whenever a payment method is attached, detached or updated through CustomerSheet, or a SetupIntent is created to add one. After a SetupIntent is created, that CustomerSheet always calls `fetchPaymentMethods`. Has no effect if your CustomerAdapter doesn't implement `fetchPaymentMethods`.
+   */
+  paymentMethodsCache?: {
+    /** How long (in milliseconds) a fetched list is shown without calling `fetchPaymentMethods` again. Defaults to 0. */
+    maxAge?: number;
+    /** If true, a list older than `maxAge` is shown right away while `fetchPaymentMethods` is called in the background, and the new list is shown the next time CustomerSheet loads. Defaults to false. */
+    staleWhileRevalidate?: boolean;
+  };
   intentConfiguration?: never;
   clientSecretProvider?: never;
 };
@@ -81,6 +90,7 @@ type CustomerSessionInitParams = {
   setupIntentClientSecret?: never;
   customerEphemeralKeySecret?: never;
   customerAdapter?: never;
+  paymentMethodsCache?: never;
 };
 
 export type CustomerSheetInitParams = (
@@ -28,6 +28,7 @@ import {
 
 import React from 'react';
 import { addListener } from '../events';
+import { withRequestId } from '../helpers';
 import NativeEmbeddedPaymentElement, {
   Commands,
   NativeProps,
@@ -56,6 +57,7 @@ export interface PaymentOptionDisplayData {
   label: string;
   /**
    * A base64 encoded string representing the image for the payment option.
+   * On Android this is a `file://` URI when `androidIconOptions.delivery` is `fileUri`.
    */
   image: string;
   /**
@@ -221,6 +223,12 @@ export interface EmbeddedPaymentElementConfiguration {
    * the card entry form will initialize with the card scanner already open.
    * Defaults to false. */
   opensCardScannerAutomatically?: boolean;
+  /** Android only. Calls to `update()` made within this many milliseconds of each other are applied as one update,
+   * using the most recent intent configuration, and every pending `update()` resolves with its result. Each call
+   * restarts the wait, so the update is applied once `update()` hasn't been called for this long.
+   * Updates that don't change the intent configuration are skipped. Defaults to 0, which applies the most recent
+   * intent configuration as soon as any update already in progress has finished. */
+  updateDebounceMs?: number;
 }
 
 // Narrows a value to `Checkout` vs. `IntentConfiguration`.
@@ -311,14 +319,16 @@ function setupIntentConfirmHandlers(
       ({
         paymentMethod,
         shouldSavePaymentMethod,
+        requestId,
       }: {
         paymentMethod: PaymentMethod.Result;
         shouldSavePaymentMethod: boolean;
+        requestId?: string;
       }) => {
-        confirmHandler(
-          paymentMethod,
-          shouldSavePaymentMethod,
-          NativeStripeSdkModule.intentCreationCallback
+        confirmHandler(paymentMethod, shouldSavePaymentMethod, (result) =>
+          NativeStripeSdkModule.intentCreationCallback(
+            withRequestId(result, requestId)
+          )
         );
       }
     );
@@ -332,12 +342,15 @@ function setupIntentConfirmHandlers(
       'onConfirmationTokenHandlerCallback',
       ({
         confirmationToken,
+        requestId,
       }: {
         confirmationToken: ConfirmationToken.Result;
+        requestId?: string;
       }) => {
-        confirmationTokenConfirmHandler(
-          confirmationToken,
-          NativeStripeSdkModule.confirmationTokenCreationCallback
+        confirmationTokenConfirmHandler(confirmationToken, (result) =>
+          NativeStripeSdkModule.confirmationTokenCreationCallback(
+            withRequestId(result, requestId)
+          )
         );
       }
     );
@@ -374,9 +387,11 @@ function setupConfigurationHandlers(
         ({
           customPaymentMethod,
           billingDetails,
+          requestId,
         }: {
           customPaymentMethod: PaymentSheetTypes.CustomPaymentMethod;
           billingDetails: BillingDetails | null;
+          requestId?: string;
         }) => {
           // Call the user's handler with a result handler callback
           customPaymentMethodHandler(
@@ -384,7 +399,9 @@ function setupConfigurationHandlers(
             billingDetails,
             (result: PaymentSheetTypes.CustomPaymentMethodResult) => {
               // Send the result back to the native side
-              NativeStripeSdkModule.customPaymentMethodResultCallback(result);
+              NativeStripeSdkModule.customPaymentMethodResultCallback(
+                withRequestId(result, requestId)
+              );
             }
           );
         }
@@ -47,6 +47,7 @@ export type Configuration = {
 export type PaymentMethodPreview = {
   /**
    * Payment method icon as a data URI PNG string (e.g., "data:image/png;base64,...").
+   * On Android this is a `file://` URI when `androidIconOptions.delivery` is `fileUri`.
    * Suitable for rendering directly in a React Native `<Image source={{ uri: icon }}>` component.
    */
   icon: string;
@@ -601,6 +601,7 @@ export type SubmitWalletOwnershipSignatureResult =
 export type PaymentMethodDisplayData = {
   /**
    * Payment method icon as a data URI PNG string (e.g., "data:image/png;base64,<...>").
+   * On Android this is a `file://` URI when `androidIconOptions.delivery` is `fileUri`.
    * Suitable for rendering directly in an <Image> component.
    */
   icon: string;
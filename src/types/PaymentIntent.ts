@@ -57,6 +57,24 @@ export type ConfirmParams =
 
 export type ConfirmOptions = PaymentMethod.ConfirmOptions;
 
+export type RetrieveOptions = Pick<PaymentMethod.CreateOptions, 'fields'> & {
+  /** Android only. If this intent was retrieved less than this many milliseconds ago, that result is
+   * returned instead of fetching it again. The stored result is dropped as soon as the intent is
+   * confirmed or its next action is handled. Defaults to 0, which always fetches the intent. */
+  maxAge?: number;
+};
+
+export type WaitForStatusOptions = Pick<RetrieveOptions, 'fields'> & {
+  /** How long to keep retrieving the intent, in milliseconds, before resolving with it as last
+   * retrieved. Defaults to 60000. */
+  timeout?: number;
+  /** The wait before the second retrieval, in milliseconds. Each following wait doubles, up to
+   * `maxInterval`, and is randomly shortened by up to half. Defaults to 1000. */
+  initialInterval?: number;
+  /** The longest wait between retrievals, in milliseconds. Defaults to 10000. */
+  maxInterval?: number;
+};
+
 export type LastPaymentError = StripeError<string> & {
   paymentMethod: PaymentMethodResult;
 };
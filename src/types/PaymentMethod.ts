@@ -48,6 +48,13 @@ export type ConfirmParams = CreateParams;
 
 export type CreateOptions = {
   setupFutureUsage?: FutureUsage;
+  /**
+   * Dotted paths of the result fields you need, e.g. `['id', 'status', 'paymentMethod.Card.last4']`.
+   * When set, only those fields are sent back from the native SDK, which keeps payloads small for
+   * frequent status checks. Selecting a field selects everything below it. Defaults to the full result.
+   * The resolved object then only holds the selected fields, and is typed as a `FieldProjection`.
+   */
+  fields?: string[];
 };
 
 export type ConfirmOptions = CreateOptions;
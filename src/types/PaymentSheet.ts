@@ -564,6 +564,7 @@ type RecursivePartial<T> = {
 };
 export interface PaymentOption {
   label: string;
+  /** A base64 encoded PNG, or a `file://` URI on Android when `androidIconOptions.delivery` is `fileUri`. */
   image: string;
 }
 
@@ -3,6 +3,8 @@ import type {
   LastPaymentError,
   ConfirmParams as PaymentIntentConfirmParams,
   ConfirmOptions as PaymentIntentConfirmOptions,
+  RetrieveOptions as PaymentIntentRetrieveOptions,
+  WaitForStatusOptions as PaymentIntentWaitForStatusOptions,
 } from './PaymentIntent';
 import type { NextAction } from './NextAction';
 import type * as PaymentMethod from './PaymentMethod';
@@ -27,6 +29,10 @@ export type ConfirmParams = PaymentIntentConfirmParams;
 
 export type ConfirmOptions = PaymentIntentConfirmOptions;
 
+export type RetrieveOptions = PaymentIntentRetrieveOptions;
+
+export type WaitForStatusOptions = PaymentIntentWaitForStatusOptions;
+
 export type FutureUsage =
   | 'Unknown'
   | 'None'
@@ -62,6 +62,20 @@ export type Dictionary<T> = {
   [key: string]: T;
 };
 
+/**
+ * A result as resolved when `fields` is set: only the selected fields are present, at any depth.
+ */
+export type FieldProjection<T> = T extends object
+  ? { [K in keyof T]?: FieldProjection<T[K]> }
+  : T;
+
+/**
+ * `T` when `Options` leaves `fields` unset, otherwise its {@link FieldProjection}.
+ */
+export type ProjectedResult<T, Options> = Options extends { fields?: never }
+  ? T
+  : FieldProjection<T>;
+
 export interface AppInfo {
   name?: string;
   partnerId?: string;
@@ -69,9 +83,9 @@ export interface AppInfo {
   version?: string;
 }
 
-export type CreatePaymentMethodResult =
+export type CreatePaymentMethodResult<Options = {}> =
   | {
-      paymentMethod: PaymentMethod.Result;
+      paymentMethod: ProjectedResult<PaymentMethod.Result, Options>;
       error?: undefined;
     }
   | {
@@ -79,9 +93,9 @@ export type CreatePaymentMethodResult =
       error: StripeError<CreatePaymentMethodError>;
     };
 
-export type RetrievePaymentIntentResult =
+export type RetrievePaymentIntentResult<Options = {}> =
   | {
-      paymentIntent: PaymentIntent.Result;
+      paymentIntent: ProjectedResult<PaymentIntent.Result, Options>;
       error?: undefined;
     }
   | {
@@ -89,9 +103,9 @@ export type RetrievePaymentIntentResult =
       error: StripeError<RetrievePaymentIntentError>;
     };
 
-export type RetrieveSetupIntentResult =
+export type RetrieveSetupIntentResult<Options = {}> =
   | {
-      setupIntent: SetupIntent.Result;
+      setupIntent: ProjectedResult<SetupIntent.Result, Options>;
       error?: undefined;
     }
   | {
@@ -99,9 +113,9 @@ export type RetrieveSetupIntentResult =
       error: StripeError<RetrieveSetupIntentError>;
     };
 
-export type ConfirmPaymentResult =
+export type ConfirmPaymentResult<Options = {}> =
   | {
-      paymentIntent: PaymentIntent.Result;
+      paymentIntent: ProjectedResult<PaymentIntent.Result, Options>;
       error?: undefined;
     }
   | {
@@ -129,9 +143,9 @@ export type HandleNextActionForSetupResult =
       error: StripeError<CardActionError>;
     };
 
-export type ConfirmSetupIntentResult =
+export type ConfirmSetupIntentResult<Options = {}> =
   | {
-      setupIntent: SetupIntent.Result;
+      setupIntent: ProjectedResult<SetupIntent.Result, Options>;
       error?: undefined;
     }
   | {
@@ -206,6 +220,27 @@ export interface InitStripeParams {
   merchantIdentifier?: string;
   urlScheme?: string;
   setReturnUrlSchemeOnAndroid?: boolean;
+  /** Android only. Controls how payment method and card brand icons are returned from the native SDK. */
+  androidIconOptions?: AndroidIconOptions;
+}
+
+/**
+ * Android only. Options for the icons returned in payment options, embedded payment element display data,
+ * Link previews and onramp display data.
+ */
+export interface AndroidIconOptions {
+  /**
+   * How encoded icons are delivered to JS.
+   * - `base64` (default): icons are inline base64 PNG strings (or `data:` URIs where documented).
+   * - `fileUri`: each distinct icon is written once to the app's cache directory and a `file://` URI is returned instead,
+   *   so payloads stay small and `<Image>` can cache the file.
+   */
+  delivery?: 'base64' | 'fileUri';
+  /**
+   * Upper bound on the number of pixels in an encoded icon. Larger icons are downsampled (keeping their aspect ratio)
+   * before encoding, which lowers memory use on low-end devices. Defaults to no limit.
+   */
+  maxPixels?: number;
 }
 
 export interface InitialiseParams extends InitStripeParams {